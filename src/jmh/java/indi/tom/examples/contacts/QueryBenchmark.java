@@ -0,0 +1,430 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 22:00
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.NamedCache;
+import com.tangosol.net.Session;
+import com.tangosol.util.Filter;
+import com.tangosol.util.aggregator.DoubleAverage;
+import com.tangosol.util.aggregator.LongMax;
+import com.tangosol.util.aggregator.LongMin;
+import com.tangosol.util.extractor.KeyExtractor;
+import com.tangosol.util.filter.AlwaysFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.tangosol.net.cache.TypeAssertion.withoutTypeChecking;
+import static com.tangosol.util.Filters.equal;
+import static com.tangosol.util.Filters.greater;
+import static com.tangosol.util.Filters.like;
+import static com.tangosol.util.Filters.notEqual;
+
+/**
+ * QueryBenchmark measures the queries and aggregations of the
+ * {@link QueryExample} against a storage-enabled cluster member running in
+ * the benchmark JVM, with and without the indexes added by
+ * {@link QueryExample#addIndexes}.
+ * <p/>
+ * Each trial loads the specified number of contacts generated from a fixed
+ * seed, so every run queries the same data. The allocation rate is reported
+ * by the GC profiler, which {@link #main} enables; when running the shaded
+ * benchmarks jar pass <tt>-prof gc</tt> instead. The cluster member
+ * serializes with the contacts-pof-config.xml of the main resources.
+ *
+ * @author tom  2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dcoherence.localhost=127.0.0.1", "-Dcoherence.wka=127.0.0.1",
+                                  "-Dcoherence.ttl=0", "-Dcoherence.log.level=3",
+                                  "-Dcoherence.distributed.localstorage=true", "-Dcoherence.profile=thin",
+                                  "-Dcoherence.pof.enabled=true",
+                                  "-Dcoherence.pof.config=contacts-pof-config.xml"})
+public class QueryBenchmark
+{
+    // ----- lifecycle ------------------------------------------------------
+
+    /**
+     * Start the cluster member, load the contacts and, if requested, add the
+     * indexes.
+     *
+     * @throws IOException if the contacts cannot be loaded
+     */
+    @Setup
+    public void setUp()
+            throws IOException
+    {
+        m_session = Session.create();
+        m_cache   = m_session.getCache(LoaderExample.CACHENAME, withoutTypeChecking());
+
+        new LoaderExample().load(new ContactSpliterator(m_cContacts, new Workload(SEED).prepare()),
+                m_cache, Runtime.getRuntime().availableProcessors());
+
+        if (m_fIndexed)
+        {
+            new QueryExample().addIndexes(m_cache);
+
+            // the stored age index, replaced by the birth date index in the
+            // example, is kept as the baseline of the rewritten age benchmark
+            m_cache.addIndex(Contact::getAge, /*fOrdered*/ true, /*comparator*/ null);
+
+            // the ordered last name index, replaced by a prefix index in the
+            // example, is kept as the baseline of the like benchmarks
+            m_cache.addIndex(KeyExtractor.of(ContactId::getLastName), /*fOrdered*/ true, /*comparator*/ null);
+
+            // the built-in state indexes, replaced by bitmap indexes in the
+            // example, are kept as the baseline of the bitmap benchmark
+            m_cache.addIndex(QueryExample.HOME_STATE, /*fOrdered*/ false, /*comparator*/ null);
+            m_cache.addIndex(QueryExample.WORK_STATE, /*fOrdered*/ false, /*comparator*/ null);
+        }
+
+        // query a city of the loaded contacts, so that the result is not empty
+        ContactId id = m_cache.keySet().iterator().next();
+        m_sCity = m_cache.get(id).getHomeAddress().getCity();
+    }
+
+    /**
+     * Destroy the cache and stop the cluster member.
+     *
+     * @throws Exception if the session cannot be closed
+     */
+    @TearDown
+    public void tearDown()
+            throws Exception
+    {
+        m_cache.destroy();
+        m_session.close();
+    }
+
+    // ----- benchmarks -----------------------------------------------------
+
+    /**
+     * Contacts whose home city is the city of a loaded contact.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> equalCity()
+    {
+        return m_cache.entrySet(equal(QueryExample.HOME_CITY, m_sCity));
+    }
+
+    /**
+     * Contacts who live in Massachusetts and work elsewhere.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> equalStateAndNotEqual()
+    {
+        return m_cache.entrySet(equal(QueryExample.HOME_STATE, "MA")
+                .and(notEqual(QueryExample.WORK_STATE, "MA")));
+    }
+
+    /**
+     * Contacts who live in Massachusetts and work elsewhere, using a
+     * {@link BitmapFilter} resolved by the bitmap indexes.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> bitmapStateAndNotEqual()
+    {
+        return m_cache.entrySet(BitmapFilter.<ContactId, Contact>equal(QueryExample.HOME_STATE_BITMAP, "MA")
+                .and(BitmapFilter.notEqual(QueryExample.WORK_STATE_BITMAP, "MA")));
+    }
+
+    /**
+     * Contacts who live in Massachusetts and work elsewhere, rewritten by
+     * {@link CompositeFilter#prefer} as a single probe of the composite
+     * index.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> compositeStateAndNotEqual()
+    {
+        // Filter.and returns a raw filter, which prefer accepts as a wildcard
+        Filter<?> filter = equal(QueryExample.HOME_STATE, "MA").and(notEqual(QueryExample.WORK_STATE, "MA"));
+        return m_cache.entrySet(CompositeFilter.prefer(filter, QueryExample.HOME_AND_WORK_STATE));
+    }
+
+    /**
+     * Contacts whose home city begins with 'S'.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> likeCity()
+    {
+        return m_cache.entrySet(like(QueryExample.HOME_CITY, "S%"));
+    }
+
+    /**
+     * Contacts whose home city begins with 'S', using a {@link PrefixFilter}
+     * resolved by the prefix index.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> prefixCity()
+    {
+        return m_cache.entrySet(new PrefixFilter<>(QueryExample.HOME_CITY_PREFIX, "S"));
+    }
+
+    /**
+     * Contacts whose last name begins with 'S'.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> likeLastName()
+    {
+        return m_cache.entrySet(like(KeyExtractor.of(ContactId::getLastName), "S%"));
+    }
+
+    /**
+     * Contacts whose last name begins with 'S', using a {@link PrefixFilter}
+     * resolved by the prefix index on the key.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> prefixLastName()
+    {
+        return m_cache.entrySet(new PrefixFilter<>(QueryExample.LAST_NAME_PREFIX, "S"));
+    }
+
+    /**
+     * Contacts older than {@link #AGE}.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> greaterAge()
+    {
+        return m_cache.entrySet(greater(Contact::getAge, AGE));
+    }
+
+    /**
+     * Contacts older than {@link #AGE}, rewritten by {@link AgeFilters} as a
+     * birth date range.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> greaterAgeRewritten()
+    {
+        return m_cache.entrySet(AgeFilters.rewrite(greater(Contact::getAge, AGE)));
+    }
+
+    /**
+     * Contacts older than {@link #AGE}, read from a {@link MaterializedView}
+     * kept up to date by cache events.
+     *
+     * @param state  the state holding the view
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Map<ContactId, Contact> viewGreaterAge(ViewState state)
+    {
+        return state.m_viewAge.toMap();
+    }
+
+    /**
+     * Contacts whose last name begins with 'S' and who live in
+     * Massachusetts, using both key and value.
+     *
+     * @return the matching entries
+     */
+    @Benchmark
+    public Set<Map.Entry<ContactId, Contact>> likeKeyAndEqualState()
+    {
+        return m_cache.entrySet(like(KeyExtractor.of(ContactId::getLastName), "S%")
+                .and(equal(QueryExample.HOME_STATE, "MA")));
+    }
+
+    /**
+     * Count the contacts older than {@link #AGE}.
+     *
+     * @return the count
+     */
+    @Benchmark
+    public long countAge()
+    {
+        return m_cache.stream(greater(Contact::getAge, AGE)).count();
+    }
+
+    /**
+     * The minimum age.
+     *
+     * @return the minimum age
+     */
+    @Benchmark
+    public Long minAge()
+    {
+        return m_cache.aggregate(AlwaysFilter.INSTANCE, new LongMin<Contact>(Contact::getAge));
+    }
+
+    /**
+     * The average age.
+     *
+     * @return the average age
+     */
+    @Benchmark
+    public Double avgAge()
+    {
+        return m_cache.aggregate(AlwaysFilter.INSTANCE, new DoubleAverage<Contact>(Contact::getAge));
+    }
+
+    /**
+     * The maximum age.
+     *
+     * @return the maximum age
+     */
+    @Benchmark
+    public Long maxAge()
+    {
+        return m_cache.aggregate(AlwaysFilter.INSTANCE, new LongMax<Contact>(Contact::getAge));
+    }
+
+    /**
+     * The count, minimum, maximum, mean, variance and histogram of the ages,
+     * calculated from the birth dates, in a single pass.
+     *
+     * @return the statistics
+     */
+    @Benchmark
+    public StatisticsAggregator.Statistics statsAge()
+    {
+        return m_cache.aggregate(AlwaysFilter.INSTANCE,
+                new StatisticsAggregator<ContactId, Contact>(AgeFilters.CURRENT_AGE, 10, 12));
+    }
+
+    // ----- static methods -------------------------------------------------
+
+    /**
+     * Run the benchmarks with the GC profiler enabled.
+     *
+     * @param asArg  command line arguments
+     *
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] asArg)
+            throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+                .include(QueryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    // ----- inner class: ViewState -----------------------------------------
+
+    /**
+     * The view read by {@link #viewGreaterAge}, kept in its own state so
+     * that its memory and events only weigh on that benchmark.
+     */
+    @State(Scope.Benchmark)
+    public static class ViewState
+    {
+        /**
+         * Create the view of the loaded contacts.
+         *
+         * @param benchmark  the benchmark state holding the cache
+         */
+        @Setup
+        public void setUp(QueryBenchmark benchmark)
+        {
+            m_viewAge = new MaterializedView<>(benchmark.m_cache,
+                    AgeFilters.rewrite(greater(Contact::getAge, AGE)));
+        }
+
+        /**
+         * Release the view.
+         */
+        @TearDown
+        public void tearDown()
+        {
+            m_viewAge.close();
+        }
+
+        /**
+         * The view of the contacts older than {@link #AGE}.
+         */
+        private MaterializedView<ContactId, Contact> m_viewAge;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The seed of the generated contacts.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * The age used by the range queries.
+     */
+    private static final int AGE = 58;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of contacts loaded.
+     */
+    @Param({"10000", "100000", "1000000"})
+    public long m_cContacts;
+
+    /**
+     * True if the indexes are added.
+     */
+    @Param({"false", "true"})
+    public boolean m_fIndexed;
+
+    /**
+     * The session of the cluster member.
+     */
+    private Session m_session;
+
+    /**
+     * The contacts cache.
+     */
+    private NamedCache<ContactId, Contact> m_cache;
+
+    /**
+     * The home city queried by {@link #equalCity}.
+     */
+    private String m_sCity;
+}
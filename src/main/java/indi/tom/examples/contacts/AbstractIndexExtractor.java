@@ -0,0 +1,219 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 13:00
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.net.BackingMapContext;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.IndexAwareExtractor;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * AbstractIndexExtractor is the base of the extractors that create the
+ * custom indexes, {@link PrefixIndexExtractor}, {@link BitmapIndexExtractor}
+ * and {@link CompositeIndexExtractor}. It holds the extractors of the indexed
+ * attributes, which may be KeyExtractors, creates and destroys the index, and
+ * is equal to another extractor of the same class over equal attributes, so
+ * that a filter constructed with an equal extractor finds the index.
+ *
+ * @param <T>  the type of the value to extract from
+ * @param <E>  the type of the indexed values
+ *
+ * @author tom  2026.10.18
+ */
+public abstract class AbstractIndexExtractor<T, E>
+        implements IndexAwareExtractor<T, E>, PortableObject
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    protected AbstractIndexExtractor()
+    {
+    }
+
+    /**
+     * Construct an AbstractIndexExtractor.
+     *
+     * @param aExtractor  the extractors of the indexed attributes
+     */
+    protected AbstractIndexExtractor(ValueExtractor<?, ?>... aExtractor)
+    {
+        m_aExtractor = aExtractor.clone();
+    }
+
+    // ----- AbstractIndexExtractor methods ---------------------------------
+
+    /**
+     * Return the extractors of the indexed attributes.
+     *
+     * @return a copy of the extractors
+     */
+    public ValueExtractor<?, ?>[] getExtractors()
+    {
+        return m_aExtractor.clone();
+    }
+
+    /**
+     * Return the number of indexed attributes.
+     *
+     * @return the number of attributes
+     */
+    public int getArity()
+    {
+        return m_aExtractor.length;
+    }
+
+    /**
+     * Extract the indexed value of an entry, applying KeyExtractors to its
+     * key.
+     *
+     * @param entry  the entry
+     *
+     * @return the value
+     */
+    public abstract E extractFromEntry(Map.Entry<?, ?> entry);
+
+    /**
+     * Return the extractor of an indexed attribute.
+     *
+     * @param i  the position of the attribute
+     *
+     * @return the extractor
+     */
+    protected ValueExtractor<?, ?> getExtractor(int i)
+    {
+        return m_aExtractor[i];
+    }
+
+    /**
+     * Create the index, given the indexes already in the index map.
+     *
+     * @param mapIndex  the index map
+     *
+     * @return the index
+     */
+    protected abstract AbstractMapIndex<?, ?> instantiateIndex(Map<?, ?> mapIndex);
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("rawtypes")
+    public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+            Map<ValueExtractor<T, E>, MapIndex> mapIndex, BackingMapContext ctx)
+    {
+        // the Comparator and MapIndex types are raw in IndexAwareExtractor
+        MapIndex index = mapIndex.get(this);
+        if (index == null)
+        {
+            index = instantiateIndex(mapIndex);
+            mapIndex.put(this, index);
+        }
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("rawtypes")
+    public MapIndex destroyIndex(Map<ValueExtractor<T, E>, MapIndex> mapIndex)
+    {
+        return mapIndex.remove(this);
+    }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader)
+            throws IOException
+    {
+        m_aExtractor = reader.readArray(EXTRACTORS, ValueExtractor<?, ?>[]::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer)
+            throws IOException
+    {
+        writer.writeObjectArray(EXTRACTORS, m_aExtractor);
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean equals(Object o)
+    {
+        return o != null && o.getClass() == getClass()
+               && Arrays.equals(m_aExtractor, ((AbstractIndexExtractor<?, ?>) o).m_aExtractor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode()
+    {
+        return Arrays.hashCode(m_aExtractor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return Arrays.stream(m_aExtractor).map(String::valueOf)
+                .collect(Collectors.joining(", ", getClass().getSimpleName() + "(", ")"));
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Extract an attribute of an entry, applying a KeyExtractor to its key.
+     *
+     * @param extractor  the extractor of the attribute
+     * @param entry      the entry
+     *
+     * @return the attribute
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static Object extractFromEntry(ValueExtractor<?, ?> extractor, Map.Entry<?, ?> entry)
+    {
+        // the types of the extractor are not known here
+        return InvocableMapHelper.extractFromEntry((ValueExtractor) extractor, entry);
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF index for the extractors.
+     */
+    public static final int EXTRACTORS = 0;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The extractors of the indexed attributes.
+     */
+    private ValueExtractor<?, ?>[] m_aExtractor;
+}
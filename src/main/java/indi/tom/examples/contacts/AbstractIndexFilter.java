@@ -0,0 +1,88 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 02:30
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.Filter;
+import com.tangosol.util.QueryContext;
+import com.tangosol.util.QueryRecord;
+import com.tangosol.util.filter.IndexAwareFilter;
+import com.tangosol.util.filter.QueryRecorderFilter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AbstractIndexFilter is the base of the filters resolved by the custom
+ * indexes, {@link PrefixFilter}, {@link BitmapFilter} and
+ * {@link CompositeFilter}. It records their index lookups for the
+ * QueryRecorder, so that each filter only reports the extractors it uses.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.18
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public abstract class AbstractIndexFilter<K, V>
+        implements IndexAwareFilter<K, V>, QueryRecorderFilter<V>
+{
+    // ----- QueryRecorderFilter interface ----------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void explain(QueryContext ctx, QueryRecord.PartialResult.ExplainStep step, Set setKeys)
+    {
+        Map mapIndexes = ctx.getBackingMapContext().getIndexMap();
+
+        step.recordPreFilterKeys(setKeys.size());
+        recordExtractors(step);
+        step.recordEfficiency(calculateEffectiveness(mapIndexes, setKeys));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Filter trace(QueryContext ctx, QueryRecord.PartialResult.TraceStep step, Set setKeys)
+    {
+        step.recordPreFilterKeys(setKeys.size());
+        recordExtractors(step);
+
+        // the raw receiver matches the raw applyIndex of the subclasses
+        long   ldtStart        = System.currentTimeMillis();
+        Filter filterRemaining = ((IndexAwareFilter) this).applyIndex(ctx.getBackingMapContext().getIndexMap(), setKeys);
+
+        step.recordDuration(System.currentTimeMillis() - ldtStart);
+        step.recordPostFilterKeys(setKeys.size());
+        return filterRemaining;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean trace(QueryContext ctx, QueryRecord.PartialResult.TraceStep step, Map.Entry entry)
+    {
+        step.recordPreFilterKeys(1);
+        recordExtractors(step);
+
+        long    ldtStart = System.currentTimeMillis();
+        boolean fMatch   = evaluateEntry(entry);
+
+        step.recordDuration(System.currentTimeMillis() - ldtStart);
+        step.recordPostFilterKeys(fMatch ? 1 : 0);
+        return fMatch;
+    }
+
+    // ----- AbstractIndexFilter methods ------------------------------------
+
+    /**
+     * Record the extractors of the indexes used by the filter.
+     *
+     * @param step  the step
+     */
+    protected abstract void recordExtractors(QueryRecord.PartialResult.RecordableStep step);
+}
@@ -0,0 +1,142 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 02:30
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.util.Map;
+
+/**
+ * AbstractMapIndex is the base of the custom MapIndex implementations,
+ * {@link PrefixIndex}, {@link BitmapIndex} and {@link CompositeIndex}. It
+ * holds the extractor that created the index, maps entries to the keys used
+ * in the key sets passed to filters, and extracts the indexed values,
+ * excluding the entries that cannot be extracted and marking the index as
+ * partial.
+ *
+ * @param <X>  the type of the extractor that created the index
+ * @param <E>  the type of the indexed values
+ *
+ * @author tom  2026.10.18
+ */
+public abstract class AbstractMapIndex<X extends ValueExtractor<?, ?>, E>
+        implements MapIndex<Object, Object, E>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct an AbstractMapIndex.
+     *
+     * @param extractor  the extractor that created the index
+     */
+    protected AbstractMapIndex(X extractor)
+    {
+        m_extractor = extractor;
+    }
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public ValueExtractor<Object, E> getValueExtractor()
+    {
+        return (ValueExtractor<Object, E>) (ValueExtractor) m_extractor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isPartial()
+    {
+        return m_fPartial;
+    }
+
+    // ----- AbstractMapIndex methods ---------------------------------------
+
+    /**
+     * Return the extractor that created the index.
+     *
+     * @return the extractor
+     */
+    protected X getIndexExtractor()
+    {
+        return m_extractor;
+    }
+
+    /**
+     * Extract the indexed value of an entry, applying KeyExtractors to its
+     * key; an exception thrown here marks the index as partial.
+     *
+     * @param entry  the entry
+     *
+     * @return the value
+     */
+    protected abstract E extractFromEntry(Map.Entry<?, ?> entry);
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return getClass().getSimpleName() + "(" + m_extractor + ")";
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the key of an entry as used in the key sets passed to filters.
+     *
+     * @param entry  the entry
+     *
+     * @return the key
+     */
+    protected static Object getKey(Map.Entry<?, ?> entry)
+    {
+        return entry instanceof BinaryEntry ? ((BinaryEntry) entry).getBinaryKey() : entry.getKey();
+    }
+
+    /**
+     * Extract the indexed value of an entry.
+     *
+     * @param entry  the entry
+     *
+     * @return the value, which may be null, or {@link #NO_VALUE} if it
+     *         cannot be extracted
+     */
+    protected Object extract(Map.Entry<?, ?> entry)
+    {
+        try
+        {
+            return extractFromEntry(entry);
+        }
+        catch (RuntimeException e)
+        {
+            // like the built-in indexes, exclude entries that cannot be
+            // extracted and mark the index as partial
+            m_fPartial = true;
+            return NO_VALUE;
+        }
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The extractor that created the index.
+     */
+    private final X m_extractor;
+
+    /**
+     * True if some entries could not be indexed.
+     */
+    private volatile boolean m_fPartial;
+}
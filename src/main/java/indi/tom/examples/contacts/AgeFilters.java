@@ -0,0 +1,266 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 23:20
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import com.tangosol.util.Filter;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.AbstractExtractor;
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.ArrayFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.ComparisonFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.LessEqualsFilter;
+import com.tangosol.util.filter.LessFilter;
+import com.tangosol.util.filter.NotEqualsFilter;
+import com.tangosol.util.filter.NotFilter;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static com.tangosol.util.Filters.greater;
+import static com.tangosol.util.Filters.lessEqual;
+import static com.tangosol.util.Filters.not;
+
+/**
+ * AgeFilters translates filters on the age of a contact into equivalent
+ * filters on the birth date.
+ * <p/>
+ * The age stored with a contact is calculated when the contact is created,
+ * so it, and any index on it, is stale as soon as a birthday passes. The age
+ * on a given day is however a function of the birth date alone: a contact
+ * born on or before today minus n years is at least n years old. An age
+ * comparison is therefore rewritten as a range of birth dates that is
+ * resolved by an ordered index on {@link #BIRTH_DATE}, which never changes.
+ * <p/>
+ * {@link #rewrite(Filter)} walks a filter tree and replaces every comparison
+ * of the age with an integral value, i.e. equal, notEqual, greater,
+ * greaterEqual, less, lessEqual and between, including those nested in and,
+ * or and not filters; every other filter is left unchanged. The age
+ * comparisons are recognized by the canonical name of their extractor, so
+ * {@code Contact::getAge}, {@code "age"} and {@code "getAge"} are all
+ * rewritten.
+ * <p/>
+ * For the same reason aggregations and projections of the age should use
+ * {@link #CURRENT_AGE}, which calculates the age from the birth date when it
+ * is extracted, rather than the stored age.
+ *
+ * @author tom  2026.10.17
+ */
+public class AgeFilters
+{
+    // ----- AgeFilters methods ---------------------------------------------
+
+    /**
+     * Rewrite the age comparisons of a filter as of today.
+     *
+     * @param filter  the filter
+     * @param <T>     the type of the filtered values
+     *
+     * @return the equivalent filter on the birth date, or the filter itself
+     *         if it does not compare the age
+     */
+    public static <T> Filter<T> rewrite(Filter<T> filter)
+    {
+        return rewrite(filter, LocalDate.now());
+    }
+
+    /**
+     * Rewrite the age comparisons of a filter as of the specified day.
+     *
+     * @param filter   the filter
+     * @param dtToday  the day the ages are calculated on
+     * @param <T>      the type of the filtered values
+     *
+     * @return the equivalent filter on the birth date, or the filter itself
+     *         if it does not compare the age
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Filter<T> rewrite(Filter<T> filter, LocalDate dtToday)
+    {
+        if (filter instanceof BetweenFilter)
+        {
+            BetweenFilter<?, ?> filterBetween = (BetweenFilter<?, ?>) filter;
+            Integer             nLower        = toAge(filterBetween.getValueExtractor(), filterBetween.getLowerBound());
+            Integer             nUpper        = toAge(filterBetween.getValueExtractor(), filterBetween.getUpperBound());
+            if (nLower != null && nUpper != null)
+            {
+                // ages are integral, so an exclusive bound is the adjacent
+                // inclusive one
+                int nMin = filterBetween.isLowerBoundInclusive() ? nLower : nLower + 1;
+                int nMax = filterBetween.isUpperBoundInclusive() ? nUpper : nUpper - 1;
+                return (Filter<T>) ageAtLeast(nMin, dtToday).and(ageAtMost(nMax, dtToday));
+            }
+            return filter;
+        }
+        if (filter instanceof AllFilter || filter instanceof AnyFilter)
+        {
+            Filter<?>[] aFilter    = ((ArrayFilter) filter).getFilters();
+            Filter<?>[] aRewritten = new Filter<?>[aFilter.length];
+            boolean     fChanged   = false;
+            for (int i = 0; i < aFilter.length; ++i)
+            {
+                aRewritten[i] = rewrite(aFilter[i], dtToday);
+                fChanged     |= aRewritten[i] != aFilter[i];
+            }
+            return fChanged
+                   ? (Filter<T>) (filter instanceof AllFilter ? new AllFilter(aRewritten) : new AnyFilter(aRewritten))
+                   : filter;
+        }
+        if (filter instanceof NotFilter)
+        {
+            Filter<T> filterInner = ((NotFilter<T>) filter).getFilter();
+            Filter<T> filterNew   = rewrite(filterInner, dtToday);
+            return filterNew == filterInner ? filter : not(filterNew);
+        }
+        if (filter instanceof ComparisonFilter)
+        {
+            ComparisonFilter<?, ?, ?> filterCmp = (ComparisonFilter<?, ?, ?>) filter;
+            Integer                   nAge      = toAge(filterCmp.getValueExtractor(), filterCmp.getValue());
+            if (nAge != null)
+            {
+                Filter<Contact> filterNew = rewriteComparison(filterCmp, nAge, dtToday);
+                if (filterNew != null)
+                {
+                    return (Filter<T>) filterNew;
+                }
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Return a filter selecting the contacts at least the specified age.
+     *
+     * @param nAge     the age
+     * @param dtToday  the day the ages are calculated on
+     *
+     * @return the filter
+     */
+    public static Filter<Contact> ageAtLeast(int nAge, LocalDate dtToday)
+    {
+        return lessEqual(BIRTH_DATE, dtToday.minusYears(nAge));
+    }
+
+    /**
+     * Return a filter selecting the contacts at most the specified age.
+     *
+     * @param nAge     the age
+     * @param dtToday  the day the ages are calculated on
+     *
+     * @return the filter
+     */
+    public static Filter<Contact> ageAtMost(int nAge, LocalDate dtToday)
+    {
+        return greater(BIRTH_DATE, dtToday.minusYears(nAge + 1L));
+    }
+
+    /**
+     * Return the age of a contact as of today, calculated from the birth
+     * date.
+     *
+     * @param contact  the contact
+     *
+     * @return the age, or null if the birth date is unknown
+     */
+    public static Integer currentAge(Contact contact)
+    {
+        LocalDate dtBirth = contact.getBirthDate();
+        return dtBirth == null ? null : Period.between(dtBirth, LocalDate.now()).getYears();
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Rewrite a single comparison of the age.
+     *
+     * @param filter   the comparison
+     * @param nAge     the age it compares against
+     * @param dtToday  the day the ages are calculated on
+     *
+     * @return the equivalent filter on the birth date, or null if the
+     *         comparison is not supported
+     */
+    @SuppressWarnings("unchecked")
+    private static Filter<Contact> rewriteComparison(ComparisonFilter<?, ?, ?> filter, int nAge, LocalDate dtToday)
+    {
+        // test the subclasses before their superclasses, e.g. GreaterEqualsFilter
+        // extends GreaterFilter
+        if (filter instanceof GreaterEqualsFilter)
+        {
+            return ageAtLeast(nAge, dtToday);
+        }
+        if (filter instanceof GreaterFilter)
+        {
+            return ageAtLeast(nAge + 1, dtToday);
+        }
+        if (filter instanceof LessEqualsFilter)
+        {
+            return ageAtMost(nAge, dtToday);
+        }
+        if (filter instanceof LessFilter)
+        {
+            return ageAtMost(nAge - 1, dtToday);
+        }
+        if (filter instanceof NotEqualsFilter)
+        {
+            // Filter.and and Filter.or are not generic, they return raw filters
+            return ageAtLeast(nAge + 1, dtToday).or(ageAtMost(nAge - 1, dtToday));
+        }
+        if (filter instanceof EqualsFilter)
+        {
+            return ageAtLeast(nAge, dtToday).and(ageAtMost(nAge, dtToday));
+        }
+        return null;
+    }
+
+    /**
+     * Return the age compared by a filter.
+     *
+     * @param extractor  the extractor of the filter
+     * @param oValue     the value compared against
+     *
+     * @return the age, or null if the filter does not compare the age of a
+     *         contact with an integral value
+     */
+    private static Integer toAge(ValueExtractor<?, ?> extractor, Object oValue)
+    {
+        if (extractor instanceof AbstractExtractor
+            && ((AbstractExtractor) extractor).getTarget() == AbstractExtractor.KEY)
+        {
+            return null;
+        }
+        if (!AGE.equals(extractor.getCanonicalName()))
+        {
+            return null;
+        }
+        return oValue instanceof Integer || oValue instanceof Short || oValue instanceof Byte
+               ? Integer.valueOf(((Number) oValue).intValue())
+               : null;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The canonical name of the age attribute.
+     */
+    public static final String AGE = "age";
+
+    /**
+     * The extractor of the birth date, which should have an ordered index.
+     */
+    public static final ValueExtractor<Contact, LocalDate> BIRTH_DATE = ValueExtractor.of(Contact::getBirthDate);
+
+    /**
+     * The extractor of the age as of the day it is extracted on.
+     */
+    public static final ValueExtractor<Contact, Integer> CURRENT_AGE = ValueExtractor.of(AgeFilters::currentAge);
+}
@@ -0,0 +1,171 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 15:10
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.AsyncNamedCache;
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Base;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AsyncBatchWriter inserts batches using the asynchronous putAll() of the
+ * cache's {@link AsyncNamedCache}, so the loader keeps parsing while earlier
+ * batches are still on the network.
+ * <p/>
+ * At most a configured number of batches are in flight at any time; once the
+ * window is full {@link #write} blocks until a batch is acknowledged, which
+ * applies backpressure to the parser. The first failed batch is recorded and
+ * rethrown by the next call to write() or flush(), after which no further
+ * batches are accepted.
+ *
+ * @author tom  2026.10.17
+ */
+public class AsyncBatchWriter
+        implements BatchWriter
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct an AsyncBatchWriter.
+     *
+     * @param cache        target cache
+     * @param sizer        the BatchSizer to report putAll() latency to
+     * @param stats        the statistics to report putAll() latency to
+     * @param cMaxInFlight the maximum number of batches in flight
+     */
+    public AsyncBatchWriter(NamedCache<ContactId, Contact> cache, BatchSizer sizer,
+            LoaderStatistics stats, int cMaxInFlight)
+    {
+        if (cMaxInFlight < 1)
+        {
+            throw new IllegalArgumentException("in-flight window must be positive: " + cMaxInFlight);
+        }
+
+        m_cache        = cache.async();
+        m_sizer        = sizer;
+        m_stats        = stats;
+        m_cMaxInFlight = cMaxInFlight;
+        m_semaphore    = new Semaphore(cMaxInFlight);
+    }
+
+    // ----- BatchWriter interface ------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void write(BatchBuffer.Batch batch)
+    {
+        checkFailure();
+        acquire(1);
+        checkFailure();
+
+        long ldtStart = System.nanoTime();
+        try
+        {
+            m_cache.putAll(batch.getContacts()).whenComplete((v, e) ->
+            {
+                if (e == null)
+                {
+                    long cNanos = System.nanoTime() - ldtStart;
+                    m_sizer.update(batch.size(), batch.getBytes(), cNanos);
+                    m_stats.recordPutAll(cNanos);
+                }
+                else
+                {
+                    m_failure.compareAndSet(null, e);
+                }
+                m_semaphore.release();
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // the request was never issued; return its permit
+            m_semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void flush()
+    {
+        // the window is empty once every permit can be acquired
+        acquire(m_cMaxInFlight);
+        m_semaphore.release(m_cMaxInFlight);
+        checkFailure();
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Acquire the specified number of permits, blocking until they are
+     * available.
+     *
+     * @param cPermits  the number of permits
+     */
+    protected void acquire(int cPermits)
+    {
+        try
+        {
+            m_semaphore.acquire(cPermits);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw Base.ensureRuntimeException(e, "interrupted while waiting for in-flight batches");
+        }
+    }
+
+    /**
+     * Throw the first failure reported by an asynchronous putAll(), if any.
+     */
+    protected void checkFailure()
+    {
+        Throwable e = m_failure.get();
+        if (e != null)
+        {
+            throw Base.ensureRuntimeException(e, "asynchronous putAll() failed");
+        }
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The asynchronous view of the target cache.
+     */
+    private final AsyncNamedCache<ContactId, Contact> m_cache;
+
+    /**
+     * The BatchSizer to report putAll() latency to.
+     */
+    private final BatchSizer m_sizer;
+
+    /**
+     * The statistics to report putAll() latency to.
+     */
+    private final LoaderStatistics m_stats;
+
+    /**
+     * The maximum number of batches in flight.
+     */
+    private final int m_cMaxInFlight;
+
+    /**
+     * The semaphore limiting the number of batches in flight.
+     */
+    private final Semaphore m_semaphore;
+
+    /**
+     * The first failure reported by an asynchronous putAll().
+     */
+    private final AtomicReference<Throwable> m_failure = new AtomicReference<>();
+}
@@ -0,0 +1,227 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 14:10
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.Member;
+import com.tangosol.net.PartitionedService;
+
+import com.tangosol.net.partition.KeyPartitioningStrategy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BatchBuffer accumulates contacts until a batch is ready to be flushed to the
+ * cache.
+ * <p/>
+ * A simple BatchBuffer collects every contact into a single batch. A
+ * partition-aware BatchBuffer uses the key partitioning strategy of the cache
+ * service to bucket the contacts by the member owning their partition and
+ * hands each bucket out independently when it is full, so every putAll() is
+ * sent to a single storage member instead of fanning out to all of them and
+ * waiting for the slowest one.
+ * <p/>
+ * A BatchBuffer is not thread safe; each loader thread uses its own.
+ *
+ * @author tom  2026.10.17
+ */
+public class BatchBuffer
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a BatchBuffer that collects all contacts in a single batch.
+     *
+     * @param sizer  the BatchSizer determining when a batch is full
+     */
+    public BatchBuffer(BatchSizer sizer)
+    {
+        this(sizer, null);
+    }
+
+    /**
+     * Construct a BatchBuffer that buckets contacts by partition owner.
+     *
+     * @param sizer    the BatchSizer determining when a batch is full
+     * @param service  the service owning the target cache, or null to collect
+     *                 all contacts in a single batch
+     */
+    public BatchBuffer(BatchSizer sizer, PartitionedService service)
+    {
+        m_sizer    = sizer;
+        m_service  = service;
+        m_strategy = service == null ? null : service.getKeyPartitioningStrategy();
+    }
+
+    // ----- BatchBuffer methods --------------------------------------------
+
+    /**
+     * Add a contact to the buffer.
+     *
+     * @param id       the contact key
+     * @param contact  the contact
+     *
+     * @return a full batch that should be flushed, or null
+     */
+    public Batch add(ContactId id, Contact contact)
+    {
+        int   nBucket = m_strategy == null ? 0 : getBucket(id);
+        Batch batch   = m_mapBatch.get(nBucket);
+
+        if (batch == null)
+        {
+            batch = new Batch(m_sizer.getBatchSize());
+            m_mapBatch.put(nBucket, batch);
+        }
+
+        batch.add(id, contact);
+
+        if (batch.size() >= batch.m_cTarget || batch.getBytes() >= m_sizer.getMaxBatchBytes())
+        {
+            m_mapBatch.remove(nBucket);
+            return batch;
+        }
+        return null;
+    }
+
+    /**
+     * Remove and return all non-empty batches remaining in the buffer.
+     *
+     * @return the remaining batches
+     */
+    public List<Batch> drain()
+    {
+        List<Batch> listBatch = new ArrayList<>(m_mapBatch.values());
+        m_mapBatch.clear();
+        return listBatch;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the bucket for the specified key, which is the id of the member
+     * owning the key's partition or, for an orphaned partition, a negative
+     * value derived from the partition number.
+     *
+     * @param id  the contact key
+     *
+     * @return the bucket for the key
+     */
+    protected int getBucket(ContactId id)
+    {
+        int    nPartition = m_strategy.getKeyPartition(id);
+        Member member     = m_service.getPartitionOwner(nPartition);
+
+        return member == null ? -1 - nPartition : member.getId();
+    }
+
+    // ----- inner class: Batch ---------------------------------------------
+
+    /**
+     * A Batch is a set of contacts to be inserted by a single putAll() along
+     * with their approximate serialized size.
+     */
+    public static class Batch
+    {
+        /**
+         * Construct an empty Batch.
+         *
+         * @param cTarget  the number of contacts at which the batch is full
+         */
+        protected Batch(int cTarget)
+        {
+            m_cTarget = cTarget;
+            m_map     = new HashMap<>(cTarget);
+        }
+
+        /**
+         * Add a contact to the batch.
+         *
+         * @param id       the contact key
+         * @param contact  the contact
+         */
+        protected void add(ContactId id, Contact contact)
+        {
+            m_map.put(id, contact);
+            m_cb += BatchSizer.estimateSize(contact);
+        }
+
+        /**
+         * Return the contacts in the batch.
+         *
+         * @return the contacts keyed by ContactId
+         */
+        public Map<ContactId, Contact> getContacts()
+        {
+            return m_map;
+        }
+
+        /**
+         * Return the number of contacts in the batch.
+         *
+         * @return the number of contacts
+         */
+        public int size()
+        {
+            return m_map.size();
+        }
+
+        /**
+         * Return the approximate serialized size of the batch.
+         *
+         * @return the approximate size in bytes
+         */
+        public long getBytes()
+        {
+            return m_cb;
+        }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The number of contacts at which the batch is full.
+         */
+        private final int m_cTarget;
+
+        /**
+         * The contacts in the batch.
+         */
+        private final Map<ContactId, Contact> m_map;
+
+        /**
+         * The approximate serialized size of the batch.
+         */
+        private long m_cb;
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The BatchSizer determining when a batch is full.
+     */
+    private final BatchSizer m_sizer;
+
+    /**
+     * The service owning the target cache, or null if not partition-aware.
+     */
+    private final PartitionedService m_service;
+
+    /**
+     * The key partitioning strategy of the service, or null if not
+     * partition-aware.
+     */
+    private final KeyPartitioningStrategy m_strategy;
+
+    /**
+     * The batches being filled, keyed by bucket.
+     */
+    private final Map<Integer, Batch> m_mapBatch = new HashMap<>();
+}
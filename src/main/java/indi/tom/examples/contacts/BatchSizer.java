@@ -0,0 +1,326 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 13:02
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Address;
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.PhoneNumber;
+
+import java.util.Map;
+
+/**
+ * BatchSizer decides how many entries the LoaderExample accumulates before
+ * flushing them to the cache with putAll().
+ * <p/>
+ * After every flush the loader reports the number of entries, their
+ * approximate serialized size and the putAll() latency. The sizer keeps a
+ * moving average of the latency and size per entry and picks the next batch
+ * size so that a putAll() takes roughly the target latency without exceeding
+ * the byte limit, always staying within the configured minimum and maximum.
+ * A sizer whose minimum and maximum are equal behaves as a fixed batch size.
+ * <p/>
+ * A BatchSizer is thread safe and may be shared by concurrent loaders.
+ *
+ * @author tom  2026.10.17
+ */
+public class BatchSizer
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a BatchSizer using the default limits.
+     */
+    public BatchSizer()
+    {
+        this(DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE, DEFAULT_TARGET_MILLIS, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Construct a BatchSizer.
+     *
+     * @param cMin          the minimum number of entries in a batch
+     * @param cMax          the maximum number of entries in a batch
+     * @param cMillisTarget the desired putAll() latency in milliseconds
+     * @param cbMax         the maximum approximate size of a batch in bytes
+     */
+    public BatchSizer(int cMin, int cMax, long cMillisTarget, long cbMax)
+    {
+        if (cMin < 1 || cMax < cMin || cMillisTarget <= 0 || cbMax <= 0)
+        {
+            throw new IllegalArgumentException("invalid batch limits: min=" + cMin
+                    + ", max=" + cMax + ", target=" + cMillisTarget + "ms, bytes=" + cbMax);
+        }
+
+        m_cMin          = cMin;
+        m_cMax          = cMax;
+        m_cNanosTarget  = cMillisTarget * 1000000L;
+        m_cbMax         = cbMax;
+        m_cBatch        = Math.max(cMin, Math.min(cMax, LoaderExample.BATCH_SIZE));
+        m_cBatchLow     = Integer.MAX_VALUE;
+        m_cBatchHigh    = 0;
+    }
+
+    /**
+     * Return a BatchSizer that always uses the specified batch size.
+     *
+     * @param cBatch  the batch size
+     *
+     * @return a fixed size BatchSizer
+     */
+    public static BatchSizer fixed(int cBatch)
+    {
+        return new BatchSizer(cBatch, cBatch, DEFAULT_TARGET_MILLIS, Long.MAX_VALUE);
+    }
+
+    // ----- BatchSizer methods ---------------------------------------------
+
+    /**
+     * Return the number of entries the next batch should contain.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize()
+    {
+        return m_cBatch;
+    }
+
+    /**
+     * Return the maximum approximate size of a batch in bytes.
+     *
+     * @return the maximum batch size in bytes
+     */
+    public long getMaxBatchBytes()
+    {
+        return m_cbMax;
+    }
+
+    /**
+     * Record the outcome of a flush and adjust the batch size.
+     *
+     * @param cEntries  the number of entries flushed
+     * @param cbBatch   the approximate size of the flushed entries in bytes
+     * @param cNanos    the time taken by putAll() in nanoseconds
+     */
+    public synchronized void update(int cEntries, long cbBatch, long cNanos)
+    {
+        if (cEntries <= 0)
+        {
+            return;
+        }
+
+        double dflNanos = (double) cNanos  / cEntries;
+        double dflBytes = (double) cbBatch / cEntries;
+        if (m_cBatches == 0)
+        {
+            m_dflNanosPerEntry = dflNanos;
+            m_dflBytesPerEntry = dflBytes;
+        }
+        else
+        {
+            m_dflNanosPerEntry += SMOOTHING * (dflNanos - m_dflNanosPerEntry);
+            m_dflBytesPerEntry += SMOOTHING * (dflBytes - m_dflBytesPerEntry);
+        }
+
+        m_cBatches++;
+        m_cEntries    += cEntries;
+        m_cbTotal     += cbBatch;
+        m_cNanosTotal += cNanos;
+        m_cNanosMax    = Math.max(m_cNanosMax, cNanos);
+        m_cBatchLow    = Math.min(m_cBatchLow, cEntries);
+        m_cBatchHigh   = Math.max(m_cBatchHigh, cEntries);
+
+        // size for the target latency and the byte limit, changing by at most
+        // a factor of two per batch to avoid oscillating on a noisy sample
+        int    cCurrent = m_cBatch;
+        double dflSize  = Math.min(m_cNanosTarget / Math.max(m_dflNanosPerEntry, 1.0),
+                                   m_cbMax       / Math.max(m_dflBytesPerEntry, 1.0));
+
+        dflSize  = Math.max(cCurrent / 2.0, Math.min(cCurrent * 2.0, dflSize));
+        m_cBatch = (int) Math.max(m_cMin, Math.min(m_cMax, dflSize));
+    }
+
+    /**
+     * Return the approximate serialized size of a contact and its key.
+     *
+     * @param contact  the contact
+     *
+     * @return the approximate size in bytes
+     */
+    public static int estimateSize(Contact contact)
+    {
+        // the key holds the first and last name again
+        int cb = OBJECT_OVERHEAD * 2
+                 + 2 * (sizeOf(contact.getFirstName()) + sizeOf(contact.getLastName()))
+                 + sizeOf(contact.getHomeAddress())
+                 + sizeOf(contact.getWorkAddress())
+                 + 8; // birth date and age
+
+        Map<String, PhoneNumber> mapPhone = contact.getPhoneNumbers();
+        if (mapPhone != null)
+        {
+            for (String sType : mapPhone.keySet())
+            {
+                cb += sizeOf(sType) + OBJECT_OVERHEAD + 16;
+            }
+        }
+        return cb;
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized String toString()
+    {
+        if (m_cBatches == 0)
+        {
+            return "BatchSizer{batches=0, size=" + m_cBatch + "}";
+        }
+        return "BatchSizer{batches=" + m_cBatches
+               + ", size=" + m_cBatch
+               + ", min=" + m_cBatchLow
+               + ", max=" + m_cBatchHigh
+               + ", avg=" + m_cEntries / m_cBatches
+               + ", avg bytes=" + m_cbTotal / m_cBatches
+               + ", avg latency=" + m_cNanosTotal / m_cBatches / 1000000L + "ms"
+               + ", max latency=" + m_cNanosMax / 1000000L + "ms}";
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the approximate serialized size of a String.
+     *
+     * @param s  the String
+     *
+     * @return the approximate size in bytes
+     */
+    private static int sizeOf(String s)
+    {
+        return s == null ? 1 : s.length() + 2;
+    }
+
+    /**
+     * Return the approximate serialized size of an Address.
+     *
+     * @param addr  the Address
+     *
+     * @return the approximate size in bytes
+     */
+    private static int sizeOf(Address addr)
+    {
+        return addr == null ? 1 : OBJECT_OVERHEAD
+                + sizeOf(addr.getStreet1()) + sizeOf(addr.getStreet2())
+                + sizeOf(addr.getCity())    + sizeOf(addr.getState())
+                + sizeOf(addr.getZipCode()) + sizeOf(addr.getCountry());
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The default minimum batch size.
+     */
+    public static final int DEFAULT_MIN_SIZE = 128;
+
+    /**
+     * The default maximum batch size.
+     */
+    public static final int DEFAULT_MAX_SIZE = 16384;
+
+    /**
+     * The default target putAll() latency in milliseconds.
+     */
+    public static final long DEFAULT_TARGET_MILLIS = 50L;
+
+    /**
+     * The default maximum batch size in bytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * The weight of the newest sample in the moving averages.
+     */
+    private static final double SMOOTHING = 0.25;
+
+    /**
+     * The approximate per-object overhead of a serialized user type.
+     */
+    private static final int OBJECT_OVERHEAD = 4;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The minimum batch size.
+     */
+    private final int m_cMin;
+
+    /**
+     * The maximum batch size.
+     */
+    private final int m_cMax;
+
+    /**
+     * The target putAll() latency in nanoseconds.
+     */
+    private final long m_cNanosTarget;
+
+    /**
+     * The maximum batch size in bytes.
+     */
+    private final long m_cbMax;
+
+    /**
+     * The current batch size.
+     */
+    private volatile int m_cBatch;
+
+    /**
+     * The moving average of the putAll() latency per entry in nanoseconds.
+     */
+    private double m_dflNanosPerEntry;
+
+    /**
+     * The moving average of the size per entry in bytes.
+     */
+    private double m_dflBytesPerEntry;
+
+    /**
+     * The number of batches flushed.
+     */
+    private long m_cBatches;
+
+    /**
+     * The number of entries flushed.
+     */
+    private long m_cEntries;
+
+    /**
+     * The approximate number of bytes flushed.
+     */
+    private long m_cbTotal;
+
+    /**
+     * The total putAll() time in nanoseconds.
+     */
+    private long m_cNanosTotal;
+
+    /**
+     * The longest putAll() time in nanoseconds.
+     */
+    private long m_cNanosMax;
+
+    /**
+     * The smallest batch flushed.
+     */
+    private int m_cBatchLow;
+
+    /**
+     * The largest batch flushed.
+     */
+    private int m_cBatchHigh;
+}
@@ -0,0 +1,39 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 15:02
+ * @Version 1.0
+ * @Description
+ */
+
+/**
+ * BatchWriter transfers batches of contacts from the LoaderExample to the
+ * cache.
+ * <p/>
+ * A writer may complete a write asynchronously, in which case a failure is
+ * reported by a subsequent call to {@link #write} or by {@link #flush}.
+ *
+ * @author tom  2026.10.17
+ */
+@FunctionalInterface
+public interface BatchWriter
+{
+    /**
+     * Write a batch of contacts to the cache. The call may block until the
+     * writer is able to accept the batch.
+     *
+     * @param batch  the batch to write
+     */
+    public void write(BatchBuffer.Batch batch);
+
+    /**
+     * Wait for all batches written so far to be acknowledged by the cache.
+     * <p/>
+     * The default implementation does nothing, which is appropriate for a
+     * writer that completes every write before returning.
+     */
+    public default void flush()
+    {
+    }
+}
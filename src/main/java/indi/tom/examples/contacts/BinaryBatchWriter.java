@@ -0,0 +1,208 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 16:40
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.io.Serializer;
+import com.tangosol.net.CacheService;
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Base;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.NullImplementation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * BinaryBatchWriter serializes batches of contacts on a pool of worker threads
+ * and inserts the resulting Binary keys and values through a pass-through
+ * view of the cache.
+ * <p/>
+ * The pass-through view is obtained by ensuring the cache with the
+ * {@link NullImplementation#getClassLoader() null class loader}, which makes
+ * the service accept and return the serialized form as is. The thread calling
+ * {@link #write} hands each batch to the serializer pool and returns; it only
+ * ever ships batches that have already been serialized, so POF serialization
+ * of Contact, Address and PhoneNumber scales with the size of the pool instead
+ * of running on the loader thread.
+ * <p/>
+ * At most a configured number of batches are queued for serialization; once
+ * the queue is full write() ships the oldest batch, waiting for its
+ * serialization to complete if necessary. A BatchWriter is used by a single
+ * loader thread, but the serializer pool may be shared.
+ *
+ * @author tom  2026.10.17
+ */
+public class BinaryBatchWriter
+        implements BatchWriter
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a BinaryBatchWriter.
+     *
+     * @param cache     target cache
+     * @param sizer     the BatchSizer to report putAll() latency to
+     * @param stats     the statistics to report serialization time and
+     *                  putAll() latency to
+     * @param executor  the pool used to serialize batches
+     * @param cPending  the maximum number of batches queued for serialization
+     */
+    @SuppressWarnings("unchecked")
+    public BinaryBatchWriter(NamedCache<ContactId, Contact> cache, BatchSizer sizer,
+            LoaderStatistics stats, ExecutorService executor, int cPending)
+    {
+        if (cPending < 1)
+        {
+            throw new IllegalArgumentException("pending batch count must be positive: " + cPending);
+        }
+
+        CacheService service = cache.getCacheService();
+
+        m_cacheBinary = service.ensureCache(cache.getCacheName(), NullImplementation.getClassLoader());
+        m_serializer  = service.getSerializer();
+        m_sizer       = sizer;
+        m_stats       = stats;
+        m_executor    = executor;
+        m_cPending    = cPending;
+    }
+
+    // ----- BatchWriter interface ------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void write(BatchBuffer.Batch batch)
+    {
+        if (m_dequePending.size() >= m_cPending)
+        {
+            ship(m_dequePending.removeFirst());
+        }
+
+        Map<ContactId, Contact> mapContact = batch.getContacts();
+        m_dequePending.addLast(m_executor.submit(() -> serialize(mapContact)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void flush()
+    {
+        while (!m_dequePending.isEmpty())
+        {
+            ship(m_dequePending.removeFirst());
+        }
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Serialize the keys and values of a batch using the cache service's
+     * serializer.
+     *
+     * @param mapContact  the contacts to serialize
+     *
+     * @return the serialized contacts
+     */
+    protected Map<Binary, Binary> serialize(Map<ContactId, Contact> mapContact)
+    {
+        long                ldtStart   = System.nanoTime();
+        Serializer          serializer = m_serializer;
+        Map<Binary, Binary> mapBinary  = new HashMap<>(mapContact.size() * 4 / 3 + 1);
+
+        for (Map.Entry<ContactId, Contact> entry : mapContact.entrySet())
+        {
+            mapBinary.put(ExternalizableHelper.toBinary(entry.getKey(), serializer),
+                          ExternalizableHelper.toBinary(entry.getValue(), serializer));
+        }
+
+        m_stats.recordSerialize(System.nanoTime() - ldtStart);
+        return mapBinary;
+    }
+
+    /**
+     * Wait for a batch to be serialized and insert it into the cache,
+     * reporting the putAll() latency and the exact batch size to the
+     * BatchSizer.
+     *
+     * @param future  the pending serialized batch
+     */
+    protected void ship(Future<Map<Binary, Binary>> future)
+    {
+        Map<Binary, Binary> mapBinary;
+        try
+        {
+            mapBinary = future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw Base.ensureRuntimeException(e, "interrupted while serializing a batch");
+        }
+        catch (ExecutionException e)
+        {
+            throw Base.ensureRuntimeException(e.getCause(), "failed to serialize a batch");
+        }
+
+        long cb = 0;
+        for (Map.Entry<Binary, Binary> entry : mapBinary.entrySet())
+        {
+            cb += entry.getKey().length() + entry.getValue().length();
+        }
+
+        long ldtStart = System.nanoTime();
+        m_cacheBinary.putAll(mapBinary);
+        long cNanos = System.nanoTime() - ldtStart;
+        m_sizer.update(mapBinary.size(), cb, cNanos);
+        m_stats.recordPutAll(cNanos);
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The pass-through view of the target cache.
+     */
+    private final NamedCache<Binary, Binary> m_cacheBinary;
+
+    /**
+     * The serializer of the cache service.
+     */
+    private final Serializer m_serializer;
+
+    /**
+     * The BatchSizer to report putAll() latency to.
+     */
+    private final BatchSizer m_sizer;
+
+    /**
+     * The statistics to report serialization time and putAll() latency to.
+     */
+    private final LoaderStatistics m_stats;
+
+    /**
+     * The pool used to serialize batches.
+     */
+    private final ExecutorService m_executor;
+
+    /**
+     * The maximum number of batches queued for serialization.
+     */
+    private final int m_cPending;
+
+    /**
+     * The batches queued for serialization, oldest first.
+     */
+    private final Deque<Future<Map<Binary, Binary>>> m_dequePending = new ArrayDeque<>();
+}
@@ -0,0 +1,518 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 00:40
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.QueryRecord;
+import com.tangosol.util.filter.ExtractorFilter;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * BitmapFilter selects entries by equality on low-cardinality attributes,
+ * combined with negation, AND and OR.
+ * <p/>
+ * When every attribute it refers to has a {@link BitmapIndex}, added with an
+ * equal {@link BitmapIndexExtractor}, the whole expression is computed on the
+ * compressed bitmaps of the indexes, word by word, and only the matching
+ * slots are turned back into keys; no intermediate key set is built and no
+ * entry is deserialized or evaluated. Otherwise every entry is evaluated.
+ * For example
+ * <pre>
+ * BitmapFilter.equal(HOME_STATE, "MA").and(BitmapFilter.notEqual(WORK_STATE, "MA"))
+ * </pre>
+ * intersects the bitmap of "MA" home states with the complement of the
+ * bitmap of "MA" work states. The filter records its index lookups for the
+ * QueryRecorder.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.18
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BitmapFilter<K, V>
+        extends AbstractIndexFilter<K, V>
+        implements PortableObject
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public BitmapFilter()
+    {
+    }
+
+    /**
+     * Construct a BitmapFilter.
+     *
+     * @param nOp        the operation
+     * @param extractor  the extractor of the attribute, for {@link #OP_IN}
+     * @param aoValue    the values, for {@link #OP_IN}
+     * @param aFilter    the operands, for the other operations
+     */
+    protected BitmapFilter(int nOp, BitmapIndexExtractor<?> extractor, Object[] aoValue, BitmapFilter[] aFilter)
+    {
+        m_nOp       = nOp;
+        m_extractor = extractor;
+        m_aoValue   = aoValue;
+        m_aFilter   = aFilter;
+    }
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+     * Return a filter selecting the entries whose attribute equals a value.
+     *
+     * @param extractor  the extractor of the attribute
+     * @param oValue     the value
+     * @param <K>        the type of the cache keys
+     * @param <V>        the type of the cache values
+     *
+     * @return the filter
+     */
+    public static <K, V> BitmapFilter<K, V> equal(BitmapIndexExtractor<?> extractor, Object oValue)
+    {
+        return in(extractor, oValue);
+    }
+
+    /**
+     * Return a filter selecting the entries whose attribute does not equal a
+     * value.
+     *
+     * @param extractor  the extractor of the attribute
+     * @param oValue     the value
+     * @param <K>        the type of the cache keys
+     * @param <V>        the type of the cache values
+     *
+     * @return the filter
+     */
+    public static <K, V> BitmapFilter<K, V> notEqual(BitmapIndexExtractor<?> extractor, Object oValue)
+    {
+        return not(in(extractor, oValue));
+    }
+
+    /**
+     * Return a filter selecting the entries whose attribute equals any of
+     * the values.
+     *
+     * @param extractor  the extractor of the attribute
+     * @param aoValue    the values
+     * @param <K>        the type of the cache keys
+     * @param <V>        the type of the cache values
+     *
+     * @return the filter
+     */
+    public static <K, V> BitmapFilter<K, V> in(BitmapIndexExtractor<?> extractor, Object... aoValue)
+    {
+        return new BitmapFilter<>(OP_IN, extractor, aoValue.clone(), null);
+    }
+
+    /**
+     * Return a filter selecting the entries not selected by another.
+     *
+     * @param filter  the filter to negate
+     * @param <K>     the type of the cache keys
+     * @param <V>     the type of the cache values
+     *
+     * @return the filter
+     */
+    public static <K, V> BitmapFilter<K, V> not(BitmapFilter<K, V> filter)
+    {
+        return filter.m_nOp == OP_NOT
+               ? filter.m_aFilter[0]
+               : new BitmapFilter<>(OP_NOT, null, null, new BitmapFilter[] {filter});
+    }
+
+    // ----- BitmapFilter methods -------------------------------------------
+
+    /**
+     * Return a filter selecting the entries selected by this filter and
+     * another; the result is still resolved on the bitmaps.
+     *
+     * @param that  the other filter
+     *
+     * @return the filter
+     */
+    public BitmapFilter<K, V> and(BitmapFilter<K, V> that)
+    {
+        return combine(OP_AND, that);
+    }
+
+    /**
+     * Return a filter selecting the entries selected by this filter or
+     * another; the result is still resolved on the bitmaps.
+     *
+     * @param that  the other filter
+     *
+     * @return the filter
+     */
+    public BitmapFilter<K, V> or(BitmapFilter<K, V> that)
+    {
+        return combine(OP_OR, that);
+    }
+
+    // ----- IndexAwareFilter interface -------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluate(V o)
+    {
+        return matches(extractor -> extractor.extract(o));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluateEntry(Map.Entry entry)
+    {
+        return matches(extractor -> InvocableMapHelper.extractFromEntry(extractor.getExtractor(), entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int calculateEffectiveness(Map mapIndexes, Set setKeys)
+    {
+        return getSlotTable(mapIndexes) == null ? setKeys.size() * ExtractorFilter.EVAL_COST : 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Filter applyIndex(Map mapIndexes, Set setKeys)
+    {
+        BitmapIndex.SlotTable slots = getSlotTable(mapIndexes);
+        if (slots == null)
+        {
+            return this;
+        }
+
+        Set<Object> setMatch = new HashSet<>();
+        synchronized (slots)
+        {
+            toSlots(mapIndexes, slots).forEach(nSlot -> setMatch.add(slots.getKey(nSlot)));
+        }
+        setKeys.retainAll(setMatch);
+        return null;
+    }
+
+    // ----- AbstractIndexFilter methods ------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected void recordExtractors(QueryRecord.PartialResult.RecordableStep step)
+    {
+        if (m_nOp == OP_IN)
+        {
+            step.recordExtractor(m_extractor);
+        }
+        else
+        {
+            for (BitmapFilter filter : m_aFilter)
+            {
+                filter.recordExtractors(step);
+            }
+        }
+    }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader)
+            throws IOException
+    {
+        m_nOp       = reader.readInt(OP);
+        m_extractor = reader.readObject(EXTRACTOR);
+        m_aoValue   = reader.readArray(VALUES, Object[]::new);
+        m_aFilter   = reader.readArray(FILTERS, BitmapFilter[]::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer)
+            throws IOException
+    {
+        writer.writeInt(OP, m_nOp);
+        writer.writeObject(EXTRACTOR, m_extractor);
+        writer.writeObjectArray(VALUES, m_aoValue);
+        writer.writeObjectArray(FILTERS, m_aFilter);
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "BitmapFilter(" + describe() + ")";
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return an AND or OR of this filter and another, flattening nested
+     * operations of the same kind.
+     *
+     * @param nOp   {@link #OP_AND} or {@link #OP_OR}
+     * @param that  the other filter
+     *
+     * @return the filter
+     */
+    private BitmapFilter<K, V> combine(int nOp, BitmapFilter<K, V> that)
+    {
+        BitmapFilter[] aThis = m_nOp == nOp ? m_aFilter : new BitmapFilter[] {this};
+        BitmapFilter[] aThat = that.m_nOp == nOp ? that.m_aFilter : new BitmapFilter[] {that};
+        BitmapFilter[] aAll  = Arrays.copyOf(aThis, aThis.length + aThat.length);
+
+        System.arraycopy(aThat, 0, aAll, aThis.length, aThat.length);
+        return new BitmapFilter<>(nOp, null, null, aAll);
+    }
+
+    /**
+     * Evaluate the expression on the values of an entry.
+     *
+     * @param fnExtract  the function extracting the value of an attribute
+     *
+     * @return true if the entry matches
+     */
+    private boolean matches(Function<BitmapIndexExtractor, Object> fnExtract)
+    {
+        switch (m_nOp)
+        {
+            case OP_IN:
+                Object oValue = fnExtract.apply(m_extractor);
+                for (Object o : m_aoValue)
+                {
+                    if (Objects.equals(o, oValue))
+                    {
+                        return true;
+                    }
+                }
+                return false;
+
+            case OP_NOT:
+                return !m_aFilter[0].matches(fnExtract);
+
+            case OP_AND:
+                for (BitmapFilter filter : m_aFilter)
+                {
+                    if (!filter.matches(fnExtract))
+                    {
+                        return false;
+                    }
+                }
+                return true;
+
+            default:
+                for (BitmapFilter filter : m_aFilter)
+                {
+                    if (filter.matches(fnExtract))
+                    {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    /**
+     * Return the slot table shared by the indexes of every attribute.
+     *
+     * @param mapIndexes  the index map
+     *
+     * @return the slot table, or null if an attribute has no bitmap index
+     */
+    private BitmapIndex.SlotTable getSlotTable(Map mapIndexes)
+    {
+        if (m_nOp == OP_IN)
+        {
+            Object index = mapIndexes.get(m_extractor);
+            return index instanceof BitmapIndex ? ((BitmapIndex) index).getSlotTable() : null;
+        }
+
+        BitmapIndex.SlotTable slots = null;
+        for (BitmapFilter filter : m_aFilter)
+        {
+            BitmapIndex.SlotTable slotsFilter = filter.getSlotTable(mapIndexes);
+            if (slotsFilter == null || slots != null && slots != slotsFilter)
+            {
+                return null;
+            }
+            slots = slotsFilter;
+        }
+        return slots;
+    }
+
+    /**
+     * Compute the slots of the matching entries; the monitor of the slot
+     * table must be held.
+     *
+     * @param mapIndexes  the index map
+     * @param slots       the slot table
+     *
+     * @return the slots, which must not be modified
+     */
+    private SlotBitmap toSlots(Map mapIndexes, BitmapIndex.SlotTable slots)
+    {
+        switch (m_nOp)
+        {
+            case OP_IN:
+                BitmapIndex index = (BitmapIndex) mapIndexes.get(m_extractor);
+                SlotBitmap  bm    = EMPTY;
+                for (Object oValue : m_aoValue)
+                {
+                    bm = bm.isEmpty() ? index.getSlots(oValue) : SlotBitmap.or(bm, index.getSlots(oValue));
+                }
+                return bm;
+
+            case OP_NOT:
+                return SlotBitmap.andNot(slots.getAll(), m_aFilter[0].toSlots(mapIndexes, slots));
+
+            case OP_AND:
+                SlotBitmap bmAnd = m_aFilter[0].toSlots(mapIndexes, slots);
+                for (int i = 1; i < m_aFilter.length && !bmAnd.isEmpty(); ++i)
+                {
+                    BitmapFilter filter = m_aFilter[i];
+
+                    // intersect with the complement directly rather than
+                    // computing it over all the slots
+                    bmAnd = filter.m_nOp == OP_NOT
+                            ? SlotBitmap.andNot(bmAnd, filter.m_aFilter[0].toSlots(mapIndexes, slots))
+                            : SlotBitmap.and(bmAnd, filter.toSlots(mapIndexes, slots));
+                }
+                return bmAnd;
+
+            default:
+                SlotBitmap bmOr = m_aFilter[0].toSlots(mapIndexes, slots);
+                for (int i = 1; i < m_aFilter.length; ++i)
+                {
+                    bmOr = SlotBitmap.or(bmOr, m_aFilter[i].toSlots(mapIndexes, slots));
+                }
+                return bmOr;
+        }
+    }
+
+    /**
+     * Return a description of the expression.
+     *
+     * @return the description
+     */
+    private String describe()
+    {
+        switch (m_nOp)
+        {
+            case OP_IN:
+                return m_extractor + (m_aoValue.length == 1
+                                      ? " == " + m_aoValue[0]
+                                      : " in " + Arrays.toString(m_aoValue));
+
+            case OP_NOT:
+                return "NOT " + m_aFilter[0].describe();
+
+            default:
+                StringBuilder sb = new StringBuilder("(");
+                for (int i = 0; i < m_aFilter.length; ++i)
+                {
+                    if (i > 0)
+                    {
+                        sb.append(m_nOp == OP_AND ? " AND " : " OR ");
+                    }
+                    sb.append(m_aFilter[i].describe());
+                }
+                return sb.append(')').toString();
+        }
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * An empty bitmap.
+     */
+    private static final SlotBitmap EMPTY = new SlotBitmap();
+
+    /**
+     * The operation selecting the entries whose attribute is one of the
+     * values.
+     */
+    protected static final int OP_IN = 0;
+
+    /**
+     * The negation of a single operand.
+     */
+    protected static final int OP_NOT = 1;
+
+    /**
+     * The conjunction of the operands.
+     */
+    protected static final int OP_AND = 2;
+
+    /**
+     * The disjunction of the operands.
+     */
+    protected static final int OP_OR = 3;
+
+    /**
+     * The POF index for the operation.
+     */
+    public static final int OP = 0;
+
+    /**
+     * The POF index for the extractor.
+     */
+    public static final int EXTRACTOR = 1;
+
+    /**
+     * The POF index for the values.
+     */
+    public static final int VALUES = 2;
+
+    /**
+     * The POF index for the operands.
+     */
+    public static final int FILTERS = 3;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The operation.
+     */
+    private int m_nOp;
+
+    /**
+     * The extractor of the attribute, for {@link #OP_IN}.
+     */
+    private BitmapIndexExtractor m_extractor;
+
+    /**
+     * The values, for {@link #OP_IN}.
+     */
+    private Object[] m_aoValue;
+
+    /**
+     * The operands, for the other operations.
+     */
+    private BitmapFilter[] m_aFilter;
+}
@@ -0,0 +1,437 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 00:40
+ * @Version 1.0
+ * @Description
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * BitmapIndex is a MapIndex over a low-cardinality attribute, such as a
+ * state or a country, that holds one compressed {@link SlotBitmap} per
+ * distinct value instead of a set of keys.
+ * <p/>
+ * Every key is given an int slot by a {@link SlotTable} shared by all the
+ * bitmap indexes of the same index map, so the bitmaps of different
+ * attributes can be combined directly: a {@link BitmapFilter} resolves
+ * equality, negation and any AND/OR combination of them with word-level
+ * operations and turns only the final bitmap back into keys. A bitmap costs
+ * at most one bit per entry, where the key sets of the built-in index cost a
+ * reference and a hash table slot per entry per value. Null values are
+ * indexed like any other value.
+ * <p/>
+ * The index is created by a {@link BitmapIndexExtractor}. Updates and
+ * queries are serialized by the monitor of the shared slot table.
+ *
+ * @author tom  2026.10.18
+ */
+public class BitmapIndex
+        extends AbstractMapIndex<BitmapIndexExtractor<?>, Object>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a BitmapIndex.
+     *
+     * @param extractor  the extractor that created the index
+     * @param slots      the slot table shared with the other bitmap indexes
+     */
+    public BitmapIndex(BitmapIndexExtractor<?> extractor, SlotTable slots)
+    {
+        super(extractor);
+        m_slots = slots;
+    }
+
+    // ----- BitmapIndex methods --------------------------------------------
+
+    /**
+     * Return the slot table shared with the other bitmap indexes of the same
+     * index map; its monitor must be held while using the bitmaps.
+     *
+     * @return the slot table
+     */
+    public SlotTable getSlotTable()
+    {
+        return m_slots;
+    }
+
+    /**
+     * Return the slots of the entries with a value; the result must not be
+     * modified.
+     *
+     * @param oValue  the value
+     *
+     * @return the slots
+     */
+    public SlotBitmap getSlots(Object oValue)
+    {
+        SlotBitmap bm = m_mapBitmap.get(oValue);
+        return bm == null ? EMPTY : bm;
+    }
+
+    /**
+     * Release the slots of all the entries, when the index is destroyed.
+     */
+    public void clear()
+    {
+        synchronized (m_slots)
+        {
+            m_bmIndexed.forEach(m_slots::release);
+            m_bmIndexed = new SlotBitmap();
+            m_mapBitmap.clear();
+            Arrays.fill(m_aoValue, null);
+        }
+    }
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isOrdered()
+    {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<Object, Set<Object>> getIndexContents()
+    {
+        synchronized (m_slots)
+        {
+            Map<Object, Set<Object>> map = new HashMap<>();
+            for (Map.Entry<Object, SlotBitmap> entry : m_mapBitmap.entrySet())
+            {
+                Set<Object> setKeys = new HashSet<>();
+                entry.getValue().forEach(nSlot -> setKeys.add(m_slots.getKey(nSlot)));
+                map.put(entry.getKey(), setKeys);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object get(Object oKey)
+    {
+        synchronized (m_slots)
+        {
+            int nSlot = m_slots.find(oKey);
+            return nSlot >= 0 && m_bmIndexed.get(nSlot) ? m_aoValue[nSlot] : NO_VALUE;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Comparator<Object> getComparator()
+    {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void insert(Map.Entry<?, ?> entry)
+    {
+        Object oKey = getKey(entry);
+        synchronized (m_slots)
+        {
+            add(oKey, entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void update(Map.Entry<?, ?> entry)
+    {
+        Object oKey = getKey(entry);
+        synchronized (m_slots)
+        {
+            int nSlot = m_slots.find(oKey);
+            if (nSlot < 0 || !m_bmIndexed.get(nSlot))
+            {
+                add(oKey, entry);
+                return;
+            }
+
+            Object oNew = extract(entry);
+            if (oNew == NO_VALUE)
+            {
+                remove(nSlot);
+                return;
+            }
+
+            Object oOld = m_aoValue[nSlot];
+            if (!Objects.equals(oOld, oNew))
+            {
+                unset(oOld, nSlot);
+                set(oNew, nSlot);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void delete(Map.Entry<?, ?> entry)
+    {
+        Object oKey = getKey(entry);
+        synchronized (m_slots)
+        {
+            int nSlot = m_slots.find(oKey);
+            if (nSlot >= 0 && m_bmIndexed.get(nSlot))
+            {
+                remove(nSlot);
+            }
+        }
+    }
+
+    // ----- AbstractMapIndex methods ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Object extractFromEntry(Map.Entry<?, ?> entry)
+    {
+        return getIndexExtractor().extractFromEntry(entry);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Add an entry to the index.
+     *
+     * @param oKey   the key
+     * @param entry  the entry
+     */
+    private void add(Object oKey, Map.Entry<?, ?> entry)
+    {
+        Object oValue = extract(entry);
+        if (oValue == NO_VALUE)
+        {
+            return;
+        }
+
+        int nSlot = m_slots.acquire(oKey);
+        if (nSlot >= m_aoValue.length)
+        {
+            m_aoValue = Arrays.copyOf(m_aoValue, Math.max(nSlot + 1, m_aoValue.length * 2));
+        }
+        m_bmIndexed.set(nSlot);
+        set(oValue, nSlot);
+    }
+
+    /**
+     * Remove an entry from the index and release its slot.
+     *
+     * @param nSlot  the slot of the entry
+     */
+    private void remove(int nSlot)
+    {
+        unset(m_aoValue[nSlot], nSlot);
+        m_aoValue[nSlot] = null;
+        m_bmIndexed.clear(nSlot);
+        m_slots.release(nSlot);
+    }
+
+    /**
+     * Record the value of a slot.
+     *
+     * @param oValue  the value
+     * @param nSlot   the slot
+     */
+    private void set(Object oValue, int nSlot)
+    {
+        m_aoValue[nSlot] = oValue;
+        m_mapBitmap.computeIfAbsent(oValue, o -> new SlotBitmap()).set(nSlot);
+    }
+
+    /**
+     * Remove a slot from the bitmap of its value.
+     *
+     * @param oValue  the value
+     * @param nSlot   the slot
+     */
+    private void unset(Object oValue, int nSlot)
+    {
+        SlotBitmap bm = m_mapBitmap.get(oValue);
+        if (bm != null)
+        {
+            bm.clear(nSlot);
+            if (bm.isEmpty())
+            {
+                m_mapBitmap.remove(oValue);
+            }
+        }
+    }
+
+    // ----- inner class: SlotTable -----------------------------------------
+
+    /**
+     * SlotTable assigns the int slots of the keys. A slot is held while any
+     * bitmap index holds the key, and is reused once released by all of them.
+     */
+    public static class SlotTable
+    {
+        /**
+         * Return the slot of a key.
+         *
+         * @param oKey  the key
+         *
+         * @return the slot, or -1 if the key has none
+         */
+        public int find(Object oKey)
+        {
+            Integer nSlot = m_mapSlot.get(oKey);
+            return nSlot == null ? -1 : nSlot;
+        }
+
+        /**
+         * Return the key of a slot.
+         *
+         * @param nSlot  the slot
+         *
+         * @return the key
+         */
+        public Object getKey(int nSlot)
+        {
+            return m_aoKey[nSlot];
+        }
+
+        /**
+         * Return the slots held by at least one index; the result must not be
+         * modified.
+         *
+         * @return the slots
+         */
+        public SlotBitmap getAll()
+        {
+            return m_bmAll;
+        }
+
+        /**
+         * Acquire the slot of a key, assigning one if the key has none.
+         *
+         * @param oKey  the key
+         *
+         * @return the slot
+         */
+        int acquire(Object oKey)
+        {
+            int nSlot = find(oKey);
+            if (nSlot < 0)
+            {
+                nSlot = m_cFree > 0 ? m_anFree[--m_cFree] : m_cSlots++;
+                if (nSlot >= m_aoKey.length)
+                {
+                    int cNew = Math.max(nSlot + 1, m_aoKey.length * 2);
+                    m_aoKey = Arrays.copyOf(m_aoKey, cNew);
+                    m_acRef = Arrays.copyOf(m_acRef, cNew);
+                }
+                m_aoKey[nSlot] = oKey;
+                m_mapSlot.put(oKey, nSlot);
+                m_bmAll.set(nSlot);
+            }
+            ++m_acRef[nSlot];
+            return nSlot;
+        }
+
+        /**
+         * Release a slot acquired by an index.
+         *
+         * @param nSlot  the slot
+         */
+        void release(int nSlot)
+        {
+            if (--m_acRef[nSlot] == 0)
+            {
+                m_mapSlot.remove(m_aoKey[nSlot]);
+                m_aoKey[nSlot] = null;
+                m_bmAll.clear(nSlot);
+                if (m_cFree == m_anFree.length)
+                {
+                    m_anFree = Arrays.copyOf(m_anFree, Math.max(16, m_cFree * 2));
+                }
+                m_anFree[m_cFree++] = nSlot;
+            }
+        }
+
+        /**
+         * The slot of every key.
+         */
+        private final Map<Object, Integer> m_mapSlot = new HashMap<>();
+
+        /**
+         * The key of every slot.
+         */
+        private Object[] m_aoKey = new Object[16];
+
+        /**
+         * The number of indexes holding every slot.
+         */
+        private int[] m_acRef = new int[16];
+
+        /**
+         * The released slots, reused before new ones are assigned.
+         */
+        private int[] m_anFree = new int[16];
+
+        /**
+         * The number of released slots.
+         */
+        private int m_cFree;
+
+        /**
+         * The number of slots ever assigned.
+         */
+        private int m_cSlots;
+
+        /**
+         * The slots held by at least one index.
+         */
+        private final SlotBitmap m_bmAll = new SlotBitmap();
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * An empty bitmap.
+     */
+    private static final SlotBitmap EMPTY = new SlotBitmap();
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The slot table shared with the other bitmap indexes.
+     */
+    private final SlotTable m_slots;
+
+    /**
+     * The slots of every distinct value.
+     */
+    private final Map<Object, SlotBitmap> m_mapBitmap = new HashMap<>();
+
+    /**
+     * The slots of the entries held by this index.
+     */
+    private SlotBitmap m_bmIndexed = new SlotBitmap();
+
+    /**
+     * The indexed value of every slot.
+     */
+    private Object[] m_aoValue = new Object[16];
+}
@@ -0,0 +1,129 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 00:40
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.util.Map;
+
+/**
+ * BitmapIndexExtractor creates a {@link BitmapIndex} over the attribute
+ * returned by another extractor, which may be a KeyExtractor, and should only
+ * be used for attributes with few distinct values.
+ * <p/>
+ * The index is added with {@code cache.addIndex(extractor, false, null)} and
+ * used by a {@link BitmapFilter} constructed with an equal extractor; the
+ * ordered and comparator arguments of addIndex are ignored. All the bitmap
+ * indexes of a cache share one slot table, so that a BitmapFilter can combine
+ * them.
+ *
+ * @param <T>  the type of the value to extract from
+ *
+ * @author tom  2026.10.18
+ */
+public class BitmapIndexExtractor<T>
+        extends AbstractIndexExtractor<T, Object>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public BitmapIndexExtractor()
+    {
+    }
+
+    /**
+     * Construct a BitmapIndexExtractor.
+     *
+     * @param extractor  the extractor of the indexed attribute, applied to
+     *                   the key if it is a KeyExtractor
+     */
+    public BitmapIndexExtractor(ValueExtractor<?, ?> extractor)
+    {
+        super(extractor);
+    }
+
+    // ----- BitmapIndexExtractor methods -----------------------------------
+
+    /**
+     * Return the extractor of the indexed attribute.
+     *
+     * @return the extractor
+     */
+    public ValueExtractor<?, ?> getExtractor()
+    {
+        return getExtractor(0);
+    }
+
+    // ----- AbstractIndexExtractor methods ---------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object extractFromEntry(Map.Entry<?, ?> entry)
+    {
+        return extractFromEntry(getExtractor(0), entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected AbstractMapIndex<?, ?> instantiateIndex(Map<?, ?> mapIndex)
+    {
+        return new BitmapIndex(this, findSlotTable(mapIndex));
+    }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public Object extract(T target)
+    {
+        return ((ValueExtractor<T, Object>) getExtractor(0)).extract(target);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("rawtypes")
+    public MapIndex destroyIndex(Map<ValueExtractor<T, Object>, MapIndex> mapIndex)
+    {
+        // release the slots of the entries in the shared slot table
+        MapIndex index = super.destroyIndex(mapIndex);
+        if (index instanceof BitmapIndex)
+        {
+            ((BitmapIndex) index).clear();
+        }
+        return index;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the slot table of the bitmap indexes already in an index map,
+     * or a new one if there are none.
+     *
+     * @param mapIndex  the index map
+     *
+     * @return the slot table
+     */
+    private static BitmapIndex.SlotTable findSlotTable(Map<?, ?> mapIndex)
+    {
+        for (Object index : mapIndex.values())
+        {
+            if (index instanceof BitmapIndex)
+            {
+                return ((BitmapIndex) index).getSlotTable();
+            }
+        }
+        return new BitmapIndex.SlotTable();
+    }
+}
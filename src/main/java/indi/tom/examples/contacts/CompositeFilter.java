@@ -0,0 +1,450 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 01:50
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.QueryRecord;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.ArrayFilter;
+import com.tangosol.util.filter.BetweenFilter;
+import com.tangosol.util.filter.ComparisonFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.ExtractorFilter;
+import com.tangosol.util.filter.GreaterEqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.LessEqualsFilter;
+import com.tangosol.util.filter.LessFilter;
+import com.tangosol.util.filter.NotEqualsFilter;
+import com.tangosol.util.filter.NotFilter;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.tangosol.util.Filters.not;
+
+/**
+ * CompositeFilter selects the entries whose attributes satisfy a
+ * conjunction of conditions, one per attribute of a
+ * {@link CompositeIndexExtractor}.
+ * <p/>
+ * When the tuple has a {@link CompositeIndex}, added with an equal
+ * extractor, the whole conjunction is resolved with a single probe of the
+ * index rather than one lookup per attribute followed by the intersection
+ * of their key sets; no entry is deserialized or evaluated. Without the
+ * index every entry is evaluated. The condition on an attribute is a filter
+ * on the attribute value itself, i.e. a filter over the
+ * {@link IdentityExtractor}, or null if the attribute is unconstrained.
+ * <p/>
+ * {@link #prefer} tells the filter layer to use a composite index: it
+ * rewrites every and filter holding comparisons of at least two attributes
+ * of the tuple, including those nested in or and not filters, into a
+ * CompositeFilter combined with the remaining conditions. The filter records
+ * its index lookup for the QueryRecorder.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.18
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class CompositeFilter<K, V>
+        extends AbstractIndexFilter<K, V>
+        implements PortableObject
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public CompositeFilter()
+    {
+    }
+
+    /**
+     * Construct a CompositeFilter.
+     *
+     * @param extractor  the extractor of the tuple
+     * @param aFilter    the condition on each attribute of the tuple, over
+     *                   the IdentityExtractor, or null
+     */
+    public CompositeFilter(CompositeIndexExtractor<?> extractor, Filter<?>... aFilter)
+    {
+        if (aFilter.length != extractor.getArity())
+        {
+            throw new IllegalArgumentException("Expected " + extractor.getArity()
+                    + " conditions, found " + aFilter.length);
+        }
+        m_extractor = extractor;
+        m_aFilter   = aFilter.clone();
+    }
+
+    // ----- CompositeFilter methods ----------------------------------------
+
+    /**
+     * Rewrite the conjunctions of a filter on the attributes of a tuple as
+     * CompositeFilters, so that they are resolved by the composite index.
+     *
+     * @param filter     the filter
+     * @param extractor  the extractor of the indexed tuple
+     * @param <T>        the type of the filtered values
+     *
+     * @return the rewritten filter, or the filter itself if it has no
+     *         conjunction of at least two attributes of the tuple
+     */
+    public static <T> Filter<T> prefer(Filter<T> filter, CompositeIndexExtractor<?> extractor)
+    {
+        if (filter instanceof AllFilter && !(filter instanceof BetweenFilter))
+        {
+            List<Filter>   listConjuncts = new ArrayList<>();
+            List<Filter>[] alistAttr     = new List[extractor.getArity()];
+            List<Filter>   listResidual  = new ArrayList<>();
+            int            cAttrs        = 0;
+
+            flatten(filter, listConjuncts);
+            for (Filter filterConj : listConjuncts)
+            {
+                ValueExtractor extractorConj = getValueExtractor(filterConj);
+                int            i             = extractorConj == null ? -1 : extractor.indexOf(extractorConj);
+                Filter         filterAttr    = i < 0 ? null : toAttributeFilter(filterConj);
+                if (filterAttr == null)
+                {
+                    listResidual.add(prefer(filterConj, extractor));
+                }
+                else
+                {
+                    if (alistAttr[i] == null)
+                    {
+                        alistAttr[i] = new ArrayList<>();
+                        ++cAttrs;
+                    }
+                    alistAttr[i].add(filterAttr);
+                }
+            }
+
+            if (cAttrs >= 2)
+            {
+                Filter[] aFilter = new Filter[alistAttr.length];
+                for (int i = 0; i < aFilter.length; ++i)
+                {
+                    List<Filter> list = alistAttr[i];
+                    aFilter[i] = list == null ? null
+                               : list.size() == 1 ? list.get(0)
+                               : new AllFilter(list.toArray(new Filter[0]));
+                }
+
+                Filter filterComposite = new CompositeFilter<>(extractor, aFilter);
+                if (listResidual.isEmpty())
+                {
+                    return filterComposite;
+                }
+                listResidual.add(0, filterComposite);
+                return new AllFilter(listResidual.toArray(new Filter[0]));
+            }
+        }
+        if (filter instanceof AllFilter || filter instanceof AnyFilter)
+        {
+            Filter<?>[] aFilter    = ((ArrayFilter) filter).getFilters();
+            Filter<?>[] aRewritten = new Filter<?>[aFilter.length];
+            boolean     fChanged   = false;
+            for (int i = 0; i < aFilter.length; ++i)
+            {
+                aRewritten[i] = prefer(aFilter[i], extractor);
+                fChanged     |= aRewritten[i] != aFilter[i];
+            }
+            return fChanged
+                   ? (Filter<T>) (filter instanceof AllFilter ? new AllFilter(aRewritten) : new AnyFilter(aRewritten))
+                   : filter;
+        }
+        if (filter instanceof NotFilter)
+        {
+            Filter<T> filterInner = ((NotFilter<T>) filter).getFilter();
+            Filter<T> filterNew   = prefer(filterInner, extractor);
+            return filterNew == filterInner ? filter : not(filterNew);
+        }
+        return filter;
+    }
+
+    // ----- IndexAwareFilter interface -------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluate(V o)
+    {
+        return matches(m_extractor.extract(o));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluateEntry(Map.Entry entry)
+    {
+        return matches(m_extractor.extractFromEntry(entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int calculateEffectiveness(Map mapIndexes, Set setKeys)
+    {
+        return mapIndexes.get(m_extractor) instanceof CompositeIndex
+               ? 1
+               : setKeys.size() * ExtractorFilter.EVAL_COST;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Filter applyIndex(Map mapIndexes, Set setKeys)
+    {
+        MapIndex index = (MapIndex) mapIndexes.get(m_extractor);
+        if (!(index instanceof CompositeIndex))
+        {
+            return this;
+        }
+
+        setKeys.retainAll(((CompositeIndex) index).getKeys(getEqualityPrefix(), this::matches));
+        return null;
+    }
+
+    // ----- AbstractIndexFilter methods ------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected void recordExtractors(QueryRecord.PartialResult.RecordableStep step)
+    {
+        step.recordExtractor(m_extractor);
+    }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader)
+            throws IOException
+    {
+        m_extractor = reader.readObject(EXTRACTOR);
+        m_aFilter   = reader.readArray(FILTERS, Filter[]::new);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer)
+            throws IOException
+    {
+        writer.writeObject(EXTRACTOR, m_extractor);
+        writer.writeObjectArray(FILTERS, m_aFilter);
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "CompositeFilter(" + m_extractor + ", " + Arrays.toString(m_aFilter) + ")";
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return true if a tuple satisfies the condition on every attribute.
+     *
+     * @param listTuple  the tuple
+     *
+     * @return true if the tuple matches
+     */
+    private boolean matches(List<Object> listTuple)
+    {
+        for (int i = 0; i < m_aFilter.length; ++i)
+        {
+            Filter filter = m_aFilter[i];
+            if (filter != null && !filter.evaluate(listTuple.get(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the values of the leading attributes that have an equality
+     * condition.
+     *
+     * @return the values, which may be fewer than the attributes
+     */
+    private List<Object> getEqualityPrefix()
+    {
+        List<Object> listPrefix = new ArrayList<>();
+        for (Filter filter : m_aFilter)
+        {
+            EqualsFilter filterEqual = findEquals(filter);
+            if (filterEqual == null)
+            {
+                break;
+            }
+            listPrefix.add(filterEqual.getValue());
+        }
+        return listPrefix;
+    }
+
+    /**
+     * Return the equality condition of an attribute.
+     *
+     * @param filter  the condition on the attribute, or null
+     *
+     * @return the equality condition, or null if there is none
+     */
+    private static EqualsFilter findEquals(Filter filter)
+    {
+        if (filter instanceof EqualsFilter)
+        {
+            return (EqualsFilter) filter;
+        }
+        if (filter instanceof AllFilter && !(filter instanceof BetweenFilter))
+        {
+            for (Filter filterConj : ((AllFilter) filter).getFilters())
+            {
+                if (filterConj instanceof EqualsFilter)
+                {
+                    return (EqualsFilter) filterConj;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add the conjuncts of a filter, including those of nested and filters,
+     * to a list.
+     *
+     * @param filter         the filter
+     * @param listConjuncts  the list
+     */
+    private static void flatten(Filter filter, List<Filter> listConjuncts)
+    {
+        if (filter instanceof AllFilter && !(filter instanceof BetweenFilter))
+        {
+            for (Filter filterConj : ((AllFilter) filter).getFilters())
+            {
+                flatten(filterConj, listConjuncts);
+            }
+        }
+        else
+        {
+            listConjuncts.add(filter);
+        }
+    }
+
+    /**
+     * Return the extractor of a comparison.
+     *
+     * @param filter  the filter
+     *
+     * @return the extractor, or null if the filter is not a comparison
+     */
+    private static ValueExtractor getValueExtractor(Filter filter)
+    {
+        // BetweenFilter is an AllFilter rather than an ExtractorFilter
+        return filter instanceof BetweenFilter ? ((BetweenFilter) filter).getValueExtractor()
+             : filter instanceof ExtractorFilter ? ((ExtractorFilter) filter).getValueExtractor()
+             : null;
+    }
+
+    /**
+     * Translate a comparison of an attribute into the equivalent filter on
+     * the attribute value itself.
+     *
+     * @param filter  the comparison
+     *
+     * @return the filter over the IdentityExtractor, or null if the
+     *         comparison is not supported
+     */
+    private static Filter toAttributeFilter(Filter filter)
+    {
+        ValueExtractor extractor = IdentityExtractor.INSTANCE;
+        if (filter instanceof BetweenFilter)
+        {
+            BetweenFilter filterBetween = (BetweenFilter) filter;
+            return new BetweenFilter(extractor, filterBetween.getLowerBound(), filterBetween.getUpperBound(),
+                    filterBetween.isLowerBoundInclusive(), filterBetween.isUpperBoundInclusive());
+        }
+        if (!(filter instanceof ComparisonFilter))
+        {
+            return null;
+        }
+
+        // test the subclasses before their superclasses, e.g. GreaterEqualsFilter
+        // extends GreaterFilter
+        Object oValue = ((ComparisonFilter) filter).getValue();
+        if (filter instanceof GreaterEqualsFilter)
+        {
+            return new GreaterEqualsFilter(extractor, (Comparable) oValue);
+        }
+        if (filter instanceof GreaterFilter)
+        {
+            return new GreaterFilter(extractor, (Comparable) oValue);
+        }
+        if (filter instanceof LessEqualsFilter)
+        {
+            return new LessEqualsFilter(extractor, (Comparable) oValue);
+        }
+        if (filter instanceof LessFilter)
+        {
+            return new LessFilter(extractor, (Comparable) oValue);
+        }
+        if (filter instanceof NotEqualsFilter)
+        {
+            return new NotEqualsFilter(extractor, oValue);
+        }
+        if (filter instanceof EqualsFilter)
+        {
+            return new EqualsFilter(extractor, oValue);
+        }
+        return null;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF index for the extractor.
+     */
+    public static final int EXTRACTOR = 0;
+
+    /**
+     * The POF index for the conditions.
+     */
+    public static final int FILTERS = 1;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The extractor of the tuple.
+     */
+    private CompositeIndexExtractor m_extractor;
+
+    /**
+     * The condition on each attribute, or null.
+     */
+    private Filter[] m_aFilter;
+}
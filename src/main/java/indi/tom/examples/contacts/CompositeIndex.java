@@ -0,0 +1,253 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 01:50
+ * @Version 1.0
+ * @Description
+ */
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * CompositeIndex is a MapIndex over a tuple of attributes that resolves a
+ * conjunction of conditions on them with a single probe.
+ * <p/>
+ * The distinct tuples are kept in a sorted map, compared attribute by
+ * attribute, each with the keys of the entries that have it. A conjunction
+ * with equality conditions on the leading attributes reads only the tuples
+ * starting with those values, and checks the remaining conditions once per
+ * distinct tuple rather than once per entry; if every attribute has an
+ * equality condition the probe is a single lookup. Null attributes are
+ * ordered first.
+ * <p/>
+ * The index is created by a {@link CompositeIndexExtractor} and queried by a
+ * {@link CompositeFilter}. Updates and queries are serialized by the index
+ * monitor.
+ *
+ * @author tom  2026.10.18
+ */
+public class CompositeIndex
+        extends AbstractMapIndex<CompositeIndexExtractor<?>, List<Object>>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a CompositeIndex.
+     *
+     * @param extractor  the extractor that created the index
+     */
+    public CompositeIndex(CompositeIndexExtractor<?> extractor)
+    {
+        super(extractor);
+    }
+
+    // ----- CompositeIndex methods -----------------------------------------
+
+    /**
+     * Return the keys of the entries whose tuple starts with the specified
+     * values and satisfies a predicate.
+     *
+     * @param listPrefix  the values of the leading attributes
+     * @param predicate   the predicate evaluated once per distinct tuple, or
+     *                    null
+     *
+     * @return a new set of the matching keys
+     */
+    public synchronized Set<Object> getKeys(List<Object> listPrefix, Predicate<List<Object>> predicate)
+    {
+        Set<Object> setKeys = new HashSet<>();
+        if (listPrefix.size() == getIndexExtractor().getArity())
+        {
+            Set<Object> setTuple = m_mapInverse.get(listPrefix);
+            if (setTuple != null && (predicate == null || predicate.test(listPrefix)))
+            {
+                setKeys.addAll(setTuple);
+            }
+            return setKeys;
+        }
+
+        for (Map.Entry<List<Object>, Set<Object>> entry : m_mapInverse.tailMap(listPrefix).entrySet())
+        {
+            List<Object> listTuple = entry.getKey();
+            if (!listTuple.subList(0, listPrefix.size()).equals(listPrefix))
+            {
+                break;
+            }
+            if (predicate == null || predicate.test(listTuple))
+            {
+                setKeys.addAll(entry.getValue());
+            }
+        }
+        return setKeys;
+    }
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isOrdered()
+    {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Map<List<Object>, Set<Object>> getIndexContents()
+    {
+        SortedMap<List<Object>, Set<Object>> map = new TreeMap<>(COMPARATOR);
+        map.putAll(m_mapInverse);
+        return Collections.unmodifiableSortedMap(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Object get(Object oKey)
+    {
+        return m_mapForward.containsKey(oKey) ? m_mapForward.get(oKey) : NO_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Comparator<List<Object>> getComparator()
+    {
+        return COMPARATOR;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void insert(Map.Entry<?, ?> entry)
+    {
+        add(getKey(entry), extract(entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void update(Map.Entry<?, ?> entry)
+    {
+        Object       oKey    = getKey(entry);
+        Object       oTuple  = extract(entry);
+        List<Object> listOld = m_mapForward.get(oKey);
+        if (oTuple == NO_VALUE || listOld == null || !oTuple.equals(listOld))
+        {
+            remove(oKey);
+            add(oKey, oTuple);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void delete(Map.Entry<?, ?> entry)
+    {
+        remove(getKey(entry));
+    }
+
+    // ----- AbstractMapIndex methods ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected List<Object> extractFromEntry(Map.Entry<?, ?> entry)
+    {
+        return getIndexExtractor().extractFromEntry(entry);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Add a key to the index.
+     *
+     * @param oKey    the key
+     * @param oTuple  the tuple of the entry, as returned by {@link #extract}
+     */
+    @SuppressWarnings("unchecked")
+    private void add(Object oKey, Object oTuple)
+    {
+        if (oTuple == NO_VALUE)
+        {
+            return;
+        }
+
+        List<Object> listTuple = (List<Object>) oTuple;
+
+        m_mapInverse.computeIfAbsent(listTuple, list -> new HashSet<>()).add(oKey);
+        m_mapForward.put(oKey, listTuple);
+    }
+
+    /**
+     * Remove a key from the index.
+     *
+     * @param oKey  the key
+     */
+    private void remove(Object oKey)
+    {
+        List<Object> listTuple = m_mapForward.remove(oKey);
+        if (listTuple != null)
+        {
+            Set<Object> setKeys = m_mapInverse.get(listTuple);
+            if (setKeys != null && setKeys.remove(oKey) && setKeys.isEmpty())
+            {
+                m_mapInverse.remove(listTuple);
+            }
+        }
+    }
+
+    /**
+     * Compare two tuples attribute by attribute, nulls first; a tuple that
+     * is a prefix of another is ordered before it.
+     *
+     * @param list1  the first tuple
+     * @param list2  the second tuple
+     *
+     * @return a negative, zero or positive integer
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static int compare(List<Object> list1, List<Object> list2)
+    {
+        for (int i = 0, c = Math.min(list1.size(), list2.size()); i < c; ++i)
+        {
+            Object o1 = list1.get(i);
+            Object o2 = list2.get(i);
+            int    n  = o1 == null ? (o2 == null ? 0 : -1) : o2 == null ? 1 : ((Comparable) o1).compareTo(o2);
+            if (n != 0)
+            {
+                return n;
+            }
+        }
+        return Integer.compare(list1.size(), list2.size());
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The order of the tuples.
+     */
+    public static final Comparator<List<Object>> COMPARATOR = CompositeIndex::compare;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The tuple of every key.
+     */
+    private final Map<Object, List<Object>> m_mapForward = new HashMap<>();
+
+    /**
+     * The keys of every distinct tuple, in tuple order.
+     */
+    private final TreeMap<List<Object>, Set<Object>> m_mapInverse = new TreeMap<>(COMPARATOR);
+}
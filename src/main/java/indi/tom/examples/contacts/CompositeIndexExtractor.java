@@ -0,0 +1,139 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 01:50
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.AbstractExtractor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompositeIndexExtractor creates a {@link CompositeIndex} over a tuple of
+ * attributes, each returned by another extractor, which may be a
+ * KeyExtractor. The tuple of an entry is the list of its attributes, in the
+ * order of the extractors.
+ * <p/>
+ * The index is added with {@code cache.addIndex(extractor, false, null)} and
+ * used by a {@link CompositeFilter} constructed with an equal extractor,
+ * typically by {@link CompositeFilter#prefer}; the ordered and comparator
+ * arguments of addIndex are ignored. The attributes must be Comparable.
+ *
+ * @param <T>  the type of the value to extract from
+ *
+ * @author tom  2026.10.18
+ */
+public class CompositeIndexExtractor<T>
+        extends AbstractIndexExtractor<T, List<Object>>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public CompositeIndexExtractor()
+    {
+    }
+
+    /**
+     * Construct a CompositeIndexExtractor.
+     *
+     * @param aExtractor  the extractors of the attributes, most selective
+     *                    equality attribute first
+     */
+    public CompositeIndexExtractor(ValueExtractor<?, ?>... aExtractor)
+    {
+        super(aExtractor);
+    }
+
+    // ----- CompositeIndexExtractor methods --------------------------------
+
+    /**
+     * Return the position in the tuple of the attribute returned by an
+     * extractor. Extractors match if they are equal, or if they have the
+     * same canonical name and target.
+     *
+     * @param extractor  the extractor
+     *
+     * @return the position, or -1 if the attribute is not in the tuple
+     */
+    public int indexOf(ValueExtractor<?, ?> extractor)
+    {
+        String sName = extractor.getCanonicalName();
+        for (int i = 0, c = getArity(); i < c; ++i)
+        {
+            ValueExtractor<?, ?> extractorAttr = getExtractor(i);
+            if (extractorAttr.equals(extractor)
+                || sName != null && sName.equals(extractorAttr.getCanonicalName())
+                   && getTarget(extractor) == getTarget(extractorAttr))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ----- AbstractIndexExtractor methods ---------------------------------
+
+    /**
+     * Extract the tuple of an entry, applying KeyExtractors to its key.
+     *
+     * @param entry  the entry
+     *
+     * @return the tuple
+     */
+    public List<Object> extractFromEntry(Map.Entry<?, ?> entry)
+    {
+        Object[] ao = new Object[getArity()];
+        for (int i = 0; i < ao.length; ++i)
+        {
+            ao[i] = extractFromEntry(getExtractor(i), entry);
+        }
+        return Arrays.asList(ao);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected AbstractMapIndex<?, ?> instantiateIndex(Map<?, ?> mapIndex)
+    {
+        return new CompositeIndex(this);
+    }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> extract(T target)
+    {
+        Object[] ao = new Object[getArity()];
+        for (int i = 0; i < ao.length; ++i)
+        {
+            ao[i] = ((ValueExtractor<T, ?>) getExtractor(i)).extract(target);
+        }
+        return Arrays.asList(ao);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return whether an extractor applies to the key or the value.
+     *
+     * @param extractor  the extractor
+     *
+     * @return {@link AbstractExtractor#KEY} or {@link AbstractExtractor#VALUE}
+     */
+    private static int getTarget(ValueExtractor<?, ?> extractor)
+    {
+        return extractor instanceof AbstractExtractor
+               ? ((AbstractExtractor<?, ?>) extractor).getTarget()
+               : AbstractExtractor.VALUE;
+    }
+}
@@ -0,0 +1,45 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 11:05
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+
+import java.io.IOException;
+
+import java.util.Spliterator;
+
+/**
+ * ContactReader is a source of contacts consumed by the LoaderExample.
+ *
+ * @author tom  2026.10.17
+ */
+@FunctionalInterface
+public interface ContactReader
+{
+    /**
+     * Read the next contact.
+     *
+     * @return the contact or null upon reaching the end of the source
+     *
+     * @throws IOException  on read error
+     */
+    public Contact readContact()
+            throws IOException;
+
+    /**
+     * Return a ContactReader consuming the contacts of a spliterator.
+     *
+     * @param spliterator  the source of contacts
+     *
+     * @return a ContactReader
+     */
+    public static ContactReader of(Spliterator<Contact> spliterator)
+    {
+        Contact[] aContact = new Contact[1];
+        return () -> spliterator.tryAdvance(contact -> aContact[0] = contact) ? aContact[0] : null;
+    }
+}
@@ -0,0 +1,250 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 21:00
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Address;
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.PhoneNumber;
+
+import java.nio.charset.StandardCharsets;
+
+import java.time.LocalDate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+
+import java.util.function.Consumer;
+
+/**
+ * ContactSpliterator lazily generates a fixed number of random contacts,
+ * the same contacts, in the same order, as the rows written by a
+ * {@link ParallelDataGenerator} with the same {@link Workload}.
+ * <p/>
+ * Contacts are created one at a time as they are consumed, so feeding the
+ * spliterator to the loader uses memory proportional to the batch size
+ * rather than to the number of contacts. Like the ParallelDataGenerator, the
+ * spliterator draws the rows of each chunk of
+ * {@link ParallelDataGenerator#ROWS_PER_CHUNK} rows from a SplittableRandom
+ * split, in chunk order, from a root generator seeded by the Workload, and
+ * repeats recent keys of the chunk at the Workload's duplicate-key rate. It
+ * splits its range on a chunk boundary, so the halves can be consumed in
+ * parallel without sharing any state other than the read-only Workload.
+ *
+ * @author tom  2026.10.17
+ */
+public class ContactSpliterator
+        implements Spliterator<Contact>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a ContactSpliterator.
+     *
+     * @param cContacts  the number of contacts to generate
+     * @param workload   the prepared seed and value distributions
+     */
+    public ContactSpliterator(long cContacts, Workload workload)
+    {
+        this(0L, cContacts, new SplittableRandom(workload.getSeed()), null,
+                new byte[Workload.DUPLICATE_WINDOW][], workload);
+    }
+
+    /**
+     * Construct a ContactSpliterator for a range of contacts.
+     *
+     * @param iFrom      the index of the first contact
+     * @param iTo        the index just past the last contact
+     * @param randRoot   the root random number generator, positioned to
+     *                   split the generator of the next chunk
+     * @param randChunk  the random number generator of the chunk of the
+     *                   first contact, or null if it starts a chunk
+     * @param aabRecent  the last names of the most recent rows of the chunk
+     * @param workload   the prepared seed and value distributions
+     */
+    protected ContactSpliterator(long iFrom, long iTo, SplittableRandom randRoot, SplittableRandom randChunk,
+            byte[][] aabRecent, Workload workload)
+    {
+        m_iNext     = iFrom;
+        m_iTo       = iTo;
+        m_randRoot  = randRoot;
+        m_randChunk = randChunk;
+        m_aabRecent = aabRecent;
+        m_workload  = workload;
+    }
+
+    // ----- Spliterator interface ------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean tryAdvance(Consumer<? super Contact> action)
+    {
+        if (m_iNext >= m_iTo)
+        {
+            return false;
+        }
+
+        int iRow = (int) (m_iNext++ % ParallelDataGenerator.ROWS_PER_CHUNK);
+        if (iRow == 0)
+        {
+            m_randChunk = m_randRoot.split();
+        }
+        action.accept(generateContact(iRow));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Spliterator<Contact> trySplit()
+    {
+        long cRows = ParallelDataGenerator.ROWS_PER_CHUNK;
+        long iFrom = m_iNext;
+        long iMid  = (iFrom + (m_iTo - iFrom) / 2) / cRows * cRows;
+
+        if (iMid <= iFrom)
+        {
+            return null;
+        }
+
+        // the prefix carries on with the current chunk, while this range
+        // restarts at the chunk boundary with the root generator positioned
+        // as it would be after splitting the generators of the prefix
+        ContactSpliterator prefix = new ContactSpliterator(iFrom, iMid, m_randRoot, m_randChunk,
+                m_aabRecent, m_workload);
+
+        SplittableRandom randRoot = new SplittableRandom(m_workload.getSeed());
+        for (long i = iMid / cRows; i > 0; --i)
+        {
+            randRoot.split();
+        }
+
+        m_iNext     = iMid;
+        m_randRoot  = randRoot;
+        m_randChunk = null;
+        m_aabRecent = new byte[Workload.DUPLICATE_WINDOW][];
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long estimateSize()
+    {
+        return m_iTo - m_iNext;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int characteristics()
+    {
+        return SIZED | SUBSIZED | NONNULL;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Generate the next random contact, drawing its values in the order of
+     * {@link ParallelDataGenerator#encodeRow}.
+     *
+     * @param iRow  the index of the contact within its chunk
+     *
+     * @return the contact
+     */
+    protected Contact generateContact(int iRow)
+    {
+        SplittableRandom rand     = m_randChunk;
+        Workload         workload = m_workload;
+        String           sLast    = ascii(workload.nextLastName(rand, m_aabRecent, iRow));
+        LocalDate        dtBirth  = LocalDate.ofEpochDay(workload.nextBirthDay(rand));
+
+        Address addrHome = new Address(rand.nextInt(999) + " Beacon St.", "",
+                ascii(workload.nextCity(rand)), workload.nextState(rand), zip(rand), "US");
+        Address addrWork = new Address("Yoyodyne Propulsion Systems", "330 Lectroid Rd.",
+                "Grover's Mill", workload.nextState(rand), zip(rand), "US");
+
+        Map<String, PhoneNumber> mapTelNum = new HashMap<>(4);
+        mapTelNum.put("home", phone(rand));
+        mapTelNum.put("work", phone(rand));
+
+        return new Contact("John", sLast, addrHome, addrWork, mapTelNum, dtBirth);
+    }
+
+    /**
+     * Decode an ASCII name.
+     *
+     * @param ab  the name
+     *
+     * @return the name as a String
+     */
+    private static String ascii(byte[] ab)
+    {
+        return new String(ab, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Return a random five digit zip code.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the zip code
+     */
+    private static String zip(SplittableRandom rand)
+    {
+        String s = Integer.toString(rand.nextInt(99999));
+        return "00000".substring(s.length()) + s;
+    }
+
+    /**
+     * Return a random phone number.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the phone number
+     */
+    private static PhoneNumber phone(SplittableRandom rand)
+    {
+        return new PhoneNumber((short) 11, (short) rand.nextInt(99),
+                (short) rand.nextInt(999), rand.nextInt(9999999));
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The index of the next contact.
+     */
+    private long m_iNext;
+
+    /**
+     * The index just past the last contact.
+     */
+    private final long m_iTo;
+
+    /**
+     * The root random number generator, positioned to split the generator of
+     * the next chunk.
+     */
+    private SplittableRandom m_randRoot;
+
+    /**
+     * The random number generator of the current chunk.
+     */
+    private SplittableRandom m_randChunk;
+
+    /**
+     * The last names of the most recent rows of the current chunk.
+     */
+    private byte[][] m_aabRecent;
+
+    /**
+     * The seed and value distributions.
+     */
+    private final Workload m_workload;
+}
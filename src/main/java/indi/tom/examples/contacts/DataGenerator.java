@@ -10,17 +10,25 @@ import indi.tom.examples.pof.Address;
 import indi.tom.examples.pof.Contact;
 import indi.tom.examples.pof.ContactId;
 import indi.tom.examples.pof.PhoneNumber;
+import com.tangosol.io.Serializer;
+import com.tangosol.io.pof.ConfigurablePofContext;
 import com.tangosol.util.Base;
 import indi.tom.examples.pof.Contact;
 import indi.tom.examples.pof.ContactId;
 
 import java.io.BufferedWriter;
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.StandardOpenOption;
+
 import java.time.LocalDate;
 
 import java.time.format.DateTimeFormatter;
@@ -29,6 +37,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.TreeMap;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * DataGenerator generates random Contact information and store the result in a
@@ -42,8 +54,23 @@ public class DataGenerator
 
     /**
      * Generate contacts.
+     * <p/>
+     * The file is written by a {@link ParallelDataGenerator}; the optional
+     * third argument is its number of threads. The optional fourth argument
+     * is a seed making the output repeatable, a random seed being printed
+     * otherwise, and the fifth a {@link Workload#parse workload
+     * specification} of the value distributions.
+     * <p/>
+     * A file name ending with {@link SnapshotWriter#SUFFIX} produces a binary
+     * snapshot instead of a CSV file, serialized with the POF configuration
+     * named by the coherence.pof.config system property. The snapshot holds
+     * the contacts of the CSV file the same arguments produce, so loading
+     * either file populates the same cache; if the second argument is the
+     * name of an existing CSV file rather than a count, that file is
+     * converted instead.
      *
-     * usage: [file-name] [contact-count]
+     * usage: [file-name] [contact-count] [thread count] [seed] [workload]
+     *    or: [snapshot-file-name] [csv-file-name]
      *
      * @param asArg  command line arguments
      *
@@ -52,16 +79,61 @@ public class DataGenerator
     public static void main(String[] asArg)
             throws IOException
     {
-        String       sFile = asArg.length > 0 ? asArg[0] : Driver.DEFAULT_DATAFILE;
-        int          cCon  = asArg.length > 1 ? Integer.parseInt(asArg[1]) : 1000;
-        OutputStream out   = new FileOutputStream(sFile);
+        String sFile    = asArg.length > 0 ? asArg[0] : Driver.DEFAULT_DATAFILE;
+        String sCount   = asArg.length > 1 ? asArg[1] : "1000";
+        int    cThreads = asArg.length > 2 ? Integer.parseInt(asArg[2]) : 1;
+        String sSeed    = asArg.length > 3 ? asArg[3] : null;
+        String sSpec    = asArg.length > 4 ? asArg[4] : null;
+
+        if (!sFile.endsWith(SnapshotWriter.SUFFIX))
+        {
+            generate(new File(sFile), Long.parseLong(sCount), cThreads, sSeed, sSpec);
+        }
+        else if (new File(sCount).isFile())
+        {
+            convertToSnapshot(new File(sCount), new File(sFile), new ConfigurablePofContext());
+        }
+        else
+        {
+            File fileSnapshot = new File(sFile).getAbsoluteFile();
+            File fileCsv      = File.createTempFile("contacts", ".csv", fileSnapshot.getParentFile());
+            try
+            {
+                generate(fileCsv, Long.parseLong(sCount), cThreads, sSeed, sSpec);
+                convertToSnapshot(fileCsv, fileSnapshot, new ConfigurablePofContext());
+            }
+            finally
+            {
+                fileCsv.delete();
+            }
+        }
+    }
+
+    /**
+     * Generate contacts and write them to a CSV file using a
+     * {@link ParallelDataGenerator}.
+     *
+     * @param file       the file to write
+     * @param cContacts  the number of contacts to create
+     * @param cThreads   the number of threads
+     * @param sSeed      the seed, or null
+     * @param sSpec      the workload specification, or null
+     *
+     * @throws IOException if file cannot be written
+     */
+    private static void generate(File file, long cContacts, int cThreads, String sSeed, String sSpec)
+            throws IOException
+    {
+        long     lSeed    = sSeed == null ? new Random().nextLong() : Long.parseLong(sSeed);
+        Workload workload = Workload.parse(lSeed, sSpec);
 
-        generate(out, cCon);
-        out.close();
+        System.out.println("seed: " + lSeed);
+        new ParallelDataGenerator(Math.max(1, cThreads), workload).generate(file, cContacts);
     }
 
     /**
-     * Generate the contacts and write them to a file.
+     * Generate the contacts with the default uniform distributions and a
+     * random seed, and write them to a file.
      *
      * @param out        output stream for contacts
      * @param cContacts  number of contacts to create
@@ -70,53 +142,90 @@ public class DataGenerator
      */
     public static void generate(OutputStream out, int cContacts)
             throws IOException
+    {
+        generate(out, cContacts, new Workload().prepare());
+    }
+
+    /**
+     * Generate the contacts and write them to a file. The rows are those a
+     * {@link ParallelDataGenerator} with the same Workload writes.
+     *
+     * @param out        output stream for contacts
+     * @param cContacts  number of contacts to create
+     * @param workload   the prepared seed and value distributions
+     *
+     * @throws IOException if file cannot be written
+     */
+    public static void generate(OutputStream out, long cContacts, Workload workload)
+            throws IOException
     {
         PrintWriter writer = new PrintWriter(new BufferedWriter(
-                new OutputStreamWriter(out)));
+                new OutputStreamWriter(out, StandardCharsets.US_ASCII)));
 
-        for (int i = 0; i < cContacts; ++i)
+        streamContacts(cContacts, workload).forEach(contact -> writer.println(toCsv(contact)));
+        writer.flush();
+        if (writer.checkError())
         {
-            StringBuffer sb = new StringBuffer(256);
-
-            //contact person
-            sb.append("John,")
-                    .append(getRandomName())
-                    .append(',');
-
-            // random birth date in millis before or after the epoch
-
-            sb.append(getRandomDate().format(FORMAT))
-                    .append(',');
-
-            // home and work addresses
-            sb.append(Integer.toString(Base.getRandom().nextInt(999)))
-                    .append(" Beacon St.,,") /*street1,empty street2*/
-                    .append(getRandomName()) /*random city name*/
-                    .append(',')
-                    .append(getRandomState())
-                    .append(',')
-                    .append(getRandomZip())
-                    .append(",US,Yoyodyne Propulsion Systems,")
-                    .append("330 Lectroid Rd.,Grover's Mill,")
-                    .append(getRandomState())
-                    .append(',')
-                    .append(getRandomZip())
-                    .append(",US,");
-
-            // home and work phone numbers
-            sb.append("home,")
-                    .append(Base.toDelimitedString(getRandomPhoneDigits(), ","))
-                    .append(",work,")
-                    .append(Base.toDelimitedString(getRandomPhoneDigits(), ","))
-                    .append(',');
+            throw new IOException("failed to write the contacts");
+        }
+    }
 
-            writer.println(sb);
+    /**
+     * Convert a CSV file of contacts to a binary snapshot that can be loaded
+     * by a {@link SnapshotLoader} without parsing.
+     * <p/>
+     * The file is parsed by the same {@link MappedContactReader} as a file
+     * load of the LoaderExample, and the contacts are written in file order
+     * under the same keys, so loading the snapshot populates the cache with
+     * the same entries as loading the CSV file.
+     *
+     * @param fileCsv       the CSV file
+     * @param fileSnapshot  the snapshot file
+     * @param serializer    the serializer of the cache service the snapshot
+     *                      will be loaded into
+     *
+     * @return the number of contacts written
+     *
+     * @throws IOException if a file cannot be read or written
+     */
+    public static long convertToSnapshot(File fileCsv, File fileSnapshot, Serializer serializer)
+            throws IOException
+    {
+        long cContacts = 0L;
+        try (FileChannel    channel = FileChannel.open(fileCsv.toPath(), StandardOpenOption.READ);
+             SnapshotWriter writer  = new SnapshotWriter(fileSnapshot, serializer))
+        {
+            ContactReader reader = new MappedContactReader(channel);
+            for (Contact contact = reader.readContact(); contact != null; contact = reader.readContact())
+            {
+                writer.add(new ContactId(contact.getFirstName(), contact.getLastName()), contact);
+                ++cContacts;
+            }
         }
-        writer.flush();
+        return cContacts;
+    }
+
+    /**
+     * Return a lazy, splittable stream of random contacts. Contacts are only
+     * created as the stream is consumed, so unlike
+     * {@link #generateContacts(int)} the stream can describe more contacts
+     * than fit in memory.
+     *
+     * @param cContacts  the number of contacts to generate
+     * @param workload   the prepared seed and value distributions
+     *
+     * @return a stream of contacts
+     */
+    public static Stream<Contact> streamContacts(long cContacts, Workload workload)
+    {
+        return StreamSupport.stream(new ContactSpliterator(cContacts, workload), false);
     }
 
     /**
      * Generate N contacts and return them in a Map.
+     * <p/>
+     * The entire data set is held in memory; use
+     * {@link #streamContacts(long, Workload)} for large data sets.
      *
      * @param nCount  the number of contacts to generate
      *
@@ -135,6 +244,70 @@ public class DataGenerator
         return mapContacts;
     }
 
+    /**
+     * Format a contact as a row of the CSV file, the phone numbers ordered by
+     * type.
+     *
+     * @param contact  the contact
+     *
+     * @return the row
+     */
+    private static String toCsv(Contact contact)
+    {
+        StringBuilder sb = new StringBuilder(256);
+
+        //contact person
+        sb.append(contact.getFirstName())
+                .append(',')
+                .append(contact.getLastName())
+                .append(',')
+                .append(contact.getBirthDate().format(FORMAT))
+                .append(',');
+
+        // home and work addresses
+        appendAddress(sb, contact.getHomeAddress());
+        appendAddress(sb, contact.getWorkAddress());
+
+        // phone numbers
+        for (Map.Entry<String, PhoneNumber> entry : new TreeMap<>(contact.getPhoneNumbers()).entrySet())
+        {
+            PhoneNumber phone = entry.getValue();
+            sb.append(entry.getKey())
+                    .append(',')
+                    .append(phone.getAccessCode())
+                    .append(',')
+                    .append(phone.getCountryCode())
+                    .append(',')
+                    .append(phone.getAreaCode())
+                    .append(',')
+                    .append(phone.getLocalNumber())
+                    .append(',');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Append the fields of an address to a CSV row.
+     *
+     * @param sb    the row
+     * @param addr  the address
+     */
+    private static void appendAddress(StringBuilder sb, Address addr)
+    {
+        sb.append(addr.getStreet1())
+                .append(',')
+                .append(addr.getStreet2() == null ? "" : addr.getStreet2())
+                .append(',')
+                .append(addr.getCity())
+                .append(',')
+                .append(addr.getState())
+                .append(',')
+                .append(addr.getZipCode())
+                .append(',')
+                .append(addr.getCountry())
+                .append(',');
+    }
+
     /**
      * Return a random name.
      *
@@ -249,7 +422,7 @@ public class DataGenerator
     /**
      * US Postal Service two letter postal codes.
      */
-    private static final String[] STATE_CODES = {
+    static final String[] STATE_CODES = {
             "AL", "AK", "AS", "AZ", "AR", "CA", "CO", "CT", "DE", "OF", "DC",
             "FM", "FL", "GA", "GU", "HI", "ID", "IL", "IN", "IA", "KS", "KY",
             "LA", "ME", "MH", "MD", "MA", "MI", "MN", "MS", "MO", "MT", "NE",
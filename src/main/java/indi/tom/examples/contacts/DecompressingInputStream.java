@@ -0,0 +1,574 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 21:30
+ * @Version 1.0
+ * @Description
+ */
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+import java.util.Arrays;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * DecompressingInputStream decompresses a gzip or zip stream ahead of the
+ * reader, so that decompression is pipelined with parsing instead of being a
+ * separate pass through a temporary file.
+ * <p/>
+ * The compressed stream is consumed by a dedicated thread which hands the
+ * decompressed data to the reader as a bounded queue of chunks. A plain gzip
+ * stream, including one with several members, and the entries of a zip
+ * archive are inflated by that thread. A blocked gzip stream, as written by
+ * bgzip, records the compressed size of every member in its header, so the
+ * thread only splits the stream into members and the members are inflated
+ * concurrently by a pool of workers; the chunks are still returned in stream
+ * order.
+ *
+ * @author tom  2026.10.17
+ */
+public class DecompressingInputStream
+        extends InputStream
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a DecompressingInputStream.
+     *
+     * @param in        the compressed stream
+     * @param fZip      true if the stream is a zip archive, false for gzip
+     * @param cThreads  the number of threads inflating a blocked gzip stream
+     */
+    public DecompressingInputStream(InputStream in, boolean fZip, int cThreads)
+    {
+        if (cThreads < 1)
+        {
+            throw new IllegalArgumentException("thread count must be positive: " + cThreads);
+        }
+        m_in       = new BufferedInputStream(in, BUFFER_SIZE);
+        m_fZip     = fZip;
+        m_cThreads = cThreads;
+        m_queue    = new ArrayBlockingQueue<>(cThreads * CHUNKS_PER_THREAD);
+
+        Thread thread = m_thread = new Thread(this::produce, "DecompressingInputStream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ----- DecompressingInputStream methods -------------------------------
+
+    /**
+     * Return true if the file name identifies a compressed file.
+     *
+     * @param file  the file
+     *
+     * @return true if the file is gzip or zip compressed
+     */
+    public static boolean isCompressed(File file)
+    {
+        String sName = file.getName();
+        return sName.endsWith(GZIP_SUFFIX) || sName.endsWith(ZIP_SUFFIX);
+    }
+
+    /**
+     * Open a compressed file.
+     *
+     * @param file      the gzip or zip file
+     * @param cThreads  the number of threads inflating a blocked gzip file
+     *
+     * @return a stream of the decompressed content
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    public static DecompressingInputStream open(File file, int cThreads)
+            throws IOException
+    {
+        return new DecompressingInputStream(new FileInputStream(file),
+                file.getName().endsWith(ZIP_SUFFIX), cThreads);
+    }
+
+    // ----- InputStream interface ------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public int read()
+            throws IOException
+    {
+        return ensureChunk() ? m_abChunk[m_ofChunk++] & 0xFF : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int read(byte[] ab, int of, int cb)
+            throws IOException
+    {
+        if (cb == 0)
+        {
+            return 0;
+        }
+        if (!ensureChunk())
+        {
+            return -1;
+        }
+
+        int cbRead = Math.min(cb, m_abChunk.length - m_ofChunk);
+        System.arraycopy(m_abChunk, m_ofChunk, ab, of, cbRead);
+        m_ofChunk += cbRead;
+        return cbRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int available()
+    {
+        return m_abChunk.length - m_ofChunk;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close()
+            throws IOException
+    {
+        m_thread.interrupt();
+
+        ExecutorService executor = m_executor;
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+        m_in.close();
+        m_abChunk = EOF;
+        m_ofChunk = 0;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Ensure that the current chunk has unread data, waiting for the next
+     * decompressed chunk if necessary.
+     *
+     * @return false at the end of the stream
+     *
+     * @throws IOException if the stream could not be decompressed
+     */
+    private boolean ensureChunk()
+            throws IOException
+    {
+        while (m_ofChunk >= m_abChunk.length)
+        {
+            if (m_abChunk == EOF)
+            {
+                return false;
+            }
+
+            try
+            {
+                m_abChunk = m_queue.take().get();
+                m_ofChunk = 0;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while decompressing");
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException
+                        ? (IOException) cause
+                        : new IOException("decompression failed", cause);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decompress the stream into the queue; runs on the decompressing thread.
+     */
+    protected void produce()
+    {
+        try
+        {
+            try
+            {
+                if (m_fZip)
+                {
+                    produceZip();
+                }
+                else if (isBlocked())
+                {
+                    produceBlocks();
+                }
+                else
+                {
+                    produceStream(new GZIPInputStream(m_in, BUFFER_SIZE));
+                }
+                m_queue.put(CompletableFuture.completedFuture(EOF));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                CompletableFuture<byte[]> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                m_queue.put(future);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            // the stream was closed
+        }
+        finally
+        {
+            ExecutorService executor = m_executor;
+            if (executor != null)
+            {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Queue the content of a decompressing stream in chunks.
+     *
+     * @param in  the decompressing stream
+     *
+     * @throws IOException if the stream cannot be read
+     * @throws InterruptedException if the stream was closed
+     */
+    private void produceStream(InputStream in)
+            throws IOException, InterruptedException
+    {
+        while (true)
+        {
+            byte[] ab = new byte[CHUNK_SIZE];
+            int    cb = 0;
+            for (int cbRead; cb < ab.length && (cbRead = in.read(ab, cb, ab.length - cb)) >= 0; )
+            {
+                cb += cbRead;
+            }
+            if (cb > 0)
+            {
+                m_queue.put(CompletableFuture.completedFuture(cb == ab.length ? ab : Arrays.copyOf(ab, cb)));
+            }
+            if (cb < ab.length)
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queue the content of every file in a zip archive, in archive order.
+     *
+     * @throws IOException if the archive cannot be read
+     * @throws InterruptedException if the stream was closed
+     */
+    private void produceZip()
+            throws IOException, InterruptedException
+    {
+        ZipInputStream in = new ZipInputStream(m_in);
+        for (ZipEntry entry; (entry = in.getNextEntry()) != null; )
+        {
+            if (!entry.isDirectory())
+            {
+                produceStream(in);
+            }
+        }
+    }
+
+    /**
+     * Split a blocked gzip stream into its members and queue the inflation
+     * of each member on the worker pool.
+     *
+     * @throws IOException if the stream cannot be read or is malformed
+     * @throws InterruptedException if the stream was closed
+     */
+    private void produceBlocks()
+            throws IOException, InterruptedException
+    {
+        AtomicInteger   cThread  = new AtomicInteger();
+        ExecutorService executor = m_executor = Executors.newFixedThreadPool(m_cThreads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "DecompressingInputStream-" + cThread.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        DataInputStream in = new DataInputStream(m_in);
+        while (true)
+        {
+            byte[] abHeader = new byte[HEADER_SIZE];
+            int    b        = in.read();
+            if (b < 0)
+            {
+                return;
+            }
+            abHeader[0] = (byte) b;
+            in.readFully(abHeader, 1, HEADER_SIZE - 1);
+
+            int    cbExtra = getShort(abHeader, 10);
+            byte[] abExtra = new byte[cbExtra];
+            in.readFully(abExtra);
+
+            int cbBlock = getBlockSize(abHeader, abExtra);
+            if (cbBlock < HEADER_SIZE + cbExtra + TRAILER_SIZE)
+            {
+                throw new IOException("not a blocked gzip member");
+            }
+
+            byte[] abBlock = new byte[cbBlock];
+            System.arraycopy(abHeader, 0, abBlock, 0, HEADER_SIZE);
+            System.arraycopy(abExtra, 0, abBlock, HEADER_SIZE, cbExtra);
+            in.readFully(abBlock, HEADER_SIZE + cbExtra, cbBlock - HEADER_SIZE - cbExtra);
+
+            m_queue.put(executor.submit(() -> inflate(abBlock, HEADER_SIZE + cbExtra)));
+        }
+    }
+
+    /**
+     * Determine whether the stream is a blocked gzip stream by inspecting
+     * the header of its first member without consuming it.
+     *
+     * @return true if the first member records its compressed size
+     *
+     * @throws IOException if the stream cannot be read
+     */
+    private boolean isBlocked()
+            throws IOException
+    {
+        InputStream in = m_in;
+        byte[]      ab = new byte[HEADER_SIZE + 6];
+
+        in.mark(ab.length);
+        try
+        {
+            int cb = 0;
+            for (int cbRead; cb < ab.length && (cbRead = in.read(ab, cb, ab.length - cb)) >= 0; )
+            {
+                cb += cbRead;
+            }
+            return cb == ab.length && getBlockSize(ab, Arrays.copyOfRange(ab, HEADER_SIZE, ab.length)) > 0;
+        }
+        finally
+        {
+            in.reset();
+        }
+    }
+
+    /**
+     * Return the size of a blocked gzip member, as recorded in the "BC"
+     * extra subfield of its header.
+     *
+     * @param abHeader  the fixed part of the member header
+     * @param abExtra   the extra field of the member header
+     *
+     * @return the size of the member, or -1 if the header does not record it
+     */
+    private static int getBlockSize(byte[] abHeader, byte[] abExtra)
+    {
+        if ((abHeader[0] & 0xFF) != 0x1F || (abHeader[1] & 0xFF) != 0x8B
+            || abHeader[2] != 8 || (abHeader[3] & FEXTRA) == 0)
+        {
+            return -1;
+        }
+
+        for (int of = 0; of + 4 <= abExtra.length; )
+        {
+            int cbField = getShort(abExtra, of + 2);
+            if (abExtra[of] == 'B' && abExtra[of + 1] == 'C' && cbField == 2 && of + 6 <= abExtra.length)
+            {
+                return getShort(abExtra, of + 4) + 1;
+            }
+            of += 4 + cbField;
+        }
+        return -1;
+    }
+
+    /**
+     * Inflate a blocked gzip member and verify its checksum.
+     *
+     * @param abBlock  the member
+     * @param ofData   the offset of the compressed data
+     *
+     * @return the decompressed data
+     *
+     * @throws IOException if the member is corrupt
+     */
+    private static byte[] inflate(byte[] abBlock, int ofData)
+            throws IOException
+    {
+        int      ofTrailer = abBlock.length - TRAILER_SIZE;
+        byte[]   ab        = new byte[getInt(abBlock, ofTrailer + 4)];
+        Inflater inflater  = new Inflater(true);
+        try
+        {
+            inflater.setInput(abBlock, ofData, ofTrailer - ofData);
+            for (int of = 0; of < ab.length; )
+            {
+                int cb = inflater.inflate(ab, of, ab.length - of);
+                if (cb == 0 && (inflater.finished() || inflater.needsInput()))
+                {
+                    throw new EOFException("truncated blocked gzip member");
+                }
+                of += cb;
+            }
+        }
+        catch (DataFormatException e)
+        {
+            throw new IOException("corrupt blocked gzip member", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(ab, 0, ab.length);
+        if ((int) crc.getValue() != getInt(abBlock, ofTrailer))
+        {
+            throw new IOException("blocked gzip member checksum mismatch");
+        }
+        return ab;
+    }
+
+    /**
+     * Read an unsigned little-endian short.
+     *
+     * @param ab  the array
+     * @param of  the offset of the value
+     *
+     * @return the value
+     */
+    private static int getShort(byte[] ab, int of)
+    {
+        return (ab[of] & 0xFF) | (ab[of + 1] & 0xFF) << 8;
+    }
+
+    /**
+     * Read a little-endian int.
+     *
+     * @param ab  the array
+     * @param of  the offset of the value
+     *
+     * @return the value
+     */
+    private static int getInt(byte[] ab, int of)
+    {
+        return getShort(ab, of) | getShort(ab, of + 2) << 16;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The suffix identifying gzip files.
+     */
+    public static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * The suffix identifying zip files.
+     */
+    public static final String ZIP_SUFFIX = ".zip";
+
+    /**
+     * The size of the chunks produced from a stream that is not blocked.
+     */
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * The size of the buffer of the compressed stream.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The number of decompressed chunks that may be queued per thread.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The size of the fixed part of a gzip member header, including the
+     * length of the extra field.
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * The size of a gzip member trailer.
+     */
+    private static final int TRAILER_SIZE = 8;
+
+    /**
+     * The gzip header flag indicating an extra field.
+     */
+    private static final int FEXTRA = 4;
+
+    /**
+     * The chunk marking the end of the stream.
+     */
+    private static final byte[] EOF = new byte[0];
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The compressed stream.
+     */
+    private final BufferedInputStream m_in;
+
+    /**
+     * True if the stream is a zip archive.
+     */
+    private final boolean m_fZip;
+
+    /**
+     * The number of threads inflating a blocked gzip stream.
+     */
+    private final int m_cThreads;
+
+    /**
+     * The decompressed chunks, in stream order.
+     */
+    private final BlockingQueue<Future<byte[]>> m_queue;
+
+    /**
+     * The thread reading the compressed stream.
+     */
+    private final Thread m_thread;
+
+    /**
+     * The pool inflating the members of a blocked gzip stream, or null.
+     */
+    private volatile ExecutorService m_executor;
+
+    /**
+     * The chunk being read.
+     */
+    private byte[] m_abChunk = new byte[0];
+
+    /**
+     * The offset of the next unread byte of the chunk being read.
+     */
+    private int m_ofChunk;
+}
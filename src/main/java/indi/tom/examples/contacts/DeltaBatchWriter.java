@@ -0,0 +1,125 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 17:45
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.NamedCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DeltaBatchWriter only writes the contacts of a batch that are missing from
+ * the cache or differ from the stored ones.
+ * <p/>
+ * Each batch is written in two steps. First a {@link DeltaProcessor} carrying
+ * just the fingerprint of every parsed contact is invoked against the keys of
+ * the batch; the stored contacts are compared in place and nothing is
+ * modified. Then the new and changed contacts are inserted using putAll(), so
+ * unchanged entries cause neither backup traffic nor index updates.
+ * <p/>
+ * Because the two steps are not atomic, a concurrent update between them may
+ * be overwritten, exactly as it would be by a plain putAll().
+ *
+ * @author tom  2026.10.17
+ */
+public class DeltaBatchWriter
+        implements BatchWriter
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a DeltaBatchWriter.
+     *
+     * @param cache    target cache
+     * @param sizer    the BatchSizer to report the batch latency to
+     * @param stats    the statistics to report the putAll() latency to
+     * @param alCount  the counts of inserted, updated and unchanged contacts,
+     *                 indexed by the {@link DeltaProcessor} results
+     */
+    public DeltaBatchWriter(NamedCache<ContactId, Contact> cache, BatchSizer sizer,
+            LoaderStatistics stats, AtomicLongArray alCount)
+    {
+        m_cache   = cache;
+        m_sizer   = sizer;
+        m_stats   = stats;
+        m_alCount = alCount;
+    }
+
+    // ----- BatchWriter interface ------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void write(BatchBuffer.Batch batch)
+    {
+        Map<ContactId, Contact> mapContact     = batch.getContacts();
+        Map<ContactId, Long>    mapFingerprint = new HashMap<>(mapContact.size() * 4 / 3 + 1);
+
+        for (Map.Entry<ContactId, Contact> entry : mapContact.entrySet())
+        {
+            mapFingerprint.put(entry.getKey(), DeltaProcessor.fingerprint(entry.getValue()));
+        }
+
+        long ldtStart = System.nanoTime();
+
+        Map<ContactId, Integer> mapResult  = m_cache.invokeAll(mapContact.keySet(),
+                new DeltaProcessor(mapFingerprint));
+        Map<ContactId, Contact> mapChanged = new HashMap<>();
+        int[]                   acResult   = new int[3];
+
+        for (Map.Entry<ContactId, Integer> entry : mapResult.entrySet())
+        {
+            int nResult = entry.getValue();
+            if (nResult != DeltaProcessor.UNCHANGED)
+            {
+                ContactId id = entry.getKey();
+                mapChanged.put(id, mapContact.get(id));
+            }
+            ++acResult[nResult];
+        }
+
+        if (!mapChanged.isEmpty())
+        {
+            long ldtPut = System.nanoTime();
+            m_cache.putAll(mapChanged);
+            m_stats.recordPutAll(System.nanoTime() - ldtPut);
+        }
+
+        m_sizer.update(batch.size(), batch.getBytes(), System.nanoTime() - ldtStart);
+
+        for (int i = 0; i < acResult.length; ++i)
+        {
+            m_alCount.addAndGet(i, acResult[i]);
+        }
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The target cache.
+     */
+    private final NamedCache<ContactId, Contact> m_cache;
+
+    /**
+     * The BatchSizer to report the batch latency to.
+     */
+    private final BatchSizer m_sizer;
+
+    /**
+     * The statistics to report the putAll() latency to.
+     */
+    private final LoaderStatistics m_stats;
+
+    /**
+     * The counts of inserted, updated and unchanged contacts.
+     */
+    private final AtomicLongArray m_alCount;
+}
@@ -0,0 +1,241 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 17:30
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Address;
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import indi.tom.examples.pof.PhoneNumber;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.InvocableMap;
+
+import java.io.IOException;
+
+import java.time.LocalDate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DeltaProcessor compares the fingerprints of freshly parsed contacts against
+ * the contacts stored in the cache, so that a delta load only ships the
+ * contacts that are new or have changed.
+ * <p/>
+ * The processor carries a fingerprint per key rather than the contacts
+ * themselves and never modifies an entry; it returns, for every key, whether
+ * the entry is {@link #INSERTED absent}, {@link #UPDATED different} or
+ * {@link #UNCHANGED identical}. The fingerprint is a 64-bit hash of every
+ * property of a contact other than the derived age.
+ *
+ * @author tom  2026.10.17
+ */
+public class DeltaProcessor
+        implements InvocableMap.EntryProcessor<ContactId, Contact, Integer>, PortableObject
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public DeltaProcessor()
+    {
+    }
+
+    /**
+     * Construct a DeltaProcessor.
+     *
+     * @param mapFingerprint  the fingerprints of the parsed contacts keyed by
+     *                        ContactId
+     */
+    public DeltaProcessor(Map<ContactId, Long> mapFingerprint)
+    {
+        m_mapFingerprint = mapFingerprint;
+    }
+
+    // ----- EntryProcessor interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public Integer process(InvocableMap.Entry<ContactId, Contact> entry)
+    {
+        if (!entry.isPresent())
+        {
+            return INSERTED;
+        }
+
+        Long lFingerprint = m_mapFingerprint.get(entry.getKey());
+        return lFingerprint != null && lFingerprint == fingerprint(entry.getValue())
+               ? UNCHANGED
+               : UPDATED;
+    }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader)
+            throws IOException
+    {
+        m_mapFingerprint = reader.readMap(FINGERPRINTS, new HashMap<>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer)
+            throws IOException
+    {
+        writer.writeMap(FINGERPRINTS, m_mapFingerprint, ContactId.class, Long.class);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Compute the fingerprint of a contact. The phone numbers are combined
+     * independently of their iteration order.
+     *
+     * @param contact  the contact
+     *
+     * @return the 64-bit fingerprint
+     */
+    public static long fingerprint(Contact contact)
+    {
+        long l = FNV_OFFSET;
+        l = mix(l, contact.getFirstName());
+        l = mix(l, contact.getLastName());
+        l = mix(l, contact.getHomeAddress());
+        l = mix(l, contact.getWorkAddress());
+
+        LocalDate dtBirth = contact.getBirthDate();
+        l = mix(l, dtBirth == null ? 0L : dtBirth.toEpochDay());
+
+        Map<String, PhoneNumber> mapTelNum = contact.getPhoneNumbers();
+        long                     lPhones   = 0L;
+        if (mapTelNum != null)
+        {
+            for (Map.Entry<String, PhoneNumber> entry : mapTelNum.entrySet())
+            {
+                PhoneNumber phone = entry.getValue();
+                long        lTel  = mix(FNV_OFFSET, entry.getKey());
+                if (phone != null)
+                {
+                    lTel = mix(lTel, phone.getAccessCode());
+                    lTel = mix(lTel, phone.getCountryCode());
+                    lTel = mix(lTel, phone.getAreaCode());
+                    lTel = mix(lTel, phone.getLocalNumber());
+                }
+                lPhones += lTel;
+            }
+        }
+        return mix(l, lPhones);
+    }
+
+    /**
+     * Mix an address into a fingerprint.
+     *
+     * @param l     the fingerprint so far
+     * @param addr  the address, may be null
+     *
+     * @return the new fingerprint
+     */
+    private static long mix(long l, Address addr)
+    {
+        if (addr == null)
+        {
+            return mix(l, 0L);
+        }
+        l = mix(l, addr.getStreet1());
+        l = mix(l, addr.getStreet2());
+        l = mix(l, addr.getCity());
+        l = mix(l, addr.getState());
+        l = mix(l, addr.getZipCode());
+        return mix(l, addr.getCountry());
+    }
+
+    /**
+     * Mix a String into a fingerprint, distinguishing null from the empty
+     * String and terminating the value so adjacent fields cannot run into
+     * each other.
+     *
+     * @param l  the fingerprint so far
+     * @param s  the String, may be null
+     *
+     * @return the new fingerprint
+     */
+    private static long mix(long l, String s)
+    {
+        if (s == null)
+        {
+            return (l ^ 0xFFL) * FNV_PRIME;
+        }
+        for (int i = 0, c = s.length(); i < c; ++i)
+        {
+            l = (l ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return (l ^ 0xFEL) * FNV_PRIME;
+    }
+
+    /**
+     * Mix a long into a fingerprint.
+     *
+     * @param l  the fingerprint so far
+     * @param n  the value
+     *
+     * @return the new fingerprint
+     */
+    private static long mix(long l, long n)
+    {
+        for (int i = 0; i < 8; ++i, n >>>= 8)
+        {
+            l = (l ^ (n & 0xFFL)) * FNV_PRIME;
+        }
+        return l;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The result for a key that is not present in the cache.
+     */
+    public static final int INSERTED = 0;
+
+    /**
+     * The result for a key whose stored contact differs from the parsed one.
+     */
+    public static final int UPDATED = 1;
+
+    /**
+     * The result for a key whose stored contact matches the parsed one.
+     */
+    public static final int UNCHANGED = 2;
+
+    /**
+     * The POF index for the Fingerprints property.
+     */
+    public static final int FINGERPRINTS = 0;
+
+    /**
+     * The FNV-1a 64-bit offset basis.
+     */
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+    /**
+     * The FNV-1a 64-bit prime.
+     */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The fingerprints of the parsed contacts keyed by ContactId.
+     */
+    private Map<ContactId, Long> m_mapFingerprint;
+}
@@ -13,6 +13,7 @@ import indi.tom.examples.pof.ContactId;
 import com.tangosol.net.NamedCache;
 import com.tangosol.net.Session;
 import com.tangosol.util.Resources;
+import com.tangosol.util.aggregator.QueryRecorder;
 
 import java.io.IOException;
 
@@ -37,6 +38,16 @@ import static com.tangosol.net.cache.TypeAssertion.withTypes;
  * 4) ObserverExample <br/>
  * 5) BasicExample<br/>
  * 6) ProcessorExample<br/>
+ * <p/>
+ * The examples send custom processors, aggregators, index extractors and
+ * filters to the storage members, which are registered in the
+ * contacts-pof-config.xml resource; run every member with
+ * <tt>-Dcoherence.pof.enabled=true
+ * -Dcoherence.pof.config=contacts-pof-config.xml</tt>.
+ * <p/>
+ * With <tt>-Dcontacts.query.record=explain</tt> or <tt>trace</tt> the
+ * QueryExample first runs every query through the QueryRecorder and prints
+ * how it is resolved, warning about the steps that use no index.
  *
  * @author dag  2009.03.02
  */
@@ -70,8 +81,14 @@ public class Driver
             URL contactFileURL = Resources.findFileOrResource(sFile, Driver.class.getClassLoader());
             new LoaderExample().load(contactFileURL.openStream(), cache);
 
-            // Run sample queries
-            new QueryExample().query(cache);
+            // Run sample queries, explaining or tracing them if requested
+            QueryExample example = new QueryExample();
+            String       sRecord = System.getProperty(PROP_QUERY_RECORD);
+            if (sRecord != null)
+            {
+                example.setQueryRecordType(QueryRecorder.RecordType.valueOf(sRecord.toUpperCase()));
+            }
+            example.query(cache);
 
 //            // Run sample queries using query language
 //            new QueryLanguageExample().query(cache, new FilterFactory("InvocationService"));
@@ -102,4 +119,9 @@ public class Driver
     // ----- constants ------------------------------------------------------
 
     public final static String DEFAULT_DATAFILE = "contacts.csv";
+
+    /**
+     * The system property naming the query record type, explain or trace.
+     */
+    public final static String PROP_QUERY_RECORD = "contacts.query.record";
 }
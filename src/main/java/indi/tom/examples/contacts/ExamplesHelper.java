@@ -6,7 +6,7 @@ package indi.tom.examples.contacts;
  * @Version 1.0
  * @Description
  */
-import com.oracle.common.base.Blocking;
+import com.oracle.coherence.common.base.Blocking;
 import indi.tom.examples.pof.ContactId ;
 import indi.tom.examples.pof.Contact ;
 import com.tangosol.net.NamedCache;
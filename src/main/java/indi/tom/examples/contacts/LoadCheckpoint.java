@@ -0,0 +1,206 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 17:05
+ * @Version 1.0
+ * @Description
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import java.util.Properties;
+
+/**
+ * LoadCheckpoint records the progress of a file load in a small local file so
+ * that an interrupted load can be resumed where it stopped.
+ * <p/>
+ * A checkpoint holds the file offset just past the last record known to be
+ * acknowledged by the cache and the number of records preceding that offset.
+ * It also holds the path and size of the input file, and is ignored when
+ * resuming a load of a different file. The checkpoint is replaced atomically,
+ * so a crash while saving leaves the previous checkpoint intact.
+ * <p/>
+ * Records between the checkpoint and the point of failure are inserted again
+ * when the load is resumed, which is harmless as putAll() is idempotent.
+ *
+ * @author tom  2026.10.17
+ */
+public class LoadCheckpoint
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a LoadCheckpoint.
+     *
+     * @param fileCheckpoint  the file holding the checkpoint
+     * @param fileInput       the file being loaded
+     *
+     * @throws IOException if the input file cannot be accessed
+     */
+    public LoadCheckpoint(File fileCheckpoint, File fileInput)
+            throws IOException
+    {
+        m_pathCheckpoint = fileCheckpoint.toPath();
+        m_sInput         = fileInput.getCanonicalPath();
+        m_cbInput        = fileInput.length();
+    }
+
+    // ----- LoadCheckpoint methods -----------------------------------------
+
+    /**
+     * Read the checkpoint, if one exists for the input file.
+     *
+     * @return true if a checkpoint for the input file was read
+     *
+     * @throws IOException on read error
+     */
+    public boolean read()
+            throws IOException
+    {
+        if (!Files.exists(m_pathCheckpoint))
+        {
+            return false;
+        }
+
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(m_pathCheckpoint))
+        {
+            props.load(in);
+        }
+
+        if (!m_sInput.equals(props.getProperty(PROP_FILE))
+            || m_cbInput != Long.parseLong(props.getProperty(PROP_SIZE, "-1")))
+        {
+            return false;
+        }
+
+        m_ofPosition = Long.parseLong(props.getProperty(PROP_OFFSET));
+        m_cRecords   = Long.parseLong(props.getProperty(PROP_COUNT));
+        return true;
+    }
+
+    /**
+     * Save a new checkpoint, replacing the previous one.
+     *
+     * @param ofPosition  the offset just past the last acknowledged record
+     * @param cRecords    the number of records preceding the offset
+     *
+     * @throws UncheckedIOException on write error
+     */
+    public void save(long ofPosition, long cRecords)
+    {
+        Properties props = new Properties();
+        props.setProperty(PROP_FILE,   m_sInput);
+        props.setProperty(PROP_SIZE,   String.valueOf(m_cbInput));
+        props.setProperty(PROP_OFFSET, String.valueOf(ofPosition));
+        props.setProperty(PROP_COUNT,  String.valueOf(cRecords));
+
+        Path pathTemp = m_pathCheckpoint.resolveSibling(m_pathCheckpoint.getFileName() + ".tmp");
+        try
+        {
+            try (OutputStream out = Files.newOutputStream(pathTemp))
+            {
+                props.store(out, "LoaderExample checkpoint");
+            }
+            Files.move(pathTemp, m_pathCheckpoint,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("failed to save checkpoint " + m_pathCheckpoint, e);
+        }
+
+        m_ofPosition = ofPosition;
+        m_cRecords   = cRecords;
+    }
+
+    /**
+     * Remove the checkpoint once the load has completed.
+     *
+     * @throws IOException on delete error
+     */
+    public void delete()
+            throws IOException
+    {
+        Files.deleteIfExists(m_pathCheckpoint);
+    }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the offset just past the last acknowledged record.
+     *
+     * @return the checkpoint offset
+     */
+    public long getPosition()
+    {
+        return m_ofPosition;
+    }
+
+    /**
+     * Return the number of records preceding the checkpoint offset.
+     *
+     * @return the number of acknowledged records
+     */
+    public long getRecordCount()
+    {
+        return m_cRecords;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The property holding the canonical path of the input file.
+     */
+    private static final String PROP_FILE = "file";
+
+    /**
+     * The property holding the size of the input file.
+     */
+    private static final String PROP_SIZE = "size";
+
+    /**
+     * The property holding the checkpoint offset.
+     */
+    private static final String PROP_OFFSET = "offset";
+
+    /**
+     * The property holding the number of acknowledged records.
+     */
+    private static final String PROP_COUNT = "count";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The file holding the checkpoint.
+     */
+    private final Path m_pathCheckpoint;
+
+    /**
+     * The canonical path of the input file.
+     */
+    private final String m_sInput;
+
+    /**
+     * The size of the input file.
+     */
+    private final long m_cbInput;
+
+    /**
+     * The offset just past the last acknowledged record.
+     */
+    private long m_ofPosition;
+
+    /**
+     * The number of records preceding the checkpoint offset.
+     */
+    private long m_cRecords;
+}
@@ -10,19 +10,42 @@ import indi.tom.examples.pof.Address;
 import indi.tom.examples.pof.Contact;
 import indi.tom.examples.pof.ContactId;
 import indi.tom.examples.pof.PhoneNumber;
+import indi.tom.examples.pof.StringTable;
+import com.tangosol.net.CacheService;
 import com.tangosol.net.NamedCache;
+import com.tangosol.net.PartitionedService;
 import com.tangosol.net.Session;
+import com.tangosol.util.Base;
 
 import java.io.BufferedReader;
-import java.io.FileInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 
+import java.nio.channels.FileChannel;
+
+import java.nio.file.StandardOpenOption;
+
 import java.time.LocalDate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import java.util.function.IntConsumer;
 
 import static indi.tom.examples.contacts.ExamplesHelper.log;
 import static indi.tom.examples.contacts.ExamplesHelper.logHeader;
@@ -34,6 +57,10 @@ import static com.tangosol.net.cache.TypeAssertion.withoutTypeChecking;
  * Demonstrates the most effective way of inserting data into a cache using the
  * Map.putAll() method. This will allow for minimizing the number of network
  * roundtrips between the application and the cache.
+ * <p/>
+ * The delta mode sends a {@link DeltaProcessor} to the storage members, so
+ * every member must use the contacts-pof-config.xml resource, which
+ * registers it along with the contact types.
  *
  * @author dag  2009.02.20
  */
@@ -45,9 +72,30 @@ public class LoaderExample
      * Load contacts from a CSV file, then populate the cache with the data.
      * <p/>
      * The first argument is the name of the datafile to load. The second
-     * argument will be treated as the name of the cache to populate.
+     * argument will be treated as the name of the cache to populate. The
+     * optional third argument is the number of threads used to parse and
+     * insert the file; when greater than one the file is loaded by a
+     * {@link ParallelLoader}. The optional fourth argument is the maximum
+     * number of batches in flight; when positive the batches are inserted
+     * asynchronously. The optional fifth argument is the number of threads
+     * used to serialize the batches before they are inserted. The optional
+     * sixth argument is the name of a checkpoint file that makes the load
+     * resumable; a file loaded with a checkpoint is always loaded by a single
+     * thread. The optional seventh argument, when "true", selects a delta
+     * load that only writes new and changed contacts. The optional eighth
+     * argument, when "true", batches the contacts by the member that owns
+     * their partition.
+     * <p/>
+     * A file name ending with {@link SnapshotWriter#SUFFIX} is loaded as a
+     * binary snapshot by a {@link SnapshotLoader} using the specified number
+     * of threads; the write mode arguments do not apply to snapshots. A file
+     * name ending with {@link DecompressingInputStream#GZIP_SUFFIX} or
+     * {@link DecompressingInputStream#ZIP_SUFFIX} is decompressed while it is
+     * loaded, using the specified number of threads to inflate a blocked gzip
+     * file.
      * <p/>
-     * usage: [file name] [cache name]
+     * usage: [file name] [cache name] [thread count] [max in flight]
+     *        [serializer threads] [checkpoint file] [delta] [partition aware]
      *
      * @param asArg  command line arguments
      *
@@ -56,16 +104,50 @@ public class LoaderExample
     public static void main(String[] asArg)
             throws IOException
     {
-        String sFile  = asArg.length > 0 ? asArg[0] : Driver.DEFAULT_DATAFILE;
-        String sCache = asArg.length > 1 ? asArg[1] : CACHENAME;
+        String  sFile    = asArg.length > 0 ? asArg[0] : Driver.DEFAULT_DATAFILE;
+        String  sCache   = asArg.length > 1 ? asArg[1] : CACHENAME;
+        int     cThreads = asArg.length > 2 ? Integer.parseInt(asArg[2]) : 1;
+        int     cWindow  = asArg.length > 3 ? Integer.parseInt(asArg[3]) : 0;
+        int     cSerial  = asArg.length > 4 ? Integer.parseInt(asArg[4]) : 0;
+        String  sCkpt    = asArg.length > 5 ? asArg[5] : null;
+        boolean fDelta   = asArg.length > 6 && Boolean.parseBoolean(asArg[6]);
+        boolean fOwner   = asArg.length > 7 && Boolean.parseBoolean(asArg[7]);
 
         System.out.println("input file: " + sFile);
         System.out.println("cache name: " + sCache);
+        System.out.println("threads:    " + cThreads);
+        System.out.println("in flight:  " + cWindow);
+        System.out.println("serializer: " + cSerial);
+        System.out.println("checkpoint: " + sCkpt);
+        System.out.println("delta:      " + fDelta);
+        System.out.println("partitions: " + fOwner);
 
         try (Session session = Session.create())
         {
-            new LoaderExample().load(new FileInputStream(sFile),
-                    session.getCache(sCache, withoutTypeChecking()));
+            NamedCache<ContactId, Contact> cache  = session.getCache(sCache, withoutTypeChecking());
+            LoaderExample                  loader = new LoaderExample();
+
+            loader.setMaxInFlight(cWindow);
+            loader.setSerializerThreads(cSerial);
+            loader.setCheckpointFile(sCkpt == null ? null : new File(sCkpt));
+            loader.setDelta(fDelta);
+            loader.setPartitionAware(fOwner);
+            loader.setDecompressorThreads(Math.max(1, cThreads));
+            loader.getStatistics().register(sCache);
+
+            File file = new File(sFile);
+            if (sFile.endsWith(SnapshotWriter.SUFFIX))
+            {
+                new SnapshotLoader(loader, Math.max(1, cThreads)).load(file, cache);
+            }
+            else if (cThreads > 1 && sCkpt == null && !DecompressingInputStream.isCompressed(file))
+            {
+                new ParallelLoader(loader, cThreads).load(file, cache);
+            }
+            else
+            {
+                loader.load(file, cache);
+            }
         }
         catch (Exception e)
         {
@@ -85,38 +167,362 @@ public class LoaderExample
     public void load(InputStream in, NamedCache<ContactId, Contact> cache)
             throws IOException
     {
-        BufferedReader          reader    = new BufferedReader(new InputStreamReader(in));
-        Map<ContactId, Contact> mapBatch  = new HashMap<ContactId, Contact>(BATCH_SIZE);
-        int                     cContacts = 0;
-        Contact                 contact;
+        logHeader("LoaderExample begins");
+
+        BufferedReader reader    = new BufferedReader(new InputStreamReader(new CountingInputStream(in)));
+        int            cContacts = loadContacts(() -> readContact(reader), cache);
+
+        System.out.println("Added " + cContacts + " entries to cache");
+        printStatistics();
+        logHeader("LoaderExample completed");
+    }
+
+    /**
+     * Load contacts from the file and insert them into the cache.
+     * <p/>
+     * The file is memory-mapped and parsed in place by a
+     * {@link MappedContactReader}, avoiding the per-line and per-field garbage
+     * created by {@link #readContact(BufferedReader)}.
+     * <p/>
+     * A {@link DecompressingInputStream#isCompressed compressed} file is
+     * instead decompressed by a {@link DecompressingInputStream} while it is
+     * parsed, using the configured number of
+     * {@link #setDecompressorThreads decompressor threads}; checkpoints are
+     * not supported for compressed files.
+     * <p/>
+     * If a {@link #setCheckpointFile checkpoint file} is configured the load
+     * resumes from the checkpoint left by a previous, interrupted load of the
+     * same file, and periodically records its own progress in it. The
+     * checkpoint is removed once the load completes.
+     *
+     * @param file   file containing contacts
+     * @param cache  target cache
+     *
+     * @throws IOException on read error
+     */
+    public void load(File file, NamedCache<ContactId, Contact> cache)
+            throws IOException
+    {
+        if (DecompressingInputStream.isCompressed(file))
+        {
+            if (m_fileCheckpoint != null)
+            {
+                throw new IllegalStateException("checkpoints are not supported for compressed file " + file);
+            }
+            try (InputStream in = DecompressingInputStream.open(file, m_cDecompressorThreads))
+            {
+                load(in, cache);
+            }
+            return;
+        }
+
+        logHeader("LoaderExample begins");
+
+        long cContacts;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            if (m_fileCheckpoint == null)
+            {
+                cContacts = loadContacts(new MappedContactReader(channel), cache);
+            }
+            else
+            {
+                LoadCheckpoint checkpoint = new LoadCheckpoint(m_fileCheckpoint, file);
+                if (checkpoint.read())
+                {
+                    System.out.println("Resuming at offset " + checkpoint.getPosition()
+                            + " after " + checkpoint.getRecordCount() + " entries");
+                }
+
+                long                cPrior = checkpoint.getRecordCount();
+                MappedContactReader reader = new MappedContactReader(channel,
+                        checkpoint.getPosition(), channel.size());
+
+                cContacts = cPrior + loadContacts(reader, cache,
+                        c -> checkpoint.save(reader.getPosition(), cPrior + c));
+                checkpoint.delete();
+            }
+        }
+
+        System.out.println("Added " + cContacts + " entries to cache");
+        printStatistics();
+        logHeader("LoaderExample completed");
+    }
 
+    /**
+     * Load contacts from a spliterator, such as a {@link ContactSpliterator},
+     * and insert them into the cache.
+     * <p/>
+     * The spliterator is split into at most the specified number of parts,
+     * each consumed by its own thread, and contacts are only created as they
+     * are batched, so the memory used is proportional to the batch size
+     * rather than to the number of contacts.
+     *
+     * @param spliterator  the source of contacts
+     * @param cache        target cache
+     * @param cThreads     the number of threads
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException on read error
+     */
+    public long load(Spliterator<Contact> spliterator, NamedCache<ContactId, Contact> cache, int cThreads)
+            throws IOException
+    {
         logHeader("LoaderExample begins");
-        while ((contact = readContact(reader)) != null)
+
+        // split the largest part until there is one per thread
+        List<Spliterator<Contact>> listPart = new ArrayList<>();
+        listPart.add(spliterator);
+        while (listPart.size() < cThreads)
+        {
+            Spliterator<Contact> part = Collections.max(listPart,
+                    Comparator.comparingLong(Spliterator::estimateSize));
+            Spliterator<Contact> split = part.trySplit();
+            if (split == null)
+            {
+                break;
+            }
+            listPart.add(split);
+        }
+
+        long            cContacts = 0;
+        ExecutorService executor  = Executors.newFixedThreadPool(listPart.size());
+        try
+        {
+            List<Future<Integer>> listFuture = new ArrayList<>(listPart.size());
+            for (Spliterator<Contact> part : listPart)
+            {
+                listFuture.add(executor.submit(() -> loadContacts(ContactReader.of(part), cache)));
+            }
+            for (Future<Integer> future : listFuture)
+            {
+                cContacts += future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw Base.ensureRuntimeException(e, "interrupted while loading contacts");
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            throw Base.ensureRuntimeException(cause);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        System.out.println("Added " + cContacts + " entries to cache");
+        printStatistics();
+        logHeader("LoaderExample completed");
+
+        return cContacts;
+    }
+
+    /**
+     * Read all contacts from the reader and insert them into the cache in
+     * batches sized by the loader's {@link BatchSizer}. If the loader is
+     * {@link #isPartitionAware() partition-aware} the contacts are batched by
+     * the member owning them.
+     * <p/>
+     * The batches are written synchronously, asynchronously within a bounded
+     * window if {@link #setMaxInFlight a window} is configured, or serialized
+     * off-thread if {@link #setSerializerThreads serializer threads} are
+     * configured. In delta mode only new and changed contacts are written. In
+     * every case each batch has been acknowledged when the method returns.
+     * <p/>
+     * The time spent parsing, batching and writing is reported to the
+     * loader's {@link #getStatistics() statistics}.
+     * <p/>
+     * The method keeps no state outside of its own stack frame other than the
+     * thread safe BatchSizer and LoaderStatistics, so it may be called
+     * concurrently for independent readers against the same cache.
+     *
+     * @param reader  the reader from which to read contacts
+     * @param cache   target cache
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException on read error
+     */
+    public int loadContacts(ContactReader reader, NamedCache<ContactId, Contact> cache)
+            throws IOException
+    {
+        return loadContacts(reader, cache, null);
+    }
+
+    /**
+     * Read all contacts from the reader and insert them into the cache,
+     * pausing every {@link #getCheckpointInterval() checkpoint interval}
+     * records until all buffered contacts have been acknowledged and then
+     * notifying the listener.
+     *
+     * @param reader    the reader from which to read contacts
+     * @param cache     target cache
+     * @param listener  the listener to notify with the number of contacts
+     *                  acknowledged so far, or null
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException on read error
+     */
+    protected int loadContacts(ContactReader reader, NamedCache<ContactId, Contact> cache,
+            IntConsumer listener)
+            throws IOException
+    {
+        BatchBuffer buffer    = createBuffer(cache);
+        BatchWriter writer    = createWriter(cache);
+        StageTimer  timer     = new StageTimer(reader);
+        int         cContacts = 0;
+        Contact     contact;
+
+        while ((contact = reader.readContact()) != null)
         {
-            mapBatch.put(new ContactId(contact.getFirstName(),
+            timer.endParse();
+            BatchBuffer.Batch batch = buffer.add(new ContactId(contact.getFirstName(),
                     contact.getLastName()), contact);
             ++cContacts;
+            timer.endBatch();
 
-            // When reached the BATCH_SIZE threashold transfer the records to
-            // the cache.
-            if (cContacts % BATCH_SIZE == 0)
+            // When a batch reaches the batch size or byte threshold transfer
+            // the records to the cache.
+            if (batch != null)
             {
-                // minimize the network roundtrips by using putAll()
-                cache.putAll(mapBatch);
-                mapBatch.clear();
+                writer.write(batch);
+                timer.endWrite();
                 System.out.print('.');
                 System.out.flush();
             }
+
+            // at a checkpoint every contact read so far must be acknowledged
+            if (listener != null && cContacts % m_cCheckpointInterval == 0)
+            {
+                for (BatchBuffer.Batch batchRemain : buffer.drain())
+                {
+                    writer.write(batchRemain);
+                }
+                writer.flush();
+                timer.endWrite();
+                listener.accept(cContacts);
+            }
         }
+        timer.endParse();
 
-        // insert the final batch
-        if (!mapBatch.isEmpty())
+        // insert the final batches
+        for (BatchBuffer.Batch batch : buffer.drain())
         {
-            cache.putAll(mapBatch);
+            writer.write(batch);
         }
+        writer.flush();
+        timer.endWrite();
 
-        System.out.println("Added " + cContacts + " entries to cache");
-        logHeader("LoaderExample completed");
+        return cContacts;
+    }
+
+    /**
+     * Create the BatchBuffer used to accumulate contacts for the cache.
+     *
+     * @param cache  target cache
+     *
+     * @return a new BatchBuffer
+     */
+    protected BatchBuffer createBuffer(NamedCache<ContactId, Contact> cache)
+    {
+        CacheService service = cache.getCacheService();
+
+        return m_fPartitionAware && service instanceof PartitionedService
+               ? new BatchBuffer(m_sizer, (PartitionedService) service)
+               : new BatchBuffer(m_sizer);
+    }
+
+    /**
+     * Create the BatchWriter used to transfer batches to the cache.
+     *
+     * @param cache  target cache
+     *
+     * @return a new BatchWriter
+     */
+    protected BatchWriter createWriter(NamedCache<ContactId, Contact> cache)
+    {
+        if (m_fDelta)
+        {
+            return new DeltaBatchWriter(cache, m_sizer, m_stats, m_alDeltaCount);
+        }
+
+        if (m_cSerializerThreads > 0)
+        {
+            return new BinaryBatchWriter(cache, m_sizer, m_stats, ensureSerializerPool(),
+                    PENDING_PER_SERIALIZER * m_cSerializerThreads);
+        }
+
+        return m_cMaxInFlight > 0
+               ? new AsyncBatchWriter(cache, m_sizer, m_stats, m_cMaxInFlight)
+               : batch -> flush(cache, batch);
+    }
+
+    /**
+     * Return the pool used to serialize batches, creating it if necessary.
+     * The pool is shared by all concurrent loads performed by this loader.
+     *
+     * @return the serializer pool
+     */
+    protected synchronized ExecutorService ensureSerializerPool()
+    {
+        ExecutorService executor = m_executorSerializer;
+        if (executor == null)
+        {
+            AtomicInteger cThread = new AtomicInteger();
+
+            m_executorSerializer = executor = Executors.newFixedThreadPool(m_cSerializerThreads, runnable ->
+            {
+                Thread thread = new Thread(runnable, "LoaderSerializer-" + cThread.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Print the batch and stage statistics and, for a delta load, the number
+     * of inserted, updated and unchanged contacts.
+     */
+    protected void printStatistics()
+    {
+        System.out.println("Batches: " + m_sizer);
+        System.out.println("Stages:  " + m_stats);
+        if (m_fDelta)
+        {
+            System.out.println("Delta: inserted=" + getDeltaCount(DeltaProcessor.INSERTED)
+                    + ", updated="   + getDeltaCount(DeltaProcessor.UPDATED)
+                    + ", unchanged=" + getDeltaCount(DeltaProcessor.UNCHANGED));
+        }
+    }
+
+    /**
+     * Insert a batch of contacts into the cache, reporting the putAll()
+     * latency to the BatchSizer.
+     *
+     * @param cache  target cache
+     * @param batch  the batch of contacts
+     */
+    protected void flush(NamedCache<ContactId, Contact> cache, BatchBuffer.Batch batch)
+    {
+        long ldtStart = System.nanoTime();
+
+        // minimize the network roundtrips by using putAll()
+        cache.putAll(batch.getContacts());
+
+        long cNanos = System.nanoTime() - ldtStart;
+        m_sizer.update(batch.size(), batch.getBytes(), cNanos);
+        m_stats.recordPutAll(cNanos);
     }
 
     /**
@@ -139,7 +545,7 @@ public class LoaderExample
 
         String[] asPart     = sRecord.split(",");
         int      ofPart     = 0;
-        String   sFirstName = asPart[ofPart++];
+        String   sFirstName = canonical(asPart[ofPart++]);
         String   sLastName  = asPart[ofPart++];
         String[] asDate     = asPart[ofPart++].split("-");
 
@@ -149,23 +555,23 @@ public class LoaderExample
 
         Address                  addrHome   = new Address(
                 /*streetline1*/ asPart[ofPart++],
-                /*streetline2*/ asPart[ofPart++],
+                /*streetline2*/ canonical(asPart[ofPart++]),
                 /*city*/        asPart[ofPart++],
-                /*state*/       asPart[ofPart++],
+                /*state*/       canonical(asPart[ofPart++]),
                 /*zip*/         asPart[ofPart++],
-                /*country*/     asPart[ofPart++]);
+                /*country*/     canonical(asPart[ofPart++]));
         Address                  addrWork   = new Address(
-                /*streetline1*/ asPart[ofPart++],
-                /*streetline2*/ asPart[ofPart++],
-                /*city*/        asPart[ofPart++],
-                /*state*/       asPart[ofPart++],
+                /*streetline1*/ canonical(asPart[ofPart++]),
+                /*streetline2*/ canonical(asPart[ofPart++]),
+                /*city*/        canonical(asPart[ofPart++]),
+                /*state*/       canonical(asPart[ofPart++]),
                 /*zip*/         asPart[ofPart++],
-                /*country*/     asPart[ofPart++]);
+                /*country*/     canonical(asPart[ofPart++]));
         Map<String, PhoneNumber> mapTelNum  = new HashMap<String, PhoneNumber>();
 
         for (int c = asPart.length; ofPart < c; )
         {
-            mapTelNum.put(/*type*/ asPart[ofPart++],
+            mapTelNum.put(/*type*/ canonical(asPart[ofPart++]),
                     new PhoneNumber(
                             /*access code*/  Short.parseShort(asPart[ofPart++]),
                             /*country code*/ Short.parseShort(asPart[ofPart++]),
@@ -177,6 +583,387 @@ public class LoaderExample
                 addrWork, mapTelNum, dtBirth);
     }
 
+    /**
+     * Return the canonical instance of a low-cardinality field value.
+     *
+     * @param s  the field value
+     *
+     * @return an equal value from the shared StringTable
+     */
+    private static String canonical(String s)
+    {
+        return StringTable.SHARED.canonicalize(s);
+    }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the BatchSizer used to size the batches passed to putAll().
+     *
+     * @return the BatchSizer
+     */
+    public BatchSizer getBatchSizer()
+    {
+        return m_sizer;
+    }
+
+    /**
+     * Set the BatchSizer used to size the batches passed to putAll().
+     *
+     * @param sizer  the BatchSizer
+     */
+    public void setBatchSizer(BatchSizer sizer)
+    {
+        m_sizer = sizer;
+    }
+
+    /**
+     * Return the statistics gathered by this loader.
+     *
+     * @return the loader statistics
+     */
+    public LoaderStatistics getStatistics()
+    {
+        return m_stats;
+    }
+
+    /**
+     * Return true if contacts are batched by the member owning their
+     * partition.
+     *
+     * @return true if the loader is partition-aware
+     */
+    public boolean isPartitionAware()
+    {
+        return m_fPartitionAware;
+    }
+
+    /**
+     * Specify whether contacts are batched by the member owning their
+     * partition, so that each putAll() targets a single storage member. This
+     * has no effect for caches that are not backed by a partitioned service.
+     *
+     * @param fPartitionAware  true to batch contacts by partition owner
+     */
+    public void setPartitionAware(boolean fPartitionAware)
+    {
+        m_fPartitionAware = fPartitionAware;
+    }
+
+    /**
+     * Return the maximum number of batches in flight, or zero if every
+     * putAll() completes before the next batch is read.
+     *
+     * @return the maximum number of batches in flight
+     */
+    public int getMaxInFlight()
+    {
+        return m_cMaxInFlight;
+    }
+
+    /**
+     * Set the maximum number of batches in flight. A positive value makes the
+     * loader insert batches asynchronously, so parsing overlaps with network
+     * I/O; the loader blocks once the specified number of batches await
+     * acknowledgement. Zero (the default) inserts batches synchronously.
+     *
+     * @param cMaxInFlight  the maximum number of batches in flight
+     */
+    public void setMaxInFlight(int cMaxInFlight)
+    {
+        m_cMaxInFlight = cMaxInFlight;
+    }
+
+    /**
+     * Return the number of threads used to serialize batches, or zero if
+     * batches are serialized by putAll() on the loader thread.
+     *
+     * @return the number of serializer threads
+     */
+    public int getSerializerThreads()
+    {
+        return m_cSerializerThreads;
+    }
+
+    /**
+     * Set the number of threads used to serialize batches. A positive value
+     * makes the loader serialize keys and values to Binary on a worker pool
+     * and insert them through a pass-through view of the cache, so the loader
+     * thread only ships bytes; this takes precedence over the
+     * {@link #setMaxInFlight in-flight window}. Zero (the default) leaves the
+     * serialization to putAll().
+     * <p/>
+     * The value must be set before the first load.
+     *
+     * @param cThreads  the number of serializer threads
+     */
+    public void setSerializerThreads(int cThreads)
+    {
+        m_cSerializerThreads = cThreads;
+    }
+
+    /**
+     * Return the number of threads used to inflate a blocked gzip file.
+     *
+     * @return the number of decompressor threads
+     */
+    public int getDecompressorThreads()
+    {
+        return m_cDecompressorThreads;
+    }
+
+    /**
+     * Set the number of threads used to inflate a blocked gzip file. Other
+     * compressed files are always inflated by a single thread, pipelined with
+     * parsing.
+     *
+     * @param cThreads  the number of decompressor threads
+     */
+    public void setDecompressorThreads(int cThreads)
+    {
+        if (cThreads < 1)
+        {
+            throw new IllegalArgumentException("thread count must be positive: " + cThreads);
+        }
+        m_cDecompressorThreads = cThreads;
+    }
+
+    /**
+     * Return true if the loader only writes contacts that are new or differ
+     * from the stored ones.
+     *
+     * @return true if the loader performs delta loads
+     */
+    public boolean isDelta()
+    {
+        return m_fDelta;
+    }
+
+    /**
+     * Specify whether the loader only writes contacts that are new or differ
+     * from the stored ones, as determined by a {@link DeltaProcessor}. Delta
+     * writes are synchronous and take precedence over the other write modes.
+     *
+     * @param fDelta  true to perform delta loads
+     */
+    public void setDelta(boolean fDelta)
+    {
+        m_fDelta = fDelta;
+    }
+
+    /**
+     * Return the number of contacts with the specified delta result seen by
+     * this loader so far.
+     *
+     * @param nResult  one of the {@link DeltaProcessor} results
+     *
+     * @return the number of contacts
+     */
+    public long getDeltaCount(int nResult)
+    {
+        return m_alDeltaCount.get(nResult);
+    }
+
+    /**
+     * Return the file in which the progress of a file load is recorded, or
+     * null if loads are not resumable.
+     *
+     * @return the checkpoint file
+     */
+    public File getCheckpointFile()
+    {
+        return m_fileCheckpoint;
+    }
+
+    /**
+     * Set the file in which the progress of a file load is recorded, making
+     * single threaded file loads resumable. Null (the default) disables
+     * checkpointing.
+     *
+     * @param file  the checkpoint file
+     */
+    public void setCheckpointFile(File file)
+    {
+        m_fileCheckpoint = file;
+    }
+
+    /**
+     * Return the number of records between checkpoints.
+     *
+     * @return the checkpoint interval
+     */
+    public int getCheckpointInterval()
+    {
+        return m_cCheckpointInterval;
+    }
+
+    /**
+     * Set the number of records between checkpoints. Each checkpoint waits
+     * for all buffered records to be acknowledged, so a smaller interval
+     * loses less work on failure at the cost of shorter batches and pauses in
+     * the pipeline.
+     *
+     * @param cRecords  the checkpoint interval
+     */
+    public void setCheckpointInterval(int cRecords)
+    {
+        if (cRecords < 1)
+        {
+            throw new IllegalArgumentException("checkpoint interval must be positive: " + cRecords);
+        }
+        m_cCheckpointInterval = cRecords;
+    }
+
+    // ----- inner class: StageTimer ----------------------------------------
+
+    /**
+     * StageTimer attributes the time of a loader thread to the parse, batch
+     * and write stages, reporting it to the LoaderStatistics whenever a batch
+     * has been written so that nothing is shared per record.
+     */
+    protected class StageTimer
+    {
+        /**
+         * Construct a StageTimer.
+         *
+         * @param reader  the reader being loaded from
+         */
+        protected StageTimer(ContactReader reader)
+        {
+            m_reader     = reader instanceof MappedContactReader ? (MappedContactReader) reader : null;
+            m_ofPosition = m_reader == null ? 0L : m_reader.getPosition();
+            m_ldtLast    = System.nanoTime();
+        }
+
+        /**
+         * Mark the end of reading and parsing a record.
+         */
+        protected void endParse()
+        {
+            m_cNanosParse += elapsed();
+        }
+
+        /**
+         * Mark the end of adding a record to a batch.
+         */
+        protected void endBatch()
+        {
+            m_cNanosBatch += elapsed();
+            ++m_cRecords;
+        }
+
+        /**
+         * Mark the end of writing batches and report the accumulated time.
+         */
+        protected void endWrite()
+        {
+            long cNanosWrite = elapsed();
+
+            m_stats.recordProgress(m_cRecords, m_cNanosParse, m_cNanosBatch, cNanosWrite);
+            if (m_reader != null)
+            {
+                long ofPosition = m_reader.getPosition();
+                m_stats.recordBytes(ofPosition - m_ofPosition);
+                m_ofPosition = ofPosition;
+            }
+
+            m_cRecords    = 0L;
+            m_cNanosParse = 0L;
+            m_cNanosBatch = 0L;
+        }
+
+        /**
+         * Return the time since the previous mark.
+         *
+         * @return the elapsed time in nanoseconds
+         */
+        private long elapsed()
+        {
+            long ldtNow = System.nanoTime();
+            long cNanos = ldtNow - m_ldtLast;
+            m_ldtLast   = ldtNow;
+            return cNanos;
+        }
+
+        /**
+         * The mapped reader whose position measures the bytes consumed, or
+         * null.
+         */
+        private final MappedContactReader m_reader;
+
+        /**
+         * The reader position last reported.
+         */
+        private long m_ofPosition;
+
+        /**
+         * The time of the previous mark.
+         */
+        private long m_ldtLast;
+
+        /**
+         * The number of records not yet reported.
+         */
+        private long m_cRecords;
+
+        /**
+         * The parse time not yet reported.
+         */
+        private long m_cNanosParse;
+
+        /**
+         * The batch time not yet reported.
+         */
+        private long m_cNanosBatch;
+    }
+
+    // ----- inner class: CountingInputStream -------------------------------
+
+    /**
+     * CountingInputStream reports the bytes read from a stream to the
+     * LoaderStatistics.
+     */
+    protected class CountingInputStream
+            extends FilterInputStream
+    {
+        /**
+         * Construct a CountingInputStream.
+         *
+         * @param in  the underlying stream
+         */
+        protected CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int read()
+                throws IOException
+        {
+            int b = super.read();
+            if (b >= 0)
+            {
+                m_stats.recordBytes(1L);
+            }
+            return b;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int read(byte[] ab, int of, int cb)
+                throws IOException
+        {
+            int cbRead = super.read(ab, of, cb);
+            if (cbRead > 0)
+            {
+                m_stats.recordBytes(cbRead);
+            }
+            return cbRead;
+        }
+    }
 
     // ----- constants ------------------------------------------------------
 
@@ -186,7 +973,78 @@ public class LoaderExample
     public static final String CACHENAME = "contacts";
 
     /**
-     * The maximum number of contacts to load at a time.
+     * The initial number of contacts to load at a time.
+     */
+    static final int BATCH_SIZE = 1024;
+
+    /**
+     * The number of batches each serializer thread may have queued per
+     * loader thread.
+     */
+    private static final int PENDING_PER_SERIALIZER = 2;
+
+    /**
+     * The default number of records between checkpoints.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 256 * 1024;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The BatchSizer used to size the batches passed to putAll().
+     */
+    private BatchSizer m_sizer = new BatchSizer();
+
+    /**
+     * The statistics gathered by this loader.
+     */
+    private final LoaderStatistics m_stats = new LoaderStatistics();
+
+    /**
+     * True if contacts are batched by the member owning their partition.
+     */
+    private boolean m_fPartitionAware;
+
+    /**
+     * The maximum number of batches in flight, or zero for synchronous
+     * inserts.
+     */
+    private int m_cMaxInFlight;
+
+    /**
+     * The number of threads used to serialize batches, or zero to serialize
+     * them within putAll().
+     */
+    private int m_cSerializerThreads;
+
+    /**
+     * The pool used to serialize batches, created on first use.
+     */
+    private ExecutorService m_executorSerializer;
+
+    /**
+     * The number of threads used to inflate a blocked gzip file.
+     */
+    private int m_cDecompressorThreads = 1;
+
+    /**
+     * The file in which the progress of a file load is recorded, or null.
+     */
+    private File m_fileCheckpoint;
+
+    /**
+     * The number of records between checkpoints.
+     */
+    private int m_cCheckpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+    /**
+     * True if only new and changed contacts are written.
+     */
+    private boolean m_fDelta;
+
+    /**
+     * The number of inserted, updated and unchanged contacts, indexed by the
+     * DeltaProcessor results.
      */
-    private static final int BATCH_SIZE = 1024;
+    private final AtomicLongArray m_alDeltaCount = new AtomicLongArray(3);
 }
@@ -0,0 +1,418 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 18:20
+ * @Version 1.0
+ * @Description
+ */
+import java.lang.management.ManagementFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * LoaderStatistics gathers the per-stage timings, throughput and putAll()
+ * latency distribution of the LoaderExample.
+ * <p/>
+ * Loader threads accumulate their stage timings locally and report them once
+ * per batch, so the statistics add no contention per record. The putAll()
+ * latencies are kept in a log-linear histogram with eight sub-buckets per
+ * power of two, so a reported percentile is within 12.5% of the true value.
+ * <p/>
+ * LoaderStatistics is thread safe and may be shared by concurrent loaders.
+ *
+ * @author tom  2026.10.17
+ */
+public class LoaderStatistics
+        implements LoaderStatisticsMBean
+{
+    // ----- LoaderStatistics methods ---------------------------------------
+
+    /**
+     * Record the progress of a loader thread.
+     *
+     * @param cRecords     the number of records read
+     * @param cNanosParse  the time spent reading and parsing them
+     * @param cNanosBatch  the time spent adding them to batches
+     * @param cNanosWrite  the time spent blocked writing batches
+     */
+    public void recordProgress(long cRecords, long cNanosParse, long cNanosBatch, long cNanosWrite)
+    {
+        long ldtNow = System.nanoTime();
+        m_ldtFirst.compareAndSet(0L, ldtNow - cNanosParse - cNanosBatch - cNanosWrite);
+        m_ldtLast.accumulateAndGet(ldtNow, Math::max);
+
+        m_cRecords.add(cRecords);
+        m_cNanosParse.add(cNanosParse);
+        m_cNanosBatch.add(cNanosBatch);
+        m_cNanosWrite.add(cNanosWrite);
+    }
+
+    /**
+     * Record the consumption of input bytes.
+     *
+     * @param cb  the number of bytes
+     */
+    public void recordBytes(long cb)
+    {
+        m_cBytes.add(cb);
+    }
+
+    /**
+     * Record the time spent serializing a batch on a worker thread.
+     *
+     * @param cNanos  the serialization time in nanoseconds
+     */
+    public void recordSerialize(long cNanos)
+    {
+        m_cNanosSerialize.add(cNanos);
+    }
+
+    /**
+     * Record the latency of a putAll().
+     *
+     * @param cNanos  the latency in nanoseconds
+     */
+    public void recordPutAll(long cNanos)
+    {
+        cNanos = Math.max(0L, cNanos);
+        m_alHistogram.incrementAndGet(getBucket(cNanos));
+        m_cNanosMax.accumulateAndGet(cNanos, Math::max);
+        m_cBatches.increment();
+    }
+
+    /**
+     * Register the statistics with the platform MBean server.
+     *
+     * @param sName  the name distinguishing this loader, e.g. the cache name
+     *
+     * @return the name the MBean was registered under
+     *
+     * @throws JMException if the MBean cannot be registered
+     */
+    public ObjectName register(String sName)
+            throws JMException
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName  name   = new ObjectName(OBJECT_NAME + ObjectName.quote(sName));
+
+        if (server.isRegistered(name))
+        {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+        return name;
+    }
+
+    // ----- LoaderStatisticsMBean interface --------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getRecords()
+    {
+        return m_cRecords.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBytes()
+    {
+        return m_cBytes.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getElapsedMillis()
+    {
+        long ldtFirst = m_ldtFirst.get();
+        return ldtFirst == 0L ? 0L : (m_ldtLast.get() - ldtFirst) / 1000000L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getRecordsPerSecond()
+    {
+        return perSecond(getRecords());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getBytesPerSecond()
+    {
+        return perSecond(getBytes());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getParseMillis()
+    {
+        return m_cNanosParse.sum() / 1000000L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBatchMillis()
+    {
+        return m_cNanosBatch.sum() / 1000000L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getSerializeMillis()
+    {
+        return m_cNanosSerialize.sum() / 1000000L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getWriteMillis()
+    {
+        return m_cNanosWrite.sum() / 1000000L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBatches()
+    {
+        return m_cBatches.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getPutAllLatencyP50Millis()
+    {
+        return getPercentile(0.50) / 1000000.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getPutAllLatencyP99Millis()
+    {
+        return getPercentile(0.99) / 1000000.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getPutAllLatencyMaxMillis()
+    {
+        return m_cNanosMax.get() / 1000000.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void reset()
+    {
+        m_ldtFirst.set(0L);
+        m_ldtLast.set(0L);
+        m_cRecords.reset();
+        m_cBytes.reset();
+        m_cNanosParse.reset();
+        m_cNanosBatch.reset();
+        m_cNanosSerialize.reset();
+        m_cNanosWrite.reset();
+        m_cBatches.reset();
+        m_cNanosMax.set(0L);
+        for (int i = 0, c = m_alHistogram.length(); i < c; ++i)
+        {
+            m_alHistogram.set(i, 0L);
+        }
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return String.format("records=%d (%.0f/s), bytes=%d (%.1f MB/s), elapsed=%dms%n"
+                + "  stages: parse=%dms, batch=%dms, serialize=%dms, write=%dms%n"
+                + "  putAll: batches=%d, p50=%.2fms, p99=%.2fms, max=%.2fms",
+                getRecords(), getRecordsPerSecond(), getBytes(), getBytesPerSecond() / (1024 * 1024),
+                getElapsedMillis(), getParseMillis(), getBatchMillis(), getSerializeMillis(),
+                getWriteMillis(), getBatches(), getPutAllLatencyP50Millis(),
+                getPutAllLatencyP99Millis(), getPutAllLatencyMaxMillis());
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the rate per second of the specified count over the elapsed
+     * time.
+     *
+     * @param c  the count
+     *
+     * @return the rate per second
+     */
+    private double perSecond(long c)
+    {
+        long ldtFirst = m_ldtFirst.get();
+        long cNanos   = ldtFirst == 0L ? 0L : m_ldtLast.get() - ldtFirst;
+
+        return cNanos <= 0L ? 0.0 : c * 1e9 / cNanos;
+    }
+
+    /**
+     * Return the upper bound of the histogram bucket holding the specified
+     * percentile of the putAll() latencies.
+     *
+     * @param dflPercentile  the percentile, between 0 and 1
+     *
+     * @return the latency in nanoseconds
+     */
+    private long getPercentile(double dflPercentile)
+    {
+        AtomicLongArray al     = m_alHistogram;
+        int             c      = al.length();
+        long[]          ac     = new long[c];
+        long            cTotal = 0L;
+
+        for (int i = 0; i < c; ++i)
+        {
+            cTotal += ac[i] = al.get(i);
+        }
+        if (cTotal == 0L)
+        {
+            return 0L;
+        }
+
+        long cTarget = Math.max(1L, (long) Math.ceil(dflPercentile * cTotal));
+        for (int i = 0; i < c; ++i)
+        {
+            cTarget -= ac[i];
+            if (cTarget <= 0L)
+            {
+                return Math.min(getUpperBound(i), m_cNanosMax.get());
+            }
+        }
+        return m_cNanosMax.get();
+    }
+
+    /**
+     * Return the histogram bucket for the specified value.
+     *
+     * @param n  a non-negative value
+     *
+     * @return the bucket index
+     */
+    private static int getBucket(long n)
+    {
+        if (n < SUB_BUCKETS)
+        {
+            return (int) n;
+        }
+        int nExp = 63 - Long.numberOfLeadingZeros(n);
+        return (nExp - SUB_BITS + 1) * SUB_BUCKETS + (int) ((n >>> (nExp - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Return the largest value held by the specified histogram bucket.
+     *
+     * @param nBucket  the bucket index
+     *
+     * @return the upper bound of the bucket
+     */
+    private static long getUpperBound(int nBucket)
+    {
+        if (nBucket < SUB_BUCKETS)
+        {
+            return nBucket;
+        }
+        int nShift = nBucket / SUB_BUCKETS - 1;
+        return ((long) (SUB_BUCKETS + nBucket % SUB_BUCKETS + 1) << nShift) - 1;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The ObjectName prefix of the registered MBean.
+     */
+    public static final String OBJECT_NAME = "indi.tom.examples:type=LoaderStatistics,name=";
+
+    /**
+     * The number of bits selecting a sub-bucket within a power of two.
+     */
+    private static final int SUB_BITS = 3;
+
+    /**
+     * The number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The time at which the first record was read, or zero.
+     */
+    private final AtomicLong m_ldtFirst = new AtomicLong();
+
+    /**
+     * The time at which progress was most recently reported.
+     */
+    private final AtomicLong m_ldtLast = new AtomicLong();
+
+    /**
+     * The number of records read.
+     */
+    private final LongAdder m_cRecords = new LongAdder();
+
+    /**
+     * The number of input bytes consumed.
+     */
+    private final LongAdder m_cBytes = new LongAdder();
+
+    /**
+     * The time spent reading and parsing records.
+     */
+    private final LongAdder m_cNanosParse = new LongAdder();
+
+    /**
+     * The time spent adding records to batches.
+     */
+    private final LongAdder m_cNanosBatch = new LongAdder();
+
+    /**
+     * The time spent serializing batches on worker threads.
+     */
+    private final LongAdder m_cNanosSerialize = new LongAdder();
+
+    /**
+     * The time spent blocked writing batches.
+     */
+    private final LongAdder m_cNanosWrite = new LongAdder();
+
+    /**
+     * The number of acknowledged batches.
+     */
+    private final LongAdder m_cBatches = new LongAdder();
+
+    /**
+     * The maximum putAll() latency.
+     */
+    private final AtomicLong m_cNanosMax = new AtomicLong();
+
+    /**
+     * The putAll() latency histogram.
+     */
+    private final AtomicLongArray m_alHistogram = new AtomicLongArray((64 - SUB_BITS + 1) * SUB_BUCKETS);
+}
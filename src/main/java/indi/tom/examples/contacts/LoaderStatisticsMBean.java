@@ -0,0 +1,119 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 18:10
+ * @Version 1.0
+ * @Description
+ */
+
+/**
+ * LoaderStatisticsMBean exposes the statistics gathered by the LoaderExample
+ * over JMX.
+ * <p/>
+ * Stage times are summed over all loader threads, so for a parallel load
+ * they may exceed the elapsed time.
+ *
+ * @author tom  2026.10.17
+ */
+public interface LoaderStatisticsMBean
+{
+    /**
+     * Return the number of records read.
+     *
+     * @return the number of records
+     */
+    public long getRecords();
+
+    /**
+     * Return the number of input bytes consumed.
+     *
+     * @return the number of bytes
+     */
+    public long getBytes();
+
+    /**
+     * Return the time elapsed between the first and the most recent record.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis();
+
+    /**
+     * Return the average number of records read per second.
+     *
+     * @return the record rate
+     */
+    public double getRecordsPerSecond();
+
+    /**
+     * Return the average number of input bytes consumed per second.
+     *
+     * @return the byte rate
+     */
+    public double getBytesPerSecond();
+
+    /**
+     * Return the time spent reading and parsing records.
+     *
+     * @return the parse time in milliseconds
+     */
+    public long getParseMillis();
+
+    /**
+     * Return the time spent adding records to batches.
+     *
+     * @return the batch build time in milliseconds
+     */
+    public long getBatchMillis();
+
+    /**
+     * Return the time spent serializing batches on a worker pool; zero unless
+     * the loader pre-serializes batches.
+     *
+     * @return the serialization time in milliseconds
+     */
+    public long getSerializeMillis();
+
+    /**
+     * Return the time the loader threads spent blocked handing batches to the
+     * cache, including any serialization performed by putAll() and any wait
+     * for the in-flight window.
+     *
+     * @return the write time in milliseconds
+     */
+    public long getWriteMillis();
+
+    /**
+     * Return the number of batches acknowledged by the cache.
+     *
+     * @return the number of batches
+     */
+    public long getBatches();
+
+    /**
+     * Return the median putAll() latency.
+     *
+     * @return the 50th percentile latency in milliseconds
+     */
+    public double getPutAllLatencyP50Millis();
+
+    /**
+     * Return the 99th percentile putAll() latency.
+     *
+     * @return the 99th percentile latency in milliseconds
+     */
+    public double getPutAllLatencyP99Millis();
+
+    /**
+     * Return the maximum putAll() latency.
+     *
+     * @return the maximum latency in milliseconds
+     */
+    public double getPutAllLatencyMaxMillis();
+
+    /**
+     * Reset all statistics.
+     */
+    public void reset();
+}
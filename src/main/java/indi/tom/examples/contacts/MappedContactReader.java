@@ -0,0 +1,478 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 11:20
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Address;
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.PhoneNumber;
+import indi.tom.examples.pof.StringTable;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.StandardCharsets;
+
+import java.time.LocalDate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MappedContactReader parses contacts in the CSV format produced by the
+ * DataGenerator directly from a memory-mapped region of a file.
+ * <p/>
+ * Unlike {@link LoaderExample#readContact} the reader never materializes a
+ * line or splits it into intermediate Strings; numbers and dates are decoded
+ * in place from the mapped bytes and only the final String property values
+ * are created. Low-cardinality fields, such as state and country, are
+ * resolved through the {@link StringTable#SHARED shared StringTable}, so
+ * repeated values share one instance and are only decoded once. A large file
+ * is mapped in windows of at most {@link #WINDOW_SIZE} bytes, re-mapped at
+ * record boundaries as parsing proceeds.
+ * <p/>
+ * A MappedContactReader is not thread safe; concurrent readers should each
+ * be given a distinct region of the file.
+ *
+ * @author tom  2026.10.17
+ */
+public class MappedContactReader
+        implements ContactReader
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a MappedContactReader for the entire file.
+     *
+     * @param channel  the file to read
+     *
+     * @throws IOException on read error
+     */
+    public MappedContactReader(FileChannel channel)
+            throws IOException
+    {
+        this(channel, 0L, channel.size());
+    }
+
+    /**
+     * Construct a MappedContactReader for a region of the file. The region
+     * must start at the beginning of a record.
+     *
+     * @param channel  the file to read
+     * @param ofStart  the offset of the first record
+     * @param ofEnd    the offset just past the last record
+     */
+    public MappedContactReader(FileChannel channel, long ofStart, long ofEnd)
+    {
+        m_channel  = channel;
+        m_ofWindow = ofStart;
+        m_ofEnd    = ofEnd;
+    }
+
+    /**
+     * Construct a MappedContactReader over the remaining bytes of a buffer.
+     *
+     * @param buf  the buffer to read
+     */
+    public MappedContactReader(ByteBuffer buf)
+    {
+        m_channel  = null;
+        m_buf      = buf;
+        m_of       = buf.position();
+        m_ofWindow = 0L;
+        m_ofEnd    = buf.limit();
+    }
+
+    // ----- ContactReader interface ----------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public Contact readContact()
+            throws IOException
+    {
+        int ofEol;
+        while (true)
+        {
+            ofEol = findEndOfLine();
+            if (ofEol < 0)
+            {
+                return null;
+            }
+            if (ofEol > m_of && !(ofEol == m_of + 1 && m_buf.get(m_of) == '\r'))
+            {
+                break;
+            }
+            // skip blank line
+            m_of = ofEol + 1;
+        }
+
+        m_ofEol = m_buf.get(ofEol - 1) == '\r' ? ofEol - 1 : ofEol;
+        try
+        {
+            String    sFirstName = nextCanonicalString();
+            String    sLastName  = nextString();
+            LocalDate dtBirth    = nextDate();
+
+            Address addrHome = new Address(
+                    /*streetline1*/ nextString(),
+                    /*streetline2*/ nextCanonicalString(),
+                    /*city*/        nextString(),
+                    /*state*/       nextCanonicalString(),
+                    /*zip*/         nextString(),
+                    /*country*/     nextCanonicalString());
+            Address addrWork = new Address(
+                    /*streetline1*/ nextCanonicalString(),
+                    /*streetline2*/ nextCanonicalString(),
+                    /*city*/        nextCanonicalString(),
+                    /*state*/       nextCanonicalString(),
+                    /*zip*/         nextString(),
+                    /*country*/     nextCanonicalString());
+            Map<String, PhoneNumber> mapTelNum = new HashMap<String, PhoneNumber>();
+
+            // the record ends with a trailing separator, so the last phone
+            // number type is empty
+            while (m_of < m_ofEol)
+            {
+                String sType = nextCanonicalString();
+                if (sType.isEmpty() && m_of >= m_ofEol)
+                {
+                    break;
+                }
+                mapTelNum.put(sType,
+                        new PhoneNumber(
+                                /*access code*/  nextShort(),
+                                /*country code*/ nextShort(),
+                                /*area code*/    nextShort(),
+                                /*local num*/    nextLong()));
+            }
+
+            return new Contact(sFirstName, sLastName, addrHome,
+                    addrWork, mapTelNum, dtBirth);
+        }
+        finally
+        {
+            m_of = ofEol + 1;
+        }
+    }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the file offset of the next record to be read.
+     *
+     * @return the file offset of the next record
+     */
+    public long getPosition()
+    {
+        return m_ofWindow + m_of;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Locate the end of the current record, mapping the next window of the
+     * file if the record is not entirely contained in the current one.
+     *
+     * @return the buffer index of the line separator terminating the current
+     *         record (or the end of input if unterminated), or -1 if there
+     *         are no more records
+     *
+     * @throws IOException on read error
+     */
+    private int findEndOfLine()
+            throws IOException
+    {
+        ByteBuffer buf = m_buf;
+        if (buf != null)
+        {
+            int ofLimit = buf.limit();
+            for (int of = m_of; of < ofLimit; ++of)
+            {
+                if (buf.get(of) == '\n')
+                {
+                    return of;
+                }
+            }
+            if (m_channel == null || m_ofWindow + ofLimit >= m_ofEnd)
+            {
+                // the final record may lack a line separator
+                return m_of < ofLimit ? ofLimit : -1;
+            }
+        }
+
+        // map the next window starting at the current record
+        long ofFile = m_ofWindow + m_of;
+        if (ofFile >= m_ofEnd)
+        {
+            return -1;
+        }
+        long cb = Math.min(WINDOW_SIZE, m_ofEnd - ofFile);
+        if (buf != null && cb <= buf.limit() - m_of)
+        {
+            throw new IOException("record at offset " + ofFile
+                    + " exceeds the maximum window size");
+        }
+
+        m_buf      = m_channel.map(FileChannel.MapMode.READ_ONLY, ofFile, cb);
+        m_ofWindow = ofFile;
+        m_of       = 0;
+        return findEndOfLine();
+    }
+
+    /**
+     * Return the buffer index of the separator ending the current field.
+     *
+     * @return the index of the next ',' or the end of the record
+     */
+    private int endOfField()
+    {
+        ByteBuffer buf   = m_buf;
+        int        ofEol = m_ofEol;
+        int        of    = m_of;
+
+        while (of < ofEol && buf.get(of) != ',')
+        {
+            ++of;
+        }
+        return of;
+    }
+
+    /**
+     * Decode the next field as a String.
+     *
+     * @return the field value
+     */
+    private String nextString()
+    {
+        int ofStart = m_of;
+        int ofEnd   = endOfField();
+        int cb      = ofEnd - ofStart;
+
+        m_of = ofEnd + 1;
+        if (cb == 0)
+        {
+            return "";
+        }
+
+        byte[] ab = m_abScratch;
+        if (ab.length < cb)
+        {
+            ab = m_abScratch = new byte[Math.max(cb, ab.length * 2)];
+        }
+        ByteBuffer buf = m_buf;
+        for (int i = 0; i < cb; ++i)
+        {
+            ab[i] = buf.get(ofStart + i);
+        }
+        return new String(ab, 0, cb, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode the next field as a String, resolving it through the
+     * {@link StringTable#SHARED shared StringTable} so that a String is only
+     * created for values not already in the table.
+     *
+     * @return the canonical field value
+     */
+    private String nextCanonicalString()
+    {
+        int ofStart = m_of;
+        int ofEnd   = endOfField();
+
+        m_of = ofEnd + 1;
+        return StringTable.SHARED.canonicalize(m_buf, ofStart, ofEnd - ofStart);
+    }
+
+    /**
+     * Decode the next field as a decimal number.
+     *
+     * @return the field value
+     *
+     * @throws IOException if the field is not a number
+     */
+    private long nextLong()
+            throws IOException
+    {
+        int  ofEnd = endOfField();
+        long l     = parseDecimal(m_of, ofEnd, "number");
+
+        m_of = ofEnd + 1;
+        return l;
+    }
+
+    /**
+     * Decode the next field as a decimal number in the range of a short,
+     * rejecting the values that Short.parseShort would reject.
+     *
+     * @return the field value
+     *
+     * @throws IOException if the field is not a number or is out of range
+     */
+    private short nextShort()
+            throws IOException
+    {
+        int  ofEnd = endOfField();
+        long l     = parseDecimal(m_of, ofEnd, "number");
+
+        if (l < Short.MIN_VALUE || l > Short.MAX_VALUE)
+        {
+            throw malformed("number");
+        }
+
+        m_of = ofEnd + 1;
+        return (short) l;
+    }
+
+    /**
+     * Decode the next field as an ISO-8601 (yyyy-MM-dd) date.
+     *
+     * @return the field value
+     *
+     * @throws IOException if the field is not a date
+     */
+    private LocalDate nextDate()
+            throws IOException
+    {
+        int ofEnd   = endOfField();
+        int ofYear  = m_of;
+        int ofMonth = indexOf('-', ofYear, ofEnd) + 1;
+        int ofDay   = ofMonth == 0 ? 0 : indexOf('-', ofMonth, ofEnd) + 1;
+
+        if (ofDay == 0)
+        {
+            throw malformed("date");
+        }
+
+        LocalDate dt = LocalDate.of(
+                (int) parseDecimal(ofYear,  ofMonth - 1, "date"),
+                (int) parseDecimal(ofMonth, ofDay - 1,   "date"),
+                (int) parseDecimal(ofDay,   ofEnd,       "date"));
+
+        m_of = ofEnd + 1;
+        return dt;
+    }
+
+    /**
+     * Decode a decimal number from the specified range of the buffer.
+     *
+     * @param of     the index of the first byte
+     * @param ofEnd  the index just past the last byte
+     * @param sType  the field type, used when reporting a malformed value
+     *
+     * @return the decoded value
+     *
+     * @throws IOException if the range does not contain a number
+     */
+    private long parseDecimal(int of, int ofEnd, String sType)
+            throws IOException
+    {
+        ByteBuffer buf  = m_buf;
+        boolean    fNeg = of < ofEnd && buf.get(of) == '-';
+        long       l    = 0L;
+
+        if (fNeg)
+        {
+            ++of;
+        }
+        if (of >= ofEnd)
+        {
+            throw malformed(sType);
+        }
+        for (; of < ofEnd; ++of)
+        {
+            int nDigit = buf.get(of) - '0';
+            if (nDigit < 0 || nDigit > 9)
+            {
+                throw malformed(sType);
+            }
+            l = l * 10 + nDigit;
+        }
+        return fNeg ? -l : l;
+    }
+
+    /**
+     * Return the index of the first occurrence of a byte within the specified
+     * range of the buffer.
+     *
+     * @param b      the byte to find
+     * @param of     the index to start from
+     * @param ofEnd  the index just past the end of the range
+     *
+     * @return the index of the byte, or -1 if not found
+     */
+    private int indexOf(char b, int of, int ofEnd)
+    {
+        ByteBuffer buf = m_buf;
+        for (; of < ofEnd; ++of)
+        {
+            if (buf.get(of) == b)
+            {
+                return of;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Create an exception describing a malformed field at the current
+     * position.
+     *
+     * @param sType  the expected field type
+     *
+     * @return the exception to throw
+     */
+    private IOException malformed(String sType)
+    {
+        return new IOException("malformed " + sType + " at offset " + getPosition());
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum number of bytes mapped at a time.
+     */
+    public static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The file being read, or null if reading a caller-supplied buffer.
+     */
+    private final FileChannel m_channel;
+
+    /**
+     * The file offset just past the last record to read.
+     */
+    private final long m_ofEnd;
+
+    /**
+     * The file offset of the start of the current window.
+     */
+    private long m_ofWindow;
+
+    /**
+     * The currently mapped window.
+     */
+    private ByteBuffer m_buf;
+
+    /**
+     * The current buffer index.
+     */
+    private int m_of;
+
+    /**
+     * The buffer index of the end of the current record.
+     */
+    private int m_ofEol;
+
+    /**
+     * Scratch space used to decode Strings.
+     */
+    private byte[] m_abScratch = new byte[64];
+}
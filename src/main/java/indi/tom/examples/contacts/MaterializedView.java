@@ -0,0 +1,525 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 01:20
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.net.CacheFactory;
+import com.tangosol.net.NamedCache;
+import com.tangosol.net.cache.ContinuousQueryCache;
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapEvent;
+import com.tangosol.util.MultiplexingMapListener;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import java.io.IOException;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * MaterializedView keeps the entries matching a hot filter in local memory,
+ * so that repeatedly reading them costs no distributed query.
+ * <p/>
+ * The view is a {@link ContinuousQueryCache}: it runs the filter once to
+ * populate itself and then applies the events of the entries that enter,
+ * change within or leave the filter. It may hold the whole values or only
+ * the attributes returned by a projection extractor, such as a
+ * MultiExtractor, which is applied to the values on the storage members so
+ * that only the projected attributes are sent; it cannot be a KeyExtractor.
+ * <p/>
+ * Every value is stamped with the cluster time on the storage member when
+ * the event is raised, so the view measures the lag of every insert and
+ * update between the change and its arrival; the statistics are exposed by
+ * the {@link MaterializedViewMBean} interface and may be
+ * {@link #register registered} over JMX.
+ * <p/>
+ * Filters rewritten by {@link AgeFilters} are fixed to the date they were
+ * rewritten on, as no event is raised when a contact has a birthday; a view
+ * over such a filter should be recreated daily. The view must be
+ * {@link #close closed} to release its listeners.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the view values
+ *
+ * @author tom  2026.10.18
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class MaterializedView<K, V>
+        implements MaterializedViewMBean, AutoCloseable
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a MaterializedView holding whole values.
+     *
+     * @param cache   the cache to view
+     * @param filter  the filter that defines the view
+     */
+    public MaterializedView(NamedCache<K, V> cache, Filter<?> filter)
+    {
+        this(cache, filter, IdentityExtractor.INSTANCE);
+    }
+
+    /**
+     * Construct a MaterializedView holding the projected attributes of the
+     * values.
+     *
+     * @param cache       the cache to view
+     * @param filter      the filter that defines the view
+     * @param projection  the extractor applied to the values on the storage
+     *                    members
+     */
+    public MaterializedView(NamedCache<K, ?> cache, Filter<?> filter, ValueExtractor<?, ? extends V> projection)
+    {
+        m_filter = filter;
+        m_cqc    = new ContinuousQueryCache(cache, filter, /*fCacheValues*/ true,
+                new EventListener(), new StampingExtractor(projection));
+    }
+
+    // ----- MaterializedView methods ---------------------------------------
+
+    /**
+     * Return the value of an entry in the view.
+     *
+     * @param key  the key
+     *
+     * @return the value, or null if the entry is not in the view
+     */
+    public V get(K key)
+    {
+        return unstamp(m_cqc.get(key));
+    }
+
+    /**
+     * Return the values of the entries in the view.
+     *
+     * @param colKeys  the keys
+     *
+     * @return a new map of the keys in the view to their values
+     */
+    public Map<K, V> getAll(Collection<? extends K> colKeys)
+    {
+        Map<K, V> map = new HashMap<>();
+        for (K key : colKeys)
+        {
+            Object oStamped = m_cqc.get(key);
+            if (oStamped != null)
+            {
+                map.put(key, unstamp(oStamped));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Return the keys in the view.
+     *
+     * @return a new set of the keys
+     */
+    public Set<K> keySet()
+    {
+        return new HashSet<>(m_cqc.keySet());
+    }
+
+    /**
+     * Return the entries in the view.
+     *
+     * @return a new map of the keys to their values
+     */
+    public Map<K, V> toMap()
+    {
+        Map<K, V> map = new HashMap<>();
+        for (Map.Entry entry : (Set<Map.Entry>) m_cqc.entrySet())
+        {
+            map.put((K) entry.getKey(), unstamp(entry.getValue()));
+        }
+        return map;
+    }
+
+    /**
+     * Return the number of entries in the view.
+     *
+     * @return the number of entries
+     */
+    public int size()
+    {
+        return m_cqc.size();
+    }
+
+    /**
+     * Register the statistics with the platform MBean server.
+     *
+     * @param sName  the name distinguishing this view
+     *
+     * @return the name the MBean was registered under
+     *
+     * @throws JMException if the MBean cannot be registered
+     */
+    public ObjectName register(String sName)
+            throws JMException
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName  name   = new ObjectName(OBJECT_NAME + ObjectName.quote(sName));
+
+        if (server.isRegistered(name))
+        {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+        m_nameMBean = name;
+        return name;
+    }
+
+    // ----- AutoCloseable interface ----------------------------------------
+
+    /**
+     * Release the view and unregister its MBean, if any.
+     */
+    public void close()
+    {
+        m_cqc.release();
+
+        ObjectName name = m_nameMBean;
+        if (name != null)
+        {
+            m_nameMBean = null;
+            try
+            {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (server.isRegistered(name))
+                {
+                    server.unregisterMBean(name);
+                }
+            }
+            catch (JMException e)
+            {
+                throw new IllegalStateException("Failed to unregister " + name, e);
+            }
+        }
+    }
+
+    // ----- MaterializedViewMBean interface --------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getFilter()
+    {
+        return String.valueOf(m_filter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getSize()
+    {
+        return size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getEvents()
+    {
+        return m_cEvents.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMillisSinceLastEvent()
+    {
+        long ldtLast = m_ldtLastEvent.get();
+        return ldtLast == 0L ? -1L : Math.max(0L, getClusterTime() - ldtLast);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getLastEventLagMillis()
+    {
+        return m_cMillisLastLag.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getAverageEventLagMillis()
+    {
+        long cLags = m_cLags.sum();
+        return cLags == 0L ? 0.0 : (double) m_cMillisLag.sum() / cLags;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMaxEventLagMillis()
+    {
+        return m_cMillisMaxLag.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void reset()
+    {
+        m_cEvents.reset();
+        m_cLags.reset();
+        m_cMillisLag.reset();
+        m_cMillisLastLag.set(0L);
+        m_cMillisMaxLag.set(0L);
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return String.format("view=%s, size=%d, events=%d, lag: last=%dms, avg=%.2fms, max=%dms",
+                getFilter(), getSize(), getEvents(), getLastEventLagMillis(),
+                getAverageEventLagMillis(), getMaxEventLagMillis());
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the value held by a stamped value.
+     *
+     * @param oStamped  the stamped value, or null
+     *
+     * @return the value, or null
+     */
+    private V unstamp(Object oStamped)
+    {
+        return oStamped == null ? null : (V) ((List<?>) oStamped).get(VALUE);
+    }
+
+    /**
+     * Return the cluster time, which is synchronized across the members.
+     *
+     * @return the time in milliseconds
+     */
+    private static long getClusterTime()
+    {
+        return CacheFactory.getCluster().getTimeMillis();
+    }
+
+    // ----- inner class: EventListener -------------------------------------
+
+    /**
+     * EventListener records the events applied to the view.
+     */
+    private class EventListener
+            extends MultiplexingMapListener
+    {
+        /**
+         * {@inheritDoc}
+         */
+        protected void onMapEvent(MapEvent evt)
+        {
+            long ldtNow = getClusterTime();
+
+            m_cEvents.increment();
+            m_ldtLastEvent.set(ldtNow);
+
+            Object oStamped = evt.getNewValue();
+            if (evt.getId() != MapEvent.ENTRY_DELETED && oStamped instanceof List)
+            {
+                long cMillis = Math.max(0L, ldtNow - (Long) ((List<?>) oStamped).get(TIME));
+
+                m_cLags.increment();
+                m_cMillisLag.add(cMillis);
+                m_cMillisLastLag.set(cMillis);
+                m_cMillisMaxLag.accumulateAndGet(cMillis, Math::max);
+            }
+        }
+    }
+
+    // ----- inner class: StampingExtractor ---------------------------------
+
+    /**
+     * StampingExtractor applies the projection of the view on the storage
+     * members and pairs its result with the cluster time, as a list of the
+     * time and the value.
+     *
+     * @param <T>  the type of the value to extract from
+     */
+    public static class StampingExtractor<T>
+            implements ValueExtractor<T, List<Object>>, PortableObject
+    {
+        /**
+         * Default constructor (necessary for PortableObject implementation).
+         */
+        public StampingExtractor()
+        {
+        }
+
+        /**
+         * Construct a StampingExtractor.
+         *
+         * @param extractor  the projection of the view
+         */
+        public StampingExtractor(ValueExtractor<?, ?> extractor)
+        {
+            m_extractor = extractor;
+        }
+
+        // ----- ValueExtractor interface -----------------------------------
+
+        /**
+         * {@inheritDoc}
+         */
+        public List<Object> extract(T target)
+        {
+            return Arrays.asList(getClusterTime(), ((ValueExtractor<T, ?>) m_extractor).extract(target));
+        }
+
+        // ----- PortableObject interface -----------------------------------
+
+        /**
+         * {@inheritDoc}
+         */
+        public void readExternal(PofReader reader)
+                throws IOException
+        {
+            m_extractor = reader.readObject(EXTRACTOR);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void writeExternal(PofWriter writer)
+                throws IOException
+        {
+            writer.writeObject(EXTRACTOR, m_extractor);
+        }
+
+        // ----- Object methods ---------------------------------------------
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean equals(Object o)
+        {
+            return o instanceof StampingExtractor
+                   && m_extractor.equals(((StampingExtractor<?>) o).m_extractor);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int hashCode()
+        {
+            return m_extractor.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public String toString()
+        {
+            return "StampingExtractor(" + m_extractor + ")";
+        }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+         * The POF index for the extractor.
+         */
+        public static final int EXTRACTOR = 0;
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The projection of the view.
+         */
+        private ValueExtractor<?, ?> m_extractor;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The ObjectName prefix of the registered MBean.
+     */
+    public static final String OBJECT_NAME = "indi.tom.examples:type=MaterializedView,name=";
+
+    /**
+     * The position of the time in a stamped value.
+     */
+    private static final int TIME = 0;
+
+    /**
+     * The position of the value in a stamped value.
+     */
+    private static final int VALUE = 1;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The filter that defines the view.
+     */
+    private final Filter<?> m_filter;
+
+    /**
+     * The continuous query cache holding the stamped values.
+     */
+    private final ContinuousQueryCache m_cqc;
+
+    /**
+     * The name of the registered MBean, or null.
+     */
+    private volatile ObjectName m_nameMBean;
+
+    /**
+     * The number of events applied.
+     */
+    private final LongAdder m_cEvents = new LongAdder();
+
+    /**
+     * The number of inserts and updates whose lag was measured.
+     */
+    private final LongAdder m_cLags = new LongAdder();
+
+    /**
+     * The sum of the measured lags.
+     */
+    private final LongAdder m_cMillisLag = new LongAdder();
+
+    /**
+     * The most recent lag.
+     */
+    private final AtomicLong m_cMillisLastLag = new AtomicLong();
+
+    /**
+     * The maximum lag.
+     */
+    private final AtomicLong m_cMillisMaxLag = new AtomicLong();
+
+    /**
+     * The cluster time of the most recent event, or zero.
+     */
+    private final AtomicLong m_ldtLastEvent = new AtomicLong();
+}
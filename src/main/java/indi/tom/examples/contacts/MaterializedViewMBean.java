@@ -0,0 +1,73 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 01:20
+ * @Version 1.0
+ * @Description
+ */
+
+/**
+ * MaterializedViewMBean exposes the size and event statistics of a
+ * MaterializedView over JMX.
+ *
+ * @author tom  2026.10.18
+ */
+public interface MaterializedViewMBean
+{
+    /**
+     * Return the filter that defines the view.
+     *
+     * @return a description of the filter
+     */
+    public String getFilter();
+
+    /**
+     * Return the number of entries in the view.
+     *
+     * @return the number of entries
+     */
+    public int getSize();
+
+    /**
+     * Return the number of events applied to the view, including those of
+     * its initial population.
+     *
+     * @return the number of events
+     */
+    public long getEvents();
+
+    /**
+     * Return the time since the most recent event was applied.
+     *
+     * @return the time in milliseconds, or -1 if no event was applied
+     */
+    public long getMillisSinceLastEvent();
+
+    /**
+     * Return the lag of the most recent insert or update, between the change
+     * on the storage member and its arrival in the view.
+     *
+     * @return the lag in milliseconds
+     */
+    public long getLastEventLagMillis();
+
+    /**
+     * Return the average lag of inserts and updates.
+     *
+     * @return the lag in milliseconds
+     */
+    public double getAverageEventLagMillis();
+
+    /**
+     * Return the maximum lag of inserts and updates.
+     *
+     * @return the lag in milliseconds
+     */
+    public long getMaxEventLagMillis();
+
+    /**
+     * Reset the event statistics.
+     */
+    public void reset();
+}
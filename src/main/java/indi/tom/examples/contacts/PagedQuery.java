@@ -0,0 +1,202 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 22:20
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PagedQuery iterates over the entries matching a filter a page at a time.
+ * <p/>
+ * Unlike {@link NamedCache#entrySet(Filter)}, which returns every matching
+ * value at once, the query only retrieves the keys of the matching entries
+ * and then fetches their values with one getAll() per page as the iteration
+ * advances. At most one page of values is held by the client, and the first
+ * entries are available as soon as the first page has been fetched.
+ * <p/>
+ * The keys are evaluated when the iteration starts; an entry removed before
+ * its page is fetched is skipped, and an entry inserted afterwards is not
+ * returned.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.17
+ */
+public class PagedQuery<K, V>
+        implements Iterable<Map.Entry<K, V>>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a PagedQuery using the default page size.
+     *
+     * @param cache   the cache to query
+     * @param filter  the filter selecting the entries
+     */
+    public PagedQuery(NamedCache<K, V> cache, Filter<?> filter)
+    {
+        this(cache, filter, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Construct a PagedQuery.
+     *
+     * @param cache      the cache to query
+     * @param filter     the filter selecting the entries
+     * @param cPageSize  the maximum number of values fetched at a time
+     */
+    public PagedQuery(NamedCache<K, V> cache, Filter<?> filter, int cPageSize)
+    {
+        if (cPageSize < 1)
+        {
+            throw new IllegalArgumentException("page size must be positive: " + cPageSize);
+        }
+        m_cache     = cache;
+        m_filter    = filter;
+        m_cPageSize = cPageSize;
+    }
+
+    // ----- PagedQuery methods ---------------------------------------------
+
+    /**
+     * Return a sequential stream of the matching entries.
+     *
+     * @return a stream of the matching entries
+     */
+    public Stream<Map.Entry<K, V>> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Return the maximum number of values fetched at a time.
+     *
+     * @return the page size
+     */
+    public int getPageSize()
+    {
+        return m_cPageSize;
+    }
+
+    // ----- Iterable interface ---------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Every iterator runs the query anew.
+     */
+    public Iterator<Map.Entry<K, V>> iterator()
+    {
+        return new PageIterator(m_cache.keySet(m_filter).iterator());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator()
+    {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.NONNULL);
+    }
+
+    // ----- inner class: PageIterator --------------------------------------
+
+    /**
+     * PageIterator fetches the values of the matching keys a page at a time.
+     */
+    protected class PageIterator
+            implements Iterator<Map.Entry<K, V>>
+    {
+        /**
+         * Construct a PageIterator.
+         *
+         * @param iterKeys  the keys of the matching entries
+         */
+        protected PageIterator(Iterator<K> iterKeys)
+        {
+            m_iterKeys = iterKeys;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext()
+        {
+            // a page may be empty if all of its entries have been removed
+            while (!m_iterPage.hasNext() && m_iterKeys.hasNext())
+            {
+                List<K> listKeys = new ArrayList<>(m_cPageSize);
+                while (listKeys.size() < m_cPageSize && m_iterKeys.hasNext())
+                {
+                    listKeys.add(m_iterKeys.next());
+                }
+                m_iterPage = m_cache.getAll(listKeys).entrySet().iterator();
+            }
+            return m_iterPage.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Map.Entry<K, V> next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return m_iterPage.next();
+        }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The keys of the matching entries not yet fetched.
+         */
+        private final Iterator<K> m_iterKeys;
+
+        /**
+         * The entries of the current page.
+         */
+        private Iterator<Map.Entry<K, V>> m_iterPage = Collections.emptyIterator();
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The default maximum number of values fetched at a time.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1024;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The cache to query.
+     */
+    private final NamedCache<K, V> m_cache;
+
+    /**
+     * The filter selecting the entries.
+     */
+    private final Filter<?> m_filter;
+
+    /**
+     * The maximum number of values fetched at a time.
+     */
+    private final int m_cPageSize;
+}
@@ -0,0 +1,401 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 19:20
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.Base;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.nio.file.StandardOpenOption;
+
+import java.time.LocalDate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ParallelDataGenerator produces the same CSV format as the DataGenerator
+ * using a pool of worker threads.
+ * <p/>
+ * The rows are generated in chunks. Each chunk draws its random values from
+ * its own SplittableRandom, split from a root generator, and encodes its rows
+ * as ASCII straight into a private byte array. A chunk's file offset is the
+ * end offset of the previous chunk, which is published as soon as that chunk
+ * has been encoded, so the chunks are written concurrently to disjoint
+ * regions of the file through a FileChannel while the rows keep the order in
+ * which the chunks were created. Nothing is shared between workers other than
+ * those end offsets and the read-only {@link Workload}.
+ * <p/>
+ * The values are drawn from the distributions of the Workload, and the
+ * chunk generators are split from a root generator seeded by the Workload in
+ * chunk order, so a given seed, workload and row count always produce the
+ * same file regardless of the number of threads.
+ *
+ * @author tom  2026.10.17
+ */
+public class ParallelDataGenerator
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a ParallelDataGenerator using the default uniform
+     * distributions and a random seed.
+     *
+     * @param cThreads  the number of worker threads
+     */
+    public ParallelDataGenerator(int cThreads)
+    {
+        this(cThreads, new Workload().prepare());
+    }
+
+    /**
+     * Construct a ParallelDataGenerator.
+     *
+     * @param cThreads  the number of worker threads
+     * @param workload  the prepared seed and value distributions
+     */
+    public ParallelDataGenerator(int cThreads, Workload workload)
+    {
+        if (cThreads < 1)
+        {
+            throw new IllegalArgumentException("thread count must be positive: " + cThreads);
+        }
+        m_cThreads = cThreads;
+        m_workload = workload;
+    }
+
+    // ----- ParallelDataGenerator methods ----------------------------------
+
+    /**
+     * Generate the contacts and write them to a file, replacing any existing
+     * content.
+     *
+     * @param file       the file to write
+     * @param cContacts  the number of contacts to create
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void generate(File file, long cContacts)
+            throws IOException
+    {
+        int cChunks = (int) ((cContacts + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            ExecutorService               executor   = Executors.newFixedThreadPool(m_cThreads);
+            List<CompletableFuture<Long>> listEnd    = new ArrayList<>(cChunks);
+            List<Future<?>>               listTask   = new ArrayList<>(cChunks);
+            SplittableRandom              randRoot   = new SplittableRandom(m_workload.getSeed());
+            CompletableFuture<Long>       futurePrev = CompletableFuture.completedFuture(0L);
+
+            try
+            {
+                // chunks are submitted in order, so every chunk's predecessor
+                // is already being generated when the chunk starts
+                for (int i = 0; i < cChunks; ++i)
+                {
+                    long                    ofRow       = (long) i * ROWS_PER_CHUNK;
+                    int                     cRows       = (int) Math.min(ROWS_PER_CHUNK, cContacts - ofRow);
+                    SplittableRandom        rand        = randRoot.split();
+                    CompletableFuture<Long> futureStart = futurePrev;
+                    CompletableFuture<Long> futureEnd   = new CompletableFuture<>();
+
+                    listTask.add(executor.submit(() ->
+                    {
+                        generateChunk(channel, rand, cRows, futureStart, futureEnd);
+                        return null;
+                    }));
+                    listEnd.add(futureEnd);
+                    futurePrev = futureEnd;
+                }
+
+                for (Future<?> future : listTask)
+                {
+                    future.get();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw Base.ensureRuntimeException(e, "interrupted while generating " + file);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException)
+                {
+                    throw (IOException) cause;
+                }
+                throw Base.ensureRuntimeException(cause);
+            }
+            finally
+            {
+                // release any chunk still waiting for a failed predecessor
+                for (CompletableFuture<Long> future : listEnd)
+                {
+                    future.completeExceptionally(new IOException("generation aborted"));
+                }
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Generate a chunk of rows and write it to the file.
+     *
+     * @param channel      the file to write
+     * @param rand         the random number generator of the chunk
+     * @param cRows        the number of rows in the chunk
+     * @param futureStart  the file offset of the chunk
+     * @param futureEnd    the future to complete with the end offset of the
+     *                     chunk
+     *
+     * @throws IOException if the file cannot be written
+     */
+    protected void generateChunk(FileChannel channel, SplittableRandom rand, int cRows,
+            CompletableFuture<Long> futureStart, CompletableFuture<Long> futureEnd)
+            throws IOException
+    {
+        byte[]   ab        = new byte[cRows * MAX_ROW_SIZE];
+        byte[][] aabRecent = new byte[Workload.DUPLICATE_WINDOW][];
+        int      of        = 0;
+
+        try
+        {
+            for (int i = 0; i < cRows; ++i)
+            {
+                of = encodeRow(rand, ab, of, aabRecent, i);
+            }
+        }
+        catch (RuntimeException e)
+        {
+            futureEnd.completeExceptionally(e);
+            throw e;
+        }
+
+        long ofStart;
+        try
+        {
+            ofStart = futureStart.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            futureEnd.completeExceptionally(e);
+            throw Base.ensureRuntimeException(e);
+        }
+        catch (ExecutionException e)
+        {
+            futureEnd.completeExceptionally(e.getCause());
+            throw Base.ensureRuntimeException(e.getCause());
+        }
+        futureEnd.complete(ofStart + of);
+
+        ByteBuffer buf = ByteBuffer.wrap(ab, 0, of);
+        while (buf.hasRemaining())
+        {
+            ofStart += channel.write(buf, ofStart);
+        }
+    }
+
+    /**
+     * Encode a single random contact in the DataGenerator CSV format.
+     *
+     * @param rand       the random number generator
+     * @param ab         the array to encode into
+     * @param of         the offset to encode at
+     * @param aabRecent  the last names of the most recent rows of the chunk
+     * @param iRow       the index of the row within the chunk
+     *
+     * @return the offset just past the encoded row
+     */
+    protected int encodeRow(SplittableRandom rand, byte[] ab, int of, byte[][] aabRecent, int iRow)
+    {
+        Workload workload = m_workload;
+
+        // contact person, possibly repeating the key of a recent row
+        of = putAscii(ab, of, "John,");
+        of = putBytes(ab, of, workload.nextLastName(rand, aabRecent, iRow));
+        ab[of++] = ',';
+
+        // birth date
+        of = putDate(ab, of, LocalDate.ofEpochDay(workload.nextBirthDay(rand)));
+        ab[of++] = ',';
+
+        // home and work addresses
+        of = putDecimal(ab, of, rand.nextInt(999));
+        of = putAscii(ab, of, " Beacon St.,,");
+        of = putBytes(ab, of, workload.nextCity(rand));
+        ab[of++] = ',';
+        of = putAscii(ab, of, workload.nextState(rand));
+        ab[of++] = ',';
+        of = putDigits(ab, of, rand.nextInt(99999), 5);
+        of = putAscii(ab, of, ",US,Yoyodyne Propulsion Systems,330 Lectroid Rd.,Grover's Mill,");
+        of = putAscii(ab, of, workload.nextState(rand));
+        ab[of++] = ',';
+        of = putDigits(ab, of, rand.nextInt(99999), 5);
+        of = putAscii(ab, of, ",US,");
+
+        // home and work phone numbers
+        of = putAscii(ab, of, "home,");
+        of = putPhone(rand, ab, of);
+        of = putAscii(ab, of, ",work,");
+        of = putPhone(rand, ab, of);
+        ab[of++] = ',';
+        ab[of++] = '\n';
+
+        return of;
+    }
+
+    /**
+     * Encode an array of ASCII bytes.
+     *
+     * @param ab    the array to encode into
+     * @param of    the offset to encode at
+     * @param abIn  the bytes
+     *
+     * @return the offset just past the encoded value
+     */
+    private static int putBytes(byte[] ab, int of, byte[] abIn)
+    {
+        System.arraycopy(abIn, 0, ab, of, abIn.length);
+        return of + abIn.length;
+    }
+
+    /**
+     * Encode a random phone number as access, country and area code and
+     * local number.
+     *
+     * @param rand  the random number generator
+     * @param ab    the array to encode into
+     * @param of    the offset to encode at
+     *
+     * @return the offset just past the encoded value
+     */
+    private static int putPhone(SplittableRandom rand, byte[] ab, int of)
+    {
+        of = putAscii(ab, of, "11,");
+        of = putDecimal(ab, of, rand.nextInt(99));
+        ab[of++] = ',';
+        of = putDecimal(ab, of, rand.nextInt(999));
+        ab[of++] = ',';
+        return putDecimal(ab, of, rand.nextInt(9999999));
+    }
+
+    /**
+     * Encode a date as yyyy-MM-dd.
+     *
+     * @param ab  the array to encode into
+     * @param of  the offset to encode at
+     * @param dt  the date
+     *
+     * @return the offset just past the encoded value
+     */
+    private static int putDate(byte[] ab, int of, LocalDate dt)
+    {
+        of = putDigits(ab, of, dt.getYear(), 4);
+        ab[of++] = '-';
+        of = putDigits(ab, of, dt.getMonthValue(), 2);
+        ab[of++] = '-';
+        return putDigits(ab, of, dt.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Encode a non-negative number without leading zeros.
+     *
+     * @param ab  the array to encode into
+     * @param of  the offset to encode at
+     * @param n   the number
+     *
+     * @return the offset just past the encoded value
+     */
+    private static int putDecimal(byte[] ab, int of, int n)
+    {
+        int cDigits = 1;
+        for (int i = n; i >= 10; i /= 10)
+        {
+            ++cDigits;
+        }
+        return putDigits(ab, of, n, cDigits);
+    }
+
+    /**
+     * Encode a non-negative number as exactly the specified number of digits,
+     * padded with leading zeros.
+     *
+     * @param ab       the array to encode into
+     * @param of       the offset to encode at
+     * @param n        the number
+     * @param cDigits  the number of digits
+     *
+     * @return the offset just past the encoded value
+     */
+    private static int putDigits(byte[] ab, int of, int n, int cDigits)
+    {
+        for (int i = of + cDigits - 1; i >= of; --i, n /= 10)
+        {
+            ab[i] = (byte) ('0' + n % 10);
+        }
+        return of + cDigits;
+    }
+
+    /**
+     * Encode an ASCII String.
+     *
+     * @param ab  the array to encode into
+     * @param of  the offset to encode at
+     * @param s   the String
+     *
+     * @return the offset just past the encoded value
+     */
+    private static int putAscii(byte[] ab, int of, String s)
+    {
+        for (int i = 0, c = s.length(); i < c; ++i)
+        {
+            ab[of++] = (byte) s.charAt(i);
+        }
+        return of;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of rows generated per chunk.
+     */
+    public static final int ROWS_PER_CHUNK = 16 * 1024;
+
+    /**
+     * An upper bound of the size of an encoded row.
+     */
+    private static final int MAX_ROW_SIZE = 256;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of worker threads.
+     */
+    private final int m_cThreads;
+
+    /**
+     * The seed and value distributions.
+     */
+    private final Workload m_workload;
+}
@@ -0,0 +1,283 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 10:12
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Base;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static indi.tom.examples.contacts.ExamplesHelper.logHeader;
+
+/**
+ * ParallelLoader loads a contacts file into the cache using a pool of worker
+ * threads.
+ * <p/>
+ * The file is split into record-aligned chunks, i.e. every chunk starts at the
+ * beginning of a line and ends just after a line separator. Each chunk is
+ * parsed in place by a {@link MappedContactReader} on a worker which batches
+ * the contacts and inserts them using its own stream of putAll() calls, so the
+ * parse cost is spread across the cores and several requests are in flight
+ * against the cluster at any time.
+ *
+ * @author tom  2026.10.17
+ */
+public class ParallelLoader
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a ParallelLoader.
+     *
+     * @param loader    the loader used to parse and insert each chunk
+     * @param cThreads  the number of worker threads
+     */
+    public ParallelLoader(LoaderExample loader, int cThreads)
+    {
+        if (cThreads < 1)
+        {
+            throw new IllegalArgumentException("thread count must be positive: " + cThreads);
+        }
+        m_loader   = loader;
+        m_cThreads = cThreads;
+    }
+
+    // ----- ParallelLoader methods -----------------------------------------
+
+    /**
+     * Load contacts from the file and insert them into the cache.
+     *
+     * @param file   file containing contacts
+     * @param cache  target cache
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException on read error
+     */
+    public long load(File file, NamedCache<ContactId, Contact> cache)
+            throws IOException
+    {
+        logHeader("LoaderExample begins");
+
+        long cContacts = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long   cb       = channel.size();
+            int    cChunks  = (int) Math.max((long) m_cThreads * CHUNKS_PER_THREAD,
+                                             (cb + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+            long[] alOffset = split(channel, cChunks);
+
+            ExecutorService executor = Executors.newFixedThreadPool(m_cThreads, new WorkerFactory());
+            try
+            {
+                List<Future<Integer>> listFuture = new ArrayList<>(alOffset.length - 1);
+                for (int i = 0, c = alOffset.length - 1; i < c; ++i)
+                {
+                    long ofStart = alOffset[i];
+                    long ofEnd   = alOffset[i + 1];
+
+                    listFuture.add(executor.submit(() -> loadChunk(channel, ofStart, ofEnd, cache)));
+                }
+
+                for (Future<Integer> future : listFuture)
+                {
+                    cContacts += future.get();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw Base.ensureRuntimeException(e, "interrupted while loading " + file);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException)
+                {
+                    throw (IOException) cause;
+                }
+                throw Base.ensureRuntimeException(cause);
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        System.out.println("Added " + cContacts + " entries to cache");
+        m_loader.printStatistics();
+        logHeader("LoaderExample completed");
+
+        return cContacts;
+    }
+
+    /**
+     * Split the file into at most the specified number of chunks, moving every
+     * boundary forward to the start of the next record.
+     *
+     * @param channel  the file to split
+     * @param cChunks  the desired number of chunks
+     *
+     * @return the chunk boundaries; chunk i spans [a[i], a[i + 1])
+     *
+     * @throws IOException on read error
+     */
+    public static long[] split(FileChannel channel, int cChunks)
+            throws IOException
+    {
+        long       cb       = channel.size();
+        long       cbChunk  = Math.max(1, cb / cChunks);
+        long[]     alOffset = new long[cChunks + 1];
+        ByteBuffer buf      = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        int        c        = 1;
+
+        for (int i = 1; i < cChunks; ++i)
+        {
+            long of = nextRecord(channel, Math.max(i * cbChunk, alOffset[c - 1]), buf);
+            if (of >= cb)
+            {
+                break;
+            }
+            if (of > alOffset[c - 1])
+            {
+                alOffset[c++] = of;
+            }
+        }
+        alOffset[c++] = cb;
+
+        long[] al = new long[c];
+        System.arraycopy(alOffset, 0, al, 0, c);
+        return al;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the offset of the first record starting after the specified
+     * offset.
+     *
+     * @param channel  the file to scan
+     * @param of       the offset to scan from
+     * @param buf      a scratch buffer
+     *
+     * @return the offset just after the next line separator, or the file size
+     *
+     * @throws IOException on read error
+     */
+    private static long nextRecord(FileChannel channel, long of, ByteBuffer buf)
+            throws IOException
+    {
+        while (true)
+        {
+            buf.clear();
+            int cb = channel.read(buf, of);
+            if (cb <= 0)
+            {
+                return channel.size();
+            }
+            for (int i = 0; i < cb; ++i)
+            {
+                if (buf.get(i) == '\n')
+                {
+                    return of + i + 1;
+                }
+            }
+            of += cb;
+        }
+    }
+
+    /**
+     * Parse a single chunk of the file and insert its contacts into the cache.
+     *
+     * @param channel  the file being loaded
+     * @param ofStart  the offset of the first record in the chunk
+     * @param ofEnd    the offset just past the last record in the chunk
+     * @param cache    target cache
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException on read error
+     */
+    private int loadChunk(FileChannel channel, long ofStart, long ofEnd,
+            NamedCache<ContactId, Contact> cache)
+            throws IOException
+    {
+        return m_loader.loadContacts(new MappedContactReader(channel, ofStart, ofEnd), cache);
+    }
+
+    // ----- inner class: WorkerFactory -------------------------------------
+
+    /**
+     * ThreadFactory producing named daemon worker threads.
+     */
+    private static class WorkerFactory
+            implements ThreadFactory
+    {
+        /**
+         * {@inheritDoc}
+         */
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "ParallelLoader-" + m_cThread.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+        /**
+         * The number of threads created so far.
+         */
+        private final AtomicInteger m_cThread = new AtomicInteger();
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of chunks created per worker thread, allowing faster workers
+     * to pick up the slack of slower ones.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The maximum size of a chunk, bounding the imbalance between workers.
+     */
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The size of the buffer used to locate record boundaries.
+     */
+    private static final int SCAN_BUFFER_SIZE = 1024;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The loader used to parse and insert each chunk.
+     */
+    private final LoaderExample m_loader;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int m_cThreads;
+}
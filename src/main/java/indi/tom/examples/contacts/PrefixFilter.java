@@ -0,0 +1,186 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 23:40
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.QueryRecord;
+import com.tangosol.util.filter.ExtractorFilter;
+
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PrefixFilter selects the entries whose String attribute starts with a
+ * prefix; it is the equivalent of {@code like(extractor, prefix + "%")}.
+ * <p/>
+ * When the attribute has a {@link PrefixIndex}, added with an equal
+ * {@link PrefixIndexExtractor}, the filter is resolved entirely from the
+ * index and no entry is deserialized or evaluated. Without the index every
+ * entry is evaluated. The filter records its index lookup for the
+ * QueryRecorder.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.17
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PrefixFilter<K, V>
+        extends AbstractIndexFilter<K, V>
+        implements PortableObject
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public PrefixFilter()
+    {
+    }
+
+    /**
+     * Construct a PrefixFilter.
+     *
+     * @param extractor  the extractor of the attribute
+     * @param sPrefix    the prefix
+     */
+    public PrefixFilter(PrefixIndexExtractor<?> extractor, String sPrefix)
+    {
+        m_extractor = extractor;
+        m_sPrefix   = sPrefix;
+    }
+
+    // ----- IndexAwareFilter interface -------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluate(V o)
+    {
+        return matches(m_extractor.extract(o));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean evaluateEntry(Map.Entry entry)
+    {
+        return matches(InvocableMapHelper.extractFromEntry(m_extractor.getExtractor(), entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int calculateEffectiveness(Map mapIndexes, Set setKeys)
+    {
+        return mapIndexes.get(m_extractor) instanceof PrefixIndex
+               ? 1
+               : setKeys.size() * ExtractorFilter.EVAL_COST;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Filter applyIndex(Map mapIndexes, Set setKeys)
+    {
+        MapIndex index = (MapIndex) mapIndexes.get(m_extractor);
+        if (!(index instanceof PrefixIndex))
+        {
+            return this;
+        }
+
+        setKeys.retainAll(((PrefixIndex) index).getKeys(m_sPrefix));
+        return null;
+    }
+
+    // ----- AbstractIndexFilter methods ------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected void recordExtractors(QueryRecord.PartialResult.RecordableStep step)
+    {
+        step.recordExtractor(m_extractor);
+    }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader)
+            throws IOException
+    {
+        m_extractor = reader.readObject(EXTRACTOR);
+        m_sPrefix   = reader.readString(PREFIX);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer)
+            throws IOException
+    {
+        writer.writeObject(EXTRACTOR, m_extractor);
+        writer.writeString(PREFIX, m_sPrefix);
+    }
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString()
+    {
+        return "PrefixFilter(" + m_extractor + ", \"" + m_sPrefix + "\")";
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return true if the value starts with the prefix.
+     *
+     * @param oValue  the extracted value
+     *
+     * @return true if the value matches
+     */
+    private boolean matches(Object oValue)
+    {
+        return oValue instanceof String && ((String) oValue).startsWith(m_sPrefix);
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF index for the extractor.
+     */
+    public static final int EXTRACTOR = 0;
+
+    /**
+     * The POF index for the prefix.
+     */
+    public static final int PREFIX = 1;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The extractor of the attribute.
+     */
+    private PrefixIndexExtractor m_extractor;
+
+    /**
+     * The prefix.
+     */
+    private String m_sPrefix;
+}
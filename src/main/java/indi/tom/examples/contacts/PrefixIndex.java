@@ -0,0 +1,360 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 23:40
+ * @Version 1.0
+ * @Description
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PrefixIndex is a MapIndex over a String attribute that resolves prefix
+ * queries in time proportional to the length of the prefix and the number of
+ * matching keys.
+ * <p/>
+ * The distinct values are stored in a trie whose nodes keep their children
+ * in sorted arrays, and each node holds the keys of the entries whose value
+ * ends at that node. The keys matching a prefix are those held by the
+ * subtree below the node reached by the prefix, so they are collected
+ * without comparing or scanning any other value. Entries with a null value
+ * are not indexed.
+ * <p/>
+ * The index is created by a {@link PrefixIndexExtractor} and queried by a
+ * {@link PrefixFilter}. Updates and queries are serialized by the index
+ * monitor.
+ *
+ * @author tom  2026.10.17
+ */
+public class PrefixIndex
+        extends AbstractMapIndex<PrefixIndexExtractor<?>, String>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a PrefixIndex.
+     *
+     * @param extractor  the extractor that created the index
+     */
+    public PrefixIndex(PrefixIndexExtractor<?> extractor)
+    {
+        super(extractor);
+    }
+
+    // ----- PrefixIndex methods --------------------------------------------
+
+    /**
+     * Return the keys of the entries whose value starts with the prefix.
+     *
+     * @param sPrefix  the prefix
+     *
+     * @return a new set of the matching keys
+     */
+    public synchronized Set<Object> getKeys(String sPrefix)
+    {
+        Node node = m_nodeRoot;
+        for (int i = 0, c = sPrefix.length(); i < c && node != null; ++i)
+        {
+            node = node.getChild(sPrefix.charAt(i));
+        }
+
+        Set<Object> setKeys = new HashSet<>();
+        if (node != null)
+        {
+            node.collect(setKeys);
+        }
+        return setKeys;
+    }
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isOrdered()
+    {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Map<String, Set<Object>> getIndexContents()
+    {
+        return Collections.unmodifiableMap(new HashMap<>(m_mapInverse));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Object get(Object oKey)
+    {
+        return m_mapForward.containsKey(oKey) ? m_mapForward.get(oKey) : NO_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Comparator<String> getComparator()
+    {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void insert(Map.Entry<?, ?> entry)
+    {
+        add(getKey(entry), extract(entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void update(Map.Entry<?, ?> entry)
+    {
+        Object oKey = getKey(entry);
+        remove(oKey);
+        add(oKey, extract(entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void delete(Map.Entry<?, ?> entry)
+    {
+        remove(getKey(entry));
+    }
+
+    // ----- AbstractMapIndex methods ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    protected String extractFromEntry(Map.Entry<?, ?> entry)
+    {
+        return getIndexExtractor().extractFromEntry(entry);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Add a key to the index.
+     *
+     * @param oKey    the key
+     * @param oValue  the value of the entry, as returned by {@link #extract}
+     */
+    private void add(Object oKey, Object oValue)
+    {
+        if (oValue == null || oValue == NO_VALUE)
+        {
+            return;
+        }
+
+        String sValue = (String) oValue;
+
+        Node node = m_nodeRoot;
+        for (int i = 0, c = sValue.length(); i < c; ++i)
+        {
+            node = node.ensureChild(sValue.charAt(i));
+        }
+        if (node.m_setKeys == null)
+        {
+            node.m_setKeys = new HashSet<>();
+            m_mapInverse.put(sValue, node.m_setKeys);
+        }
+        node.m_setKeys.add(oKey);
+        m_mapForward.put(oKey, sValue);
+    }
+
+    /**
+     * Remove a key from the index.
+     *
+     * @param oKey  the key
+     */
+    private void remove(Object oKey)
+    {
+        String sValue = m_mapForward.remove(oKey);
+        if (sValue != null)
+        {
+            prune(m_nodeRoot, sValue, 0, oKey);
+        }
+    }
+
+    /**
+     * Remove a key from the subtree of a node, pruning the nodes left empty.
+     *
+     * @param node    the node
+     * @param sValue  the value of the entry
+     * @param of      the offset in the value of the node's children
+     * @param oKey    the key
+     *
+     * @return true if the node is left empty
+     */
+    private boolean prune(Node node, String sValue, int of, Object oKey)
+    {
+        if (of == sValue.length())
+        {
+            Set<Object> setKeys = node.m_setKeys;
+            if (setKeys != null && setKeys.remove(oKey) && setKeys.isEmpty())
+            {
+                node.m_setKeys = null;
+                m_mapInverse.remove(sValue);
+            }
+        }
+        else
+        {
+            char ch    = sValue.charAt(of);
+            Node child = node.getChild(ch);
+            if (child != null && prune(child, sValue, of + 1, oKey))
+            {
+                node.removeChild(ch);
+            }
+        }
+        return node.m_setKeys == null && node.m_cChildren == 0;
+    }
+
+    // ----- inner class: Node ----------------------------------------------
+
+    /**
+     * Node is a node of the trie.
+     */
+    private static class Node
+    {
+        /**
+         * Return the child for a character.
+         *
+         * @param ch  the character
+         *
+         * @return the child, or null
+         */
+        Node getChild(char ch)
+        {
+            int i = Arrays.binarySearch(m_achChild, 0, m_cChildren, ch);
+            return i >= 0 ? m_aChild[i] : null;
+        }
+
+        /**
+         * Return the child for a character, creating it if necessary.
+         *
+         * @param ch  the character
+         *
+         * @return the child
+         */
+        Node ensureChild(char ch)
+        {
+            int i = Arrays.binarySearch(m_achChild, 0, m_cChildren, ch);
+            if (i >= 0)
+            {
+                return m_aChild[i];
+            }
+
+            i = -i - 1;
+            int c = m_cChildren;
+            if (c == m_achChild.length)
+            {
+                int cNew = Math.max(2, c * 2);
+                m_achChild = Arrays.copyOf(m_achChild, cNew);
+                m_aChild   = Arrays.copyOf(m_aChild, cNew);
+            }
+            System.arraycopy(m_achChild, i, m_achChild, i + 1, c - i);
+            System.arraycopy(m_aChild, i, m_aChild, i + 1, c - i);
+
+            Node child = new Node();
+            m_achChild[i] = ch;
+            m_aChild[i]   = child;
+            m_cChildren   = c + 1;
+            return child;
+        }
+
+        /**
+         * Remove the child for a character.
+         *
+         * @param ch  the character
+         */
+        void removeChild(char ch)
+        {
+            int i = Arrays.binarySearch(m_achChild, 0, m_cChildren, ch);
+            if (i >= 0)
+            {
+                int c = --m_cChildren;
+                System.arraycopy(m_achChild, i + 1, m_achChild, i, c - i);
+                System.arraycopy(m_aChild, i + 1, m_aChild, i, c - i);
+                m_aChild[c] = null;
+            }
+        }
+
+        /**
+         * Add the keys held by this subtree to a set.
+         *
+         * @param setKeys  the set
+         */
+        void collect(Set<Object> setKeys)
+        {
+            if (m_setKeys != null)
+            {
+                setKeys.addAll(m_setKeys);
+            }
+            for (int i = 0; i < m_cChildren; ++i)
+            {
+                m_aChild[i].collect(setKeys);
+            }
+        }
+
+        /**
+         * The characters of the children, sorted.
+         */
+        char[] m_achChild = NO_CHARS;
+
+        /**
+         * The children, in the order of their characters.
+         */
+        Node[] m_aChild = NO_NODES;
+
+        /**
+         * The number of children.
+         */
+        int m_cChildren;
+
+        /**
+         * The keys of the entries whose value ends at this node, or null.
+         */
+        Set<Object> m_setKeys;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * An empty character array.
+     */
+    private static final char[] NO_CHARS = new char[0];
+
+    /**
+     * An empty node array.
+     */
+    private static final Node[] NO_NODES = new Node[0];
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The root of the trie, representing the empty prefix.
+     */
+    private final Node m_nodeRoot = new Node();
+
+    /**
+     * The indexed value of every key.
+     */
+    private final Map<Object, String> m_mapForward = new HashMap<>();
+
+    /**
+     * The keys of every distinct value; the sets are shared with the trie.
+     */
+    private final Map<String, Set<Object>> m_mapInverse = new HashMap<>();
+}
@@ -0,0 +1,90 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 23:40
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.ValueExtractor;
+
+import java.util.Map;
+
+/**
+ * PrefixIndexExtractor creates a {@link PrefixIndex} over the String
+ * attribute returned by another extractor, which may be a KeyExtractor.
+ * <p/>
+ * The index is added with {@code cache.addIndex(extractor, false, null)} and
+ * used by a {@link PrefixFilter} constructed with an equal extractor; the
+ * ordered and comparator arguments of addIndex are ignored.
+ *
+ * @param <T>  the type of the value to extract from
+ *
+ * @author tom  2026.10.17
+ */
+public class PrefixIndexExtractor<T>
+        extends AbstractIndexExtractor<T, String>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public PrefixIndexExtractor()
+    {
+    }
+
+    /**
+     * Construct a PrefixIndexExtractor.
+     *
+     * @param extractor  the extractor of the indexed attribute, applied to
+     *                   the key if it is a KeyExtractor
+     */
+    public PrefixIndexExtractor(ValueExtractor<?, String> extractor)
+    {
+        super(extractor);
+    }
+
+    // ----- PrefixIndexExtractor methods -----------------------------------
+
+    /**
+     * Return the extractor of the indexed attribute.
+     *
+     * @return the extractor
+     */
+    @SuppressWarnings("unchecked")
+    public ValueExtractor<?, String> getExtractor()
+    {
+        // the constructor only accepts an extractor of a String attribute
+        return (ValueExtractor<?, String>) getExtractor(0);
+    }
+
+    // ----- AbstractIndexExtractor methods ---------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public String extractFromEntry(Map.Entry<?, ?> entry)
+    {
+        return (String) extractFromEntry(getExtractor(0), entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected AbstractMapIndex<?, ?> instantiateIndex(Map<?, ?> mapIndex)
+    {
+        return new PrefixIndex(this);
+    }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public String extract(T target)
+    {
+        return ((ValueExtractor<T, String>) getExtractor(0)).extract(target);
+    }
+}
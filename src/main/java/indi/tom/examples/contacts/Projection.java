@@ -0,0 +1,112 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 22:40
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Filter;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.aggregator.ReducerAggregator;
+import com.tangosol.util.extractor.MultiExtractor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projection selects a fixed set of attributes of the entries matching a
+ * filter.
+ * <p/>
+ * The attributes are extracted by the storage members using a
+ * ReducerAggregator over a MultiExtractor, so only a short list of values
+ * per entry is serialized and sent to the client rather than the whole
+ * cached value. Key attributes are selected with a KeyExtractor, e.g.
+ * <pre>
+ *   new Projection&lt;ContactId, Contact&gt;(KeyExtractor.of(ContactId::getLastName),
+ *           QueryExample.HOME_CITY, AgeFilters.CURRENT_AGE)
+ * </pre>
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.17
+ */
+public class Projection<K, V>
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a Projection.
+     *
+     * @param aExtractor  the extractors of the selected attributes, in the
+     *                    order the values are returned
+     */
+    public Projection(ValueExtractor<?, ?>... aExtractor)
+    {
+        m_extractor = extractorOf(aExtractor);
+    }
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+     * Return a MultiExtractor of the specified attributes, typed as an
+     * extractor of the list of their values.
+     *
+     * @param aExtractor  the extractors of the attributes, in the order the
+     *                    values are returned
+     * @param <T>         the type of the value to extract from
+     *
+     * @return the extractor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ValueExtractor<T, List<Object>> extractorOf(ValueExtractor<?, ?>... aExtractor)
+    {
+        if (aExtractor.length == 0)
+        {
+            throw new IllegalArgumentException("at least one extractor is required");
+        }
+
+        // MultiExtractor is not generic; it returns a List of the values
+        return new MultiExtractor(aExtractor);
+    }
+
+    // ----- Projection methods ---------------------------------------------
+
+    /**
+     * Return the selected attributes of every entry matching the filter.
+     *
+     * @param cache   the cache to query
+     * @param filter  the filter selecting the entries
+     *
+     * @return the attribute values of each matching entry, keyed by the
+     *         entry key, in the order of the extractors
+     */
+    public Map<K, List<Object>> select(NamedCache<K, V> cache, Filter<?> filter)
+    {
+        return cache.aggregate(filter, new ReducerAggregator<K, V, V, List<Object>>(m_extractor));
+    }
+
+    /**
+     * Return the selected attributes of the entries with the specified keys.
+     *
+     * @param cache    the cache to query
+     * @param colKeys  the keys of the entries
+     *
+     * @return the attribute values of each present entry, keyed by the
+     *         entry key, in the order of the extractors
+     */
+    public Map<K, List<Object>> select(NamedCache<K, V> cache, Collection<? extends K> colKeys)
+    {
+        return cache.aggregate(colKeys, new ReducerAggregator<K, V, V, List<Object>>(m_extractor));
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The extractor of the selected attributes.
+     */
+    private final ValueExtractor<V, List<Object>> m_extractor;
+}
@@ -5,22 +5,24 @@ import indi.tom.examples.pof.Contact;
 import indi.tom.examples.pof.ContactId;
 import com.tangosol.net.NamedCache;
 
+import com.tangosol.util.Filter;
 import com.tangosol.util.ValueExtractor;
-import com.tangosol.util.aggregator.DoubleAverage;
-import com.tangosol.util.aggregator.LongMax;
-import com.tangosol.util.aggregator.LongMin;
+
+import com.tangosol.util.aggregator.QueryRecorder;
 
 import com.tangosol.util.extractor.KeyExtractor;
 
 import com.tangosol.util.filter.AlwaysFilter;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static indi.tom.examples.contacts.ExamplesHelper.logHeader;
 
 import static com.tangosol.util.Filters.equal;
 import static com.tangosol.util.Filters.greater;
-import static com.tangosol.util.Filters.like;
 import static com.tangosol.util.Filters.notEqual;
 
 /**
@@ -42,76 +44,249 @@ public class QueryExample
     {
         logHeader("QueryExample begins");
 
-        // define extractors using method references to re-use for indexes and filters
-        // Note: In versions prior to 12.2.1 this would be achieved by ChainedExtractors
-        ValueExtractor<Contact, String> veHomeCity  = ValueExtractor.of(Contact::getHomeAddress).andThen(Address::getCity);
-        ValueExtractor<Contact, String> veHomeState = ValueExtractor.of(Contact::getHomeAddress).andThen(Address::getState);
-        ValueExtractor<Contact, String> veWorkState = ValueExtractor.of(Contact::getWorkAddress).andThen(Address::getState);
+        addIndexes(cache);
 
-        // Add indexes to make queries more efficient
-        // Ordered index applied to fields used in range and like filter queries
-        cache.addIndex(KeyExtractor.of(ContactId::getLastName), /*fOrdered*/ true, /*comparator*/ null);
-        cache.addIndex(Contact::getAge, /*fOrdered*/ true,  /*comparator*/ null);
-        cache.addIndex(veHomeCity,      /*fOrdered*/ true,  /*comparator*/ null);
-        cache.addIndex(veHomeState,     /*fOrdered*/ false, /*comparator*/ null);
-        cache.addIndex(veWorkState,     /*fOrdered*/ false, /*comparator*/ null);
+        m_listReports.clear();
+        m_explainer = m_typeRecord == null ? null : new QueryExplainer(cache, m_typeRecord);
 
         // Find all contacts who live in Massachusetts
-        Set setResults = cache.entrySet(equal(veHomeCity, "MA"));
-        printResults("MA Residents", setResults);
+        printResults("MA Residents", cache, equal(HOME_CITY, "MA"));
 
         // Find all contacts who live in Massachusetts and work elsewhere
-        setResults = cache.entrySet(equal(veHomeState, "MA")
-                .and(notEqual(veWorkState, "MA")));
-        printResults("MA Residents, Work Elsewhere", setResults);
+        printResults("MA Residents, Work Elsewhere", cache,
+                BitmapFilter.<ContactId, Contact>equal(HOME_STATE_BITMAP, "MA")
+                        .and(BitmapFilter.notEqual(WORK_STATE_BITMAP, "MA")));
 
         // Find all contacts whose city name begins with 'S'
-        setResults = cache.entrySet(like(veHomeCity, "S%"));
-        printResults("City Begins with S", setResults);
+        printResults("City Begins with S", cache, new PrefixFilter<>(HOME_CITY_PREFIX, "S"));
 
         final int nAge = 58;
         // Find all contacts who are older than nAge
-        setResults = cache.entrySet(greater(Contact::getAge, nAge));
-        printResults("Age > " + nAge, setResults);
+        printResults("Age > " + nAge, cache, greater(Contact::getAge, nAge));
+
+        // Find all contacts who live in Massachusetts, work elsewhere and
+        // are older than nAge, resolved by a single probe of the composite
+        // index and the birth date index
+        printResults("MA Residents, Work Elsewhere, Age > " + nAge, cache, equal(HOME_STATE, "MA")
+                .and(notEqual(WORK_STATE, "MA")).and(greater(Contact::getAge, nAge)));
 
         // Find all contacts with last name beginning with 'S' that live
         // in Massachusetts. Uses both key and value in the query
-        setResults = cache.entrySet(like(KeyExtractor.of(ContactId::getLastName), "S%")
-                .and(equal(veHomeState, "MA")));
-        printResults("Last Name Begins with S and State Is MA", setResults);
+        printResults("Last Name Begins with S and State Is MA", cache,
+                new PrefixFilter<ContactId, Contact>(LAST_NAME_PREFIX, "S")
+                        .and(BitmapFilter.equal(HOME_STATE_BITMAP, "MA")));
+
+        // Find the name, city and age of all contacts who live in
+        // Massachusetts, returning only those attributes
+        Projection<ContactId, Contact> projection = new Projection<>(
+                KeyExtractor.of(ContactId::getLastName), HOME_CITY, AgeFilters.CURRENT_AGE);
+        System.out.println("Name, City and Age of MA Residents");
+        for (List<Object> listValues : projection.select(cache, BitmapFilter.equal(HOME_STATE_BITMAP, "MA")).values())
+        {
+            System.out.println(listValues);
+        }
 
         // Count contacts who are older than nAge for the entire cache dataset
-        long cCount = cache.stream(greater(Contact::getAge, nAge)).count();
+        Filter<Contact> filterAge = AgeFilters.rewrite(greater(Contact::getAge, nAge));
+        explain("count > " + nAge, filterAge);
+        long cCount = cache.stream(filterAge).count();
         System.out.println("count > " + nAge + ": " + cCount);
 
-        // Find minimum age for the entire cache dataset.
-        System.out.println("min age: " + cache.aggregate(AlwaysFilter.INSTANCE,
-                new LongMin<Contact>(Contact::getAge)));
+        // Find the minimum, average and maximum age, and the distribution
+        // of ages by decade, for the entire cache dataset in a single pass;
+        // the ages are calculated from the birth dates, like the filters
+        StatisticsAggregator.Statistics stats = cache.aggregate(AlwaysFilter.INSTANCE,
+                new StatisticsAggregator<ContactId, Contact>(AgeFilters.CURRENT_AGE, 10, 12));
+        System.out.println("min age: " + stats.getMin());
+        System.out.println("avg age: " + stats.getMean());
+        System.out.println("max age: " + stats.getMax());
+        System.out.println("ages:    " + stats);
 
-        // Calculate average age for the entire cache dataset.
-        System.out.println("avg age: " + cache.aggregate(AlwaysFilter.INSTANCE,
-                new DoubleAverage<Contact>(Contact::getAge)));
-
-        // Find maximum age for the entire cache dataset.
-        System.out.println("max age: " + cache.aggregate(AlwaysFilter.INSTANCE,
-                new LongMax<Contact>(Contact::getAge)));
+        // Keep the results of the hot queries in local views maintained by
+        // cache events, so repeated reads cost no distributed query; the
+        // age view holds only the name, city and age of each contact
+        try (MaterializedView<ContactId, Contact> viewState =
+                     new MaterializedView<>(cache, BitmapFilter.equal(HOME_STATE_BITMAP, "MA"));
+             MaterializedView<ContactId, List<Object>> viewAge =
+                     new MaterializedView<>(cache, filterAge, Projection.<Contact>extractorOf(
+                             ValueExtractor.of(Contact::getLastName), HOME_CITY, AgeFilters.CURRENT_AGE)))
+        {
+            System.out.println("MA Residents (view): " + viewState.size());
+            System.out.println("Age > " + nAge + " (view): " + viewAge.size());
+            System.out.println(viewState);
+            System.out.println(viewAge);
+        }
 
         logHeader("QueryExample completed");
     }
 
     /**
-     * Print results of the query
+     * Return the type of query record collected for every query, or null if
+     * the queries are not recorded.
      *
-     * @param sTitle     the title that describes the results
+     * @return explain, trace or null
+     */
+    public QueryRecorder.RecordType getQueryRecordType()
+    {
+        return m_typeRecord;
+    }
+
+    /**
+     * Specify whether every query is first run through the QueryRecorder,
+     * and whether its resolution is explained or traced. Each report is
+     * printed, and is available from {@link #getReports()} after
+     * {@link #query} returns.
+     *
+     * @param type  explain, trace, or null to not record the queries
+     */
+    public void setQueryRecordType(QueryRecorder.RecordType type)
+    {
+        m_typeRecord = type;
+    }
+
+    /**
+     * Return the reports of the queries recorded by the last call to
+     * {@link #query}.
      *
-     * @param setResults a set of query results
+     * @return the reports, in query order
      */
-    private void printResults(String sTitle, Set setResults)
+    public List<QueryExplainer.Report> getReports()
     {
+        return Collections.unmodifiableList(m_listReports);
+    }
+
+    /**
+     * Add the indexes used by the queries to the cache.
+     *
+     * @param cache cache to index
+     */
+    public void addIndexes(NamedCache<ContactId, Contact> cache)
+    {
+        // Add indexes to make queries more efficient
+        // Ordered index applied to fields used in range filter queries
+        // Age filters are rewritten as birth date ranges by AgeFilters, as the
+        // stored age is not updated on birthdays
+        cache.addIndex(AgeFilters.BIRTH_DATE, /*fOrdered*/ true,  /*comparator*/ null);
+        cache.addIndex(HOME_CITY,             /*fOrdered*/ true,  /*comparator*/ null);
+
+        // Bitmap indexes hold the few distinct states as compressed bitmaps,
+        // combined by BitmapFilter without building key sets
+        cache.addIndex(HOME_STATE_BITMAP, /*fOrdered*/ false, /*comparator*/ null);
+        cache.addIndex(WORK_STATE_BITMAP, /*fOrdered*/ false, /*comparator*/ null);
+
+        // A composite index answers conjunctions of the home and work states
+        // with a single probe; printResults rewrites them to use it, while
+        // the bitmap indexes above serve the BitmapFilter queries
+        cache.addIndex(HOME_AND_WORK_STATE, /*fOrdered*/ false, /*comparator*/ null);
+
+        // Prefix indexes resolve the "begins with" queries from a trie
+        cache.addIndex(HOME_CITY_PREFIX, /*fOrdered*/ false, /*comparator*/ null);
+        cache.addIndex(LAST_NAME_PREFIX, /*fOrdered*/ false, /*comparator*/ null);
+    }
+
+    /**
+     * Print results of the query, fetching them a page at a time so that
+     * broad queries do not pull the whole result set into memory
+     *
+     * @param sTitle  the title that describes the results
+     * @param cache   cache to query
+     * @param filter  the query
+     */
+    private void printResults(String sTitle, NamedCache<ContactId, Contact> cache, Filter<?> filter)
+    {
+        filter = CompositeFilter.prefer(AgeFilters.rewrite(filter), HOME_AND_WORK_STATE);
+        explain(sTitle, filter);
+
         System.out.println(sTitle);
-        for (Object setResult : setResults)
+        for (Map.Entry<ContactId, Contact> entry : new PagedQuery<>(cache, filter))
         {
-            System.out.println(setResult);
+            System.out.println(entry);
         }
     }
+
+    /**
+     * Record and print how the query is resolved, if queries are recorded
+     *
+     * @param sTitle  the title that describes the query
+     * @param filter  the query
+     */
+    private void explain(String sTitle, Filter<?> filter)
+    {
+        QueryExplainer explainer = m_explainer;
+        if (explainer != null)
+        {
+            QueryExplainer.Report report = explainer.explain(sTitle, filter);
+            m_listReports.add(report);
+            System.out.println(report);
+        }
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    // define extractors using method references to re-use for indexes and filters
+    // Note: In versions prior to 12.2.1 this would be achieved by ChainedExtractors
+
+    /**
+     * Extractor for the city of the home address.
+     */
+    public static final ValueExtractor<Contact, String> HOME_CITY =
+            ValueExtractor.of(Contact::getHomeAddress).andThen(Address::getCity);
+
+    /**
+     * Extractor for the state of the home address.
+     */
+    public static final ValueExtractor<Contact, String> HOME_STATE =
+            ValueExtractor.of(Contact::getHomeAddress).andThen(Address::getState);
+
+    /**
+     * Extractor for the state of the work address.
+     */
+    public static final ValueExtractor<Contact, String> WORK_STATE =
+            ValueExtractor.of(Contact::getWorkAddress).andThen(Address::getState);
+
+    /**
+     * Bitmap index extractor for the state of the home address.
+     */
+    public static final BitmapIndexExtractor<Contact> HOME_STATE_BITMAP = new BitmapIndexExtractor<>(HOME_STATE);
+
+    /**
+     * Bitmap index extractor for the state of the work address.
+     */
+    public static final BitmapIndexExtractor<Contact> WORK_STATE_BITMAP = new BitmapIndexExtractor<>(WORK_STATE);
+
+    /**
+     * Composite index extractor for the home and work states; a birth date
+     * condition stays a residual filter, served by the ordered birth date
+     * index.
+     */
+    public static final CompositeIndexExtractor<Contact> HOME_AND_WORK_STATE =
+            new CompositeIndexExtractor<>(HOME_STATE, WORK_STATE);
+
+    /**
+     * Prefix index extractor for the city of the home address.
+     */
+    public static final PrefixIndexExtractor<Contact> HOME_CITY_PREFIX = new PrefixIndexExtractor<>(HOME_CITY);
+
+    /**
+     * Prefix index extractor for the last name in the key.
+     */
+    public static final PrefixIndexExtractor<Contact> LAST_NAME_PREFIX =
+            new PrefixIndexExtractor<>(KeyExtractor.of(ContactId::getLastName));
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The type of query record collected for every query, or null.
+     */
+    private QueryRecorder.RecordType m_typeRecord;
+
+    /**
+     * The explainer of the current call to query, or null.
+     */
+    private QueryExplainer m_explainer;
+
+    /**
+     * The reports of the queries recorded by the last call to query.
+     */
+    private final List<QueryExplainer.Report> m_listReports = new ArrayList<>();
 }
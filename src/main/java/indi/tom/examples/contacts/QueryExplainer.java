@@ -0,0 +1,289 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 00:10
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Filter;
+import com.tangosol.util.QueryRecord;
+import com.tangosol.util.aggregator.QueryRecorder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * QueryExplainer runs filters through the QueryRecorder of a cache and
+ * reports how each one was resolved.
+ * <p/>
+ * In {@link QueryRecorder.RecordType#EXPLAIN explain} mode the storage
+ * members only estimate the cost of every step of the filter; in
+ * {@link QueryRecorder.RecordType#TRACE trace} mode they run the query and
+ * record, per step and per partial result (i.e. per member), the index
+ * lookups, the size of the candidate key set before and after the step and
+ * the time spent. A leaf step that found no index for any of its extractors
+ * is resolved by deserializing and evaluating every candidate entry; such
+ * steps are reported as {@link Report#getUnindexedSteps() unindexed}, so a
+ * regression test can assert that a query stays fully indexed.
+ *
+ * @author tom  2026.10.18
+ */
+public class QueryExplainer
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a QueryExplainer.
+     *
+     * @param cache  the cache to query
+     * @param type   the record type, explain or trace
+     */
+    public QueryExplainer(NamedCache<?, ?> cache, QueryRecorder.RecordType type)
+    {
+        m_cache = cache;
+        m_type  = type;
+    }
+
+    // ----- QueryExplainer methods -----------------------------------------
+
+    /**
+     * Record how the filter is resolved.
+     *
+     * @param sTitle  the title that describes the query
+     * @param filter  the filter
+     *
+     * @return the report
+     */
+    public Report explain(String sTitle, Filter<?> filter)
+    {
+        QueryRecord record = m_cache.aggregate(filter, new QueryRecorder<>(m_type));
+        return new Report(sTitle, filter, record);
+    }
+
+    /**
+     * Return the record type.
+     *
+     * @return explain or trace
+     */
+    public QueryRecorder.RecordType getType()
+    {
+        return m_type;
+    }
+
+    // ----- inner class: Report --------------------------------------------
+
+    /**
+     * Report is the outcome of recording a single filter.
+     */
+    public static class Report
+    {
+        /**
+         * Construct a Report.
+         *
+         * @param sTitle  the title that describes the query
+         * @param filter  the filter
+         * @param record  the record returned by the QueryRecorder
+         */
+        protected Report(String sTitle, Filter<?> filter, QueryRecord record)
+        {
+            m_sTitle = sTitle;
+            m_filter = filter;
+            m_record = record;
+
+            for (QueryRecord.PartialResult result : record.getResults())
+            {
+                for (QueryRecord.PartialResult.Step step : result.getSteps())
+                {
+                    collect(step);
+                }
+            }
+        }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return the title that describes the query.
+         *
+         * @return the title
+         */
+        public String getTitle()
+        {
+            return m_sTitle;
+        }
+
+        /**
+         * Return the recorded filter.
+         *
+         * @return the filter
+         */
+        public Filter<?> getFilter()
+        {
+            return m_filter;
+        }
+
+        /**
+         * Return the record returned by the QueryRecorder.
+         *
+         * @return the record
+         */
+        public QueryRecord getRecord()
+        {
+            return m_record;
+        }
+
+        /**
+         * Return every step of every partial result, parents before their
+         * children.
+         *
+         * @return the steps
+         */
+        public List<QueryRecord.PartialResult.Step> getSteps()
+        {
+            return Collections.unmodifiableList(m_listSteps);
+        }
+
+        /**
+         * Return the leaf steps that did not use an index.
+         *
+         * @return the unindexed steps
+         */
+        public List<QueryRecord.PartialResult.Step> getUnindexedSteps()
+        {
+            return Collections.unmodifiableList(m_listUnindexed);
+        }
+
+        /**
+         * Return true if part of the filter was resolved by evaluating the
+         * entries rather than from an index.
+         *
+         * @return true if the query scanned entries
+         */
+        public boolean isFullScan()
+        {
+            return !m_listUnindexed.isEmpty();
+        }
+
+        /**
+         * Return the total time spent by the steps of all partial results,
+         * which is only recorded in trace mode.
+         *
+         * @return the time in milliseconds
+         */
+        public long getDurationMillis()
+        {
+            long cMillis = 0;
+            for (QueryRecord.PartialResult result : m_record.getResults())
+            {
+                for (QueryRecord.PartialResult.Step step : result.getSteps())
+                {
+                    cMillis += Math.max(0L, step.getDuration());
+                }
+            }
+            return cMillis;
+        }
+
+        // ----- Object methods ---------------------------------------------
+
+        /**
+         * {@inheritDoc}
+         */
+        public String toString()
+        {
+            StringBuilder sb = new StringBuilder(m_sTitle).append('\n').append(m_record);
+            for (QueryRecord.PartialResult.Step step : m_listUnindexed)
+            {
+                sb.append("\nWARNING: no index used by ").append(step.getFilterDescription());
+            }
+            return sb.toString();
+        }
+
+        // ----- helpers ----------------------------------------------------
+
+        /**
+         * Add a step and its descendants to the report.
+         *
+         * @param step  the step
+         */
+        private void collect(QueryRecord.PartialResult.Step step)
+        {
+            m_listSteps.add(step);
+
+            List<? extends QueryRecord.PartialResult.Step> listChildren = step.getSteps();
+            if (listChildren.isEmpty())
+            {
+                if (!isIndexed(step))
+                {
+                    m_listUnindexed.add(step);
+                }
+            }
+            else
+            {
+                for (QueryRecord.PartialResult.Step child : listChildren)
+                {
+                    collect(child);
+                }
+            }
+        }
+
+        /**
+         * Return true if a step found an index for one of its extractors.
+         *
+         * @param step  the step
+         *
+         * @return true if the step used an index
+         */
+        private static boolean isIndexed(QueryRecord.PartialResult.Step step)
+        {
+            for (QueryRecord.PartialResult.IndexLookupRecord lookup : step.getIndexLookupRecords())
+            {
+                if (lookup.getIndexDescription() != null)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The title that describes the query.
+         */
+        private final String m_sTitle;
+
+        /**
+         * The recorded filter.
+         */
+        private final Filter<?> m_filter;
+
+        /**
+         * The record returned by the QueryRecorder.
+         */
+        private final QueryRecord m_record;
+
+        /**
+         * Every step of every partial result.
+         */
+        private final List<QueryRecord.PartialResult.Step> m_listSteps = new ArrayList<>();
+
+        /**
+         * The leaf steps that did not use an index.
+         */
+        private final List<QueryRecord.PartialResult.Step> m_listUnindexed = new ArrayList<>();
+    }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The cache to query.
+     */
+    private final NamedCache<?, ?> m_cache;
+
+    /**
+     * The record type, explain or trace.
+     */
+    private final QueryRecorder.RecordType m_type;
+}
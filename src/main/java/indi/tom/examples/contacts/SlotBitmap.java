@@ -0,0 +1,463 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 00:40
+ * @Version 1.0
+ * @Description
+ */
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * SlotBitmap is a compressed set of non-negative int slots, used by the
+ * {@link BitmapIndex}.
+ * <p/>
+ * The slots are divided into chunks of 2^16. A chunk holding few slots is
+ * stored as a sorted array of their low 16 bits, and a chunk holding more
+ * than {@link #ARRAY_MAX} slots as a bitmap of 1024 words, so a sparse
+ * bitmap costs two bytes per slot and a dense one at most one bit per slot;
+ * empty chunks cost nothing. Combining bitmaps works chunk by chunk on 64-bit
+ * words.
+ *
+ * @author tom  2026.10.18
+ */
+public class SlotBitmap
+{
+    // ----- SlotBitmap methods ---------------------------------------------
+
+    /**
+     * Add a slot.
+     *
+     * @param nSlot  the slot
+     */
+    public void set(int nSlot)
+    {
+        int iChunk = nSlot >>> 16;
+        if (iChunk >= m_aChunk.length)
+        {
+            m_aChunk = Arrays.copyOf(m_aChunk, Math.max(iChunk + 1, m_aChunk.length * 2));
+        }
+
+        Chunk chunk = m_aChunk[iChunk];
+        if (chunk == null)
+        {
+            m_aChunk[iChunk] = chunk = new Chunk();
+        }
+        chunk.set((char) nSlot);
+    }
+
+    /**
+     * Remove a slot.
+     *
+     * @param nSlot  the slot
+     */
+    public void clear(int nSlot)
+    {
+        int iChunk = nSlot >>> 16;
+        if (iChunk < m_aChunk.length)
+        {
+            Chunk chunk = m_aChunk[iChunk];
+            if (chunk != null && chunk.clear((char) nSlot) && chunk.m_cSlots == 0)
+            {
+                m_aChunk[iChunk] = null;
+            }
+        }
+    }
+
+    /**
+     * Return true if the bitmap contains a slot.
+     *
+     * @param nSlot  the slot
+     *
+     * @return true if the slot is set
+     */
+    public boolean get(int nSlot)
+    {
+        int iChunk = nSlot >>> 16;
+        return iChunk < m_aChunk.length && m_aChunk[iChunk] != null && m_aChunk[iChunk].get((char) nSlot);
+    }
+
+    /**
+     * Return the number of slots.
+     *
+     * @return the number of slots
+     */
+    public int cardinality()
+    {
+        int c = 0;
+        for (Chunk chunk : m_aChunk)
+        {
+            if (chunk != null)
+            {
+                c += chunk.m_cSlots;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Return true if the bitmap holds no slots.
+     *
+     * @return true if the bitmap is empty
+     */
+    public boolean isEmpty()
+    {
+        for (Chunk chunk : m_aChunk)
+        {
+            if (chunk != null)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pass every slot, in ascending order, to a consumer.
+     *
+     * @param consumer  the consumer
+     */
+    public void forEach(IntConsumer consumer)
+    {
+        Chunk[] aChunk = m_aChunk;
+        for (int iChunk = 0; iChunk < aChunk.length; ++iChunk)
+        {
+            Chunk chunk = aChunk[iChunk];
+            if (chunk == null)
+            {
+                continue;
+            }
+
+            int nBase = iChunk << 16;
+            if (chunk.m_alWord == null)
+            {
+                for (int i = 0; i < chunk.m_cSlots; ++i)
+                {
+                    consumer.accept(nBase | chunk.m_achSlot[i]);
+                }
+            }
+            else
+            {
+                long[] alWord = chunk.m_alWord;
+                for (int iWord = 0; iWord < alWord.length; ++iWord)
+                {
+                    for (long l = alWord[iWord]; l != 0; l &= l - 1)
+                    {
+                        consumer.accept(nBase | iWord << 6 | Long.numberOfTrailingZeros(l));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the intersection of two bitmaps.
+     *
+     * @param bm1  the first bitmap
+     * @param bm2  the second bitmap
+     *
+     * @return a new bitmap
+     */
+    public static SlotBitmap and(SlotBitmap bm1, SlotBitmap bm2)
+    {
+        return combine(bm1, bm2, AND);
+    }
+
+    /**
+     * Return the union of two bitmaps.
+     *
+     * @param bm1  the first bitmap
+     * @param bm2  the second bitmap
+     *
+     * @return a new bitmap
+     */
+    public static SlotBitmap or(SlotBitmap bm1, SlotBitmap bm2)
+    {
+        return combine(bm1, bm2, OR);
+    }
+
+    /**
+     * Return the slots of the first bitmap that are not in the second.
+     *
+     * @param bm1  the first bitmap
+     * @param bm2  the second bitmap
+     *
+     * @return a new bitmap
+     */
+    public static SlotBitmap andNot(SlotBitmap bm1, SlotBitmap bm2)
+    {
+        return combine(bm1, bm2, AND_NOT);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Combine two bitmaps word by word.
+     *
+     * @param bm1  the first bitmap
+     * @param bm2  the second bitmap
+     * @param nOp  one of {@link #AND}, {@link #OR} or {@link #AND_NOT}
+     *
+     * @return a new bitmap
+     */
+    private static SlotBitmap combine(SlotBitmap bm1, SlotBitmap bm2, int nOp)
+    {
+        Chunk[]    aChunk1 = bm1.m_aChunk;
+        Chunk[]    aChunk2 = bm2.m_aChunk;
+        int        cChunks = nOp == OR ? Math.max(aChunk1.length, aChunk2.length) : aChunk1.length;
+        SlotBitmap bm      = new SlotBitmap();
+        Chunk[]    aChunk  = bm.m_aChunk = new Chunk[cChunks];
+        long[]     alWord  = new long[WORDS];
+
+        for (int i = 0; i < cChunks; ++i)
+        {
+            Chunk chunk1 = i < aChunk1.length ? aChunk1[i] : null;
+            Chunk chunk2 = i < aChunk2.length ? aChunk2[i] : null;
+            if (chunk1 == null && (nOp != OR || chunk2 == null) || chunk2 == null && nOp == AND)
+            {
+                continue;
+            }
+
+            long[] al1 = chunk1 == null ? NO_WORDS : chunk1.toWords();
+            long[] al2 = chunk2 == null ? NO_WORDS : chunk2.toWords();
+            int    c   = 0;
+            for (int iWord = 0; iWord < WORDS; ++iWord)
+            {
+                long l1 = al1[iWord];
+                long l2 = al2[iWord];
+                long l  = nOp == AND ? l1 & l2 : nOp == OR ? l1 | l2 : l1 & ~l2;
+
+                alWord[iWord] = l;
+                c += Long.bitCount(l);
+            }
+
+            if (c > 0)
+            {
+                aChunk[i] = Chunk.fromWords(alWord, c);
+            }
+        }
+        return bm;
+    }
+
+    // ----- inner class: Chunk ---------------------------------------------
+
+    /**
+     * Chunk holds the slots sharing their high 16 bits, either as a sorted
+     * array or as a bitmap.
+     */
+    private static class Chunk
+    {
+        /**
+         * Add a slot.
+         *
+         * @param ch  the low 16 bits of the slot
+         */
+        void set(char ch)
+        {
+            if (m_alWord != null)
+            {
+                long lBit = 1L << ch;
+                if ((m_alWord[ch >>> 6] & lBit) == 0)
+                {
+                    m_alWord[ch >>> 6] |= lBit;
+                    ++m_cSlots;
+                }
+                return;
+            }
+
+            int i = Arrays.binarySearch(m_achSlot, 0, m_cSlots, ch);
+            if (i >= 0)
+            {
+                return;
+            }
+            if (m_cSlots == ARRAY_MAX)
+            {
+                m_alWord  = toWords();
+                m_achSlot = null;
+                set(ch);
+                return;
+            }
+
+            i = -i - 1;
+            if (m_cSlots == m_achSlot.length)
+            {
+                m_achSlot = Arrays.copyOf(m_achSlot, Math.max(4, m_cSlots * 2));
+            }
+            System.arraycopy(m_achSlot, i, m_achSlot, i + 1, m_cSlots - i);
+            m_achSlot[i] = ch;
+            ++m_cSlots;
+        }
+
+        /**
+         * Remove a slot.
+         *
+         * @param ch  the low 16 bits of the slot
+         *
+         * @return true if the slot was removed
+         */
+        boolean clear(char ch)
+        {
+            if (m_alWord != null)
+            {
+                long lBit = 1L << ch;
+                if ((m_alWord[ch >>> 6] & lBit) == 0)
+                {
+                    return false;
+                }
+                m_alWord[ch >>> 6] &= ~lBit;
+                if (--m_cSlots <= ARRAY_MAX / 2)
+                {
+                    // shrink back to an array, leaving room to avoid thrashing
+                    m_achSlot = toSlots(m_alWord, m_cSlots);
+                    m_alWord  = null;
+                }
+                return true;
+            }
+
+            int i = Arrays.binarySearch(m_achSlot, 0, m_cSlots, ch);
+            if (i < 0)
+            {
+                return false;
+            }
+            System.arraycopy(m_achSlot, i + 1, m_achSlot, i, --m_cSlots - i);
+            return true;
+        }
+
+        /**
+         * Return true if the chunk contains a slot.
+         *
+         * @param ch  the low 16 bits of the slot
+         *
+         * @return true if the slot is set
+         */
+        boolean get(char ch)
+        {
+            return m_alWord == null
+                   ? Arrays.binarySearch(m_achSlot, 0, m_cSlots, ch) >= 0
+                   : (m_alWord[ch >>> 6] & 1L << ch) != 0;
+        }
+
+        /**
+         * Return the chunk as a bitmap; the result must not be modified.
+         *
+         * @return the words of the bitmap
+         */
+        long[] toWords()
+        {
+            if (m_alWord != null)
+            {
+                return m_alWord;
+            }
+
+            long[] alWord = new long[WORDS];
+            for (int i = 0; i < m_cSlots; ++i)
+            {
+                char ch = m_achSlot[i];
+                alWord[ch >>> 6] |= 1L << ch;
+            }
+            return alWord;
+        }
+
+        /**
+         * Create a chunk from a bitmap.
+         *
+         * @param alWord  the words of the bitmap, which are copied
+         * @param cSlots  the number of bits set
+         *
+         * @return the chunk
+         */
+        static Chunk fromWords(long[] alWord, int cSlots)
+        {
+            Chunk chunk = new Chunk();
+            chunk.m_cSlots = cSlots;
+            if (cSlots > ARRAY_MAX)
+            {
+                chunk.m_alWord  = alWord.clone();
+                chunk.m_achSlot = null;
+            }
+            else
+            {
+                chunk.m_achSlot = toSlots(alWord, cSlots);
+            }
+            return chunk;
+        }
+
+        /**
+         * Return the bits set in a bitmap as a sorted array.
+         *
+         * @param alWord  the words of the bitmap
+         * @param cSlots  the number of bits set
+         *
+         * @return the array
+         */
+        static char[] toSlots(long[] alWord, int cSlots)
+        {
+            char[] ach = new char[cSlots];
+            int    i   = 0;
+            for (int iWord = 0; iWord < alWord.length; ++iWord)
+            {
+                for (long l = alWord[iWord]; l != 0; l &= l - 1)
+                {
+                    ach[i++] = (char) (iWord << 6 | Long.numberOfTrailingZeros(l));
+                }
+            }
+            return ach;
+        }
+
+        /**
+         * The sorted low bits of the slots, or null if the chunk is a bitmap.
+         */
+        char[] m_achSlot = new char[4];
+
+        /**
+         * The bitmap, or null if the chunk is an array.
+         */
+        long[] m_alWord;
+
+        /**
+         * The number of slots.
+         */
+        int m_cSlots;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The largest number of slots held by a chunk stored as an array; at this
+     * size the array is as large as the bitmap.
+     */
+    public static final int ARRAY_MAX = 4096;
+
+    /**
+     * The number of words of a chunk stored as a bitmap.
+     */
+    private static final int WORDS = 1024;
+
+    /**
+     * An empty chunk bitmap.
+     */
+    private static final long[] NO_WORDS = new long[WORDS];
+
+    /**
+     * The intersection operation.
+     */
+    private static final int AND = 0;
+
+    /**
+     * The union operation.
+     */
+    private static final int OR = 1;
+
+    /**
+     * The difference operation.
+     */
+    private static final int AND_NOT = 2;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The chunks, indexed by the high 16 bits of their slots.
+     */
+    private Chunk[] m_aChunk = new Chunk[0];
+}
@@ -0,0 +1,310 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 20:40
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Base;
+import com.tangosol.util.Binary;
+import com.tangosol.util.NullImplementation;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static indi.tom.examples.contacts.ExamplesHelper.logHeader;
+
+/**
+ * SnapshotLoader inserts the contents of a snapshot written by a
+ * {@link SnapshotWriter} into a cache.
+ * <p/>
+ * The keys and values in a snapshot are already serialized, so the loader
+ * never parses or serializes a contact: the blocks are memory-mapped and
+ * scanned sequentially, and the Binary keys and values of each block are
+ * inserted by a single putAll() through a pass-through view of the cache.
+ * The index at the end of the snapshot allows the blocks to be divided into
+ * contiguous ranges that are loaded concurrently by a pool of worker threads.
+ *
+ * @author tom  2026.10.17
+ */
+public class SnapshotLoader
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a SnapshotLoader.
+     *
+     * @param loader    the loader whose BatchSizer and statistics are updated
+     * @param cThreads  the number of worker threads
+     */
+    public SnapshotLoader(LoaderExample loader, int cThreads)
+    {
+        if (cThreads < 1)
+        {
+            throw new IllegalArgumentException("thread count must be positive: " + cThreads);
+        }
+        m_loader   = loader;
+        m_cThreads = cThreads;
+    }
+
+    // ----- SnapshotLoader methods -----------------------------------------
+
+    /**
+     * Load the snapshot into the cache.
+     *
+     * @param file   the snapshot
+     * @param cache  target cache
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException if the snapshot cannot be read or is malformed
+     */
+    @SuppressWarnings("unchecked")
+    public long load(File file, NamedCache<ContactId, Contact> cache)
+            throws IOException
+    {
+        logHeader("LoaderExample begins");
+
+        NamedCache<Binary, Binary> cacheBinary = cache.getCacheService()
+                .ensureCache(cache.getCacheName(), NullImplementation.getClassLoader());
+
+        long cContacts = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long[]          alIndex  = readIndex(channel);
+            ExecutorService executor = Executors.newFixedThreadPool(m_cThreads);
+            try
+            {
+                List<Future<Long>> listFuture = new ArrayList<>();
+                int                cBlocks    = alIndex.length / 3;
+
+                // divide the blocks into contiguous ranges of bounded size
+                for (int iFirst = 0; iFirst < cBlocks; )
+                {
+                    long ofStart = alIndex[iFirst * 3];
+                    int  iLast   = iFirst + 1;
+                    while (iLast < cBlocks && alIndex[iLast * 3] + alIndex[iLast * 3 + 1] - ofStart <= MAX_RANGE_SIZE)
+                    {
+                        ++iLast;
+                    }
+
+                    long ofEnd = alIndex[(iLast - 1) * 3] + alIndex[(iLast - 1) * 3 + 1];
+                    listFuture.add(executor.submit(() -> loadRange(channel, ofStart, ofEnd, cacheBinary)));
+                    iFirst = iLast;
+                }
+
+                for (Future<Long> future : listFuture)
+                {
+                    cContacts += future.get();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw Base.ensureRuntimeException(e, "interrupted while loading " + file);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException)
+                {
+                    throw (IOException) cause;
+                }
+                throw Base.ensureRuntimeException(cause);
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        System.out.println("Added " + cContacts + " entries to cache");
+        m_loader.printStatistics();
+        logHeader("LoaderExample completed");
+
+        return cContacts;
+    }
+
+    /**
+     * Read and validate the index of a snapshot.
+     *
+     * @param channel  the snapshot
+     *
+     * @return the offset, size and record count of every block, stored
+     *         consecutively
+     *
+     * @throws IOException if the snapshot cannot be read or is malformed
+     */
+    public static long[] readIndex(FileChannel channel)
+            throws IOException
+    {
+        long cb = channel.size();
+        if (cb < SnapshotWriter.HEADER_SIZE + 4 + SnapshotWriter.TRAILER_SIZE)
+        {
+            throw new IOException("not a contact snapshot: too short");
+        }
+
+        ByteBuffer bufHeader = readFully(channel, 0L, SnapshotWriter.HEADER_SIZE);
+        if (bufHeader.getInt() != SnapshotWriter.MAGIC || bufHeader.getInt() != SnapshotWriter.VERSION)
+        {
+            throw new IOException("not a contact snapshot or unsupported version");
+        }
+
+        ByteBuffer bufTrailer = readFully(channel, cb - SnapshotWriter.TRAILER_SIZE, SnapshotWriter.TRAILER_SIZE);
+        long       ofIndex    = bufTrailer.getLong();
+        if (bufTrailer.getInt() != SnapshotWriter.MAGIC || ofIndex < SnapshotWriter.HEADER_SIZE
+            || ofIndex > cb - SnapshotWriter.TRAILER_SIZE - 4)
+        {
+            throw new IOException("corrupt contact snapshot trailer");
+        }
+
+        int  cBlocks = readFully(channel, ofIndex, 4).getInt();
+        long cbIndex = (long) cBlocks * SnapshotWriter.INDEX_ENTRY_SIZE;
+        if (cBlocks < 0 || ofIndex + 4 + cbIndex != cb - SnapshotWriter.TRAILER_SIZE)
+        {
+            throw new IOException("corrupt contact snapshot index");
+        }
+
+        ByteBuffer bufIndex = readFully(channel, ofIndex + 4, (int) cbIndex);
+        long[]     alIndex  = new long[cBlocks * 3];
+        for (int i = 0; i < cBlocks; ++i)
+        {
+            alIndex[i * 3]     = bufIndex.getLong();
+            alIndex[i * 3 + 1] = bufIndex.getInt();
+            alIndex[i * 3 + 2] = bufIndex.getInt();
+        }
+        return alIndex;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Load a contiguous range of blocks.
+     *
+     * @param channel      the snapshot
+     * @param ofStart      the offset of the first block
+     * @param ofEnd        the offset just past the last block
+     * @param cacheBinary  the pass-through view of the target cache
+     *
+     * @return the number of contacts inserted into the cache
+     *
+     * @throws IOException if the snapshot is malformed
+     */
+    protected long loadRange(FileChannel channel, long ofStart, long ofEnd,
+            NamedCache<Binary, Binary> cacheBinary)
+            throws IOException
+    {
+        BatchSizer       sizer     = m_loader.getBatchSizer();
+        LoaderStatistics stats     = m_loader.getStatistics();
+        MappedByteBuffer buf       = channel.map(FileChannel.MapMode.READ_ONLY, ofStart, ofEnd - ofStart);
+        long             cContacts = 0;
+
+        while (buf.hasRemaining())
+        {
+            long ldtStart = System.nanoTime();
+            int  cRecords = buf.getInt();
+            int  cbBody   = buf.getInt();
+            if (cRecords < 0 || cbBody < 0 || cbBody > buf.remaining())
+            {
+                throw new IOException("corrupt contact snapshot block at offset " + (ofStart + buf.position()));
+            }
+
+            Map<Binary, Binary> mapBinary = new HashMap<>(cRecords * 4 / 3 + 1);
+            for (int i = 0; i < cRecords; ++i)
+            {
+                mapBinary.put(readBinary(buf), readBinary(buf));
+            }
+
+            long ldtPut = System.nanoTime();
+            cacheBinary.putAll(mapBinary);
+            long cNanos = System.nanoTime() - ldtPut;
+
+            sizer.update(cRecords, cbBody, cNanos);
+            stats.recordPutAll(cNanos);
+            stats.recordProgress(cRecords, ldtPut - ldtStart, 0L, cNanos);
+            stats.recordBytes(SnapshotWriter.BLOCK_HEADER_SIZE + cbBody);
+            cContacts += cRecords;
+        }
+        return cContacts;
+    }
+
+    /**
+     * Read a length-prefixed Binary.
+     *
+     * @param buf  the buffer positioned at the length
+     *
+     * @return the Binary
+     */
+    private static Binary readBinary(ByteBuffer buf)
+    {
+        byte[] ab = new byte[buf.getInt()];
+        buf.get(ab);
+        return new Binary(ab);
+    }
+
+    /**
+     * Read a region of a file.
+     *
+     * @param channel  the file
+     * @param of       the offset of the region
+     * @param cb       the size of the region
+     *
+     * @return a buffer holding the region, positioned at its start
+     *
+     * @throws IOException if the region cannot be read
+     */
+    private static ByteBuffer readFully(FileChannel channel, long of, int cb)
+            throws IOException
+    {
+        ByteBuffer buf = ByteBuffer.allocate(cb);
+        while (buf.hasRemaining())
+        {
+            int cbRead = channel.read(buf, of + buf.position());
+            if (cbRead < 0)
+            {
+                throw new IOException("unexpected end of contact snapshot");
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum size of a range of blocks loaded by a single task.
+     */
+    private static final long MAX_RANGE_SIZE = 64L * 1024 * 1024;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The loader whose BatchSizer and statistics are updated.
+     */
+    private final LoaderExample m_loader;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int m_cThreads;
+}
@@ -0,0 +1,281 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 20:20
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.io.Serializer;
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * SnapshotWriter writes contacts to a binary snapshot file that the
+ * {@link SnapshotLoader} inserts into a cache without parsing.
+ * <p/>
+ * A snapshot consists of a header, a sequence of blocks, an index and a
+ * trailer; all numbers are big-endian:
+ * <pre>
+ *   header:  int MAGIC, int VERSION
+ *   block:   int record count, int body size,
+ *            { int key size, key, int value size, value }*
+ *   index:   int block count, { long block offset, int block size,
+ *            int record count }*
+ *   trailer: long index offset, int MAGIC
+ * </pre>
+ * Keys and values are stored in their serialized form, produced by the
+ * supplied serializer, which must match the serializer of the cache service
+ * the snapshot is loaded into. Each block holds the records inserted by a
+ * single putAll().
+ *
+ * @author tom  2026.10.17
+ */
+public class SnapshotWriter
+        implements Closeable
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a SnapshotWriter using the default block size.
+     *
+     * @param file        the file to write
+     * @param serializer  the serializer used to encode keys and values
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public SnapshotWriter(File file, Serializer serializer)
+            throws IOException
+    {
+        this(file, serializer, DEFAULT_BLOCK_RECORDS);
+    }
+
+    /**
+     * Construct a SnapshotWriter.
+     *
+     * @param file           the file to write
+     * @param serializer     the serializer used to encode keys and values
+     * @param cBlockRecords  the number of records per block
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public SnapshotWriter(File file, Serializer serializer, int cBlockRecords)
+            throws IOException
+    {
+        if (cBlockRecords < 1)
+        {
+            throw new IllegalArgumentException("block size must be positive: " + cBlockRecords);
+        }
+
+        m_out           = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        m_serializer    = serializer;
+        m_cBlockRecords = cBlockRecords;
+
+        m_out.writeInt(MAGIC);
+        m_out.writeInt(VERSION);
+        m_ofNext = HEADER_SIZE;
+    }
+
+    // ----- SnapshotWriter methods -----------------------------------------
+
+    /**
+     * Add a contact to the snapshot.
+     *
+     * @param id       the contact key
+     * @param contact  the contact
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void add(ContactId id, Contact contact)
+            throws IOException
+    {
+        writeBinary(ExternalizableHelper.toBinary(id, m_serializer));
+        writeBinary(ExternalizableHelper.toBinary(contact, m_serializer));
+
+        if (++m_cRecords >= m_cBlockRecords)
+        {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Write the final block, the index and the trailer, and close the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void close()
+            throws IOException
+    {
+        if (m_out == null)
+        {
+            return;
+        }
+        try
+        {
+            flushBlock();
+
+            DataOutputStream out = m_out;
+
+            out.writeInt(m_cBlocks);
+            m_bufIndex.writeTo(out);
+            out.writeLong(m_ofNext);
+            out.writeInt(MAGIC);
+        }
+        finally
+        {
+            m_out.close();
+            m_out = null;
+        }
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Append a length-prefixed Binary to the current block.
+     *
+     * @param bin  the Binary
+     *
+     * @throws IOException on write error
+     */
+    private void writeBinary(Binary bin)
+            throws IOException
+    {
+        m_outBlock.writeInt(bin.length());
+        bin.writeTo((OutputStream) m_outBlock);
+    }
+
+    /**
+     * Write the current block to the file and record it in the index.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void flushBlock()
+            throws IOException
+    {
+        if (m_cRecords == 0)
+        {
+            return;
+        }
+
+        int cbBody  = m_bufBlock.size();
+        int cbBlock = BLOCK_HEADER_SIZE + cbBody;
+
+        m_out.writeInt(m_cRecords);
+        m_out.writeInt(cbBody);
+        m_bufBlock.writeTo(m_out);
+
+        m_outIndex.writeLong(m_ofNext);
+        m_outIndex.writeInt(cbBlock);
+        m_outIndex.writeInt(m_cRecords);
+
+        m_ofNext  += cbBlock;
+        m_cBlocks += 1;
+        m_cRecords = 0;
+        m_bufBlock.reset();
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The magic number starting and ending a snapshot.
+     */
+    public static final int MAGIC = 0x434E5353;
+
+    /**
+     * The snapshot format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header.
+     */
+    public static final int HEADER_SIZE = 8;
+
+    /**
+     * The size of a block header.
+     */
+    public static final int BLOCK_HEADER_SIZE = 8;
+
+    /**
+     * The size of an index entry.
+     */
+    public static final int INDEX_ENTRY_SIZE = 16;
+
+    /**
+     * The size of the trailer.
+     */
+    public static final int TRAILER_SIZE = 12;
+
+    /**
+     * The default number of records per block.
+     */
+    public static final int DEFAULT_BLOCK_RECORDS = LoaderExample.BATCH_SIZE;
+
+    /**
+     * The suffix identifying snapshot files.
+     */
+    public static final String SUFFIX = ".snap";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The snapshot file, or null once closed.
+     */
+    private DataOutputStream m_out;
+
+    /**
+     * The serializer used to encode keys and values.
+     */
+    private final Serializer m_serializer;
+
+    /**
+     * The number of records per block.
+     */
+    private final int m_cBlockRecords;
+
+    /**
+     * The body of the current block.
+     */
+    private final ByteArrayOutputStream m_bufBlock = new ByteArrayOutputStream(1 << 16);
+
+    /**
+     * The stream writing to the body of the current block.
+     */
+    private final DataOutputStream m_outBlock = new DataOutputStream(m_bufBlock);
+
+    /**
+     * The index entries written so far.
+     */
+    private final ByteArrayOutputStream m_bufIndex = new ByteArrayOutputStream();
+
+    /**
+     * The stream writing to the index entries.
+     */
+    private final DataOutputStream m_outIndex = new DataOutputStream(m_bufIndex);
+
+    /**
+     * The number of records in the current block.
+     */
+    private int m_cRecords;
+
+    /**
+     * The number of blocks written.
+     */
+    private int m_cBlocks;
+
+    /**
+     * The file offset of the next block.
+     */
+    private long m_ofNext;
+}
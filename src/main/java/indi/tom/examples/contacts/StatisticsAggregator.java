@@ -0,0 +1,498 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 23:00
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.ValueExtractor;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+
+/**
+ * StatisticsAggregator computes the count, minimum, maximum, mean, variance
+ * and a fixed-width histogram of a numeric attribute in a single pass.
+ * <p/>
+ * Each storage member accumulates a {@link Statistics} partial result over
+ * its entries in parallel, and the partial results are merged on the client,
+ * so all of the statistics cost one scan instead of one scan per statistic.
+ * The mean and variance are accumulated with Welford's algorithm and merged
+ * with the pairwise update of Chan et al., which avoids the loss of precision
+ * of a sum of squares. Values are accumulated as doubles, so fractional
+ * attributes are not truncated.
+ *
+ * @param <K>  the type of the cache keys
+ * @param <V>  the type of the cache values
+ *
+ * @author tom  2026.10.17
+ */
+public class StatisticsAggregator<K, V>
+        implements InvocableMap.StreamingAggregator<K, V, StatisticsAggregator.Statistics, StatisticsAggregator.Statistics>,
+                   PortableObject
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Default constructor (necessary for PortableObject implementation).
+     */
+    public StatisticsAggregator()
+    {
+    }
+
+    /**
+     * Construct a StatisticsAggregator.
+     *
+     * @param extractor     the extractor of the numeric attribute
+     * @param nBucketWidth  the width of a histogram bucket
+     * @param cBuckets      the number of histogram buckets; values beyond the
+     *                      last bucket are counted in the last bucket, and
+     *                      negative values in the first
+     */
+    public StatisticsAggregator(ValueExtractor<? super V, ? extends Number> extractor,
+            int nBucketWidth, int cBuckets)
+    {
+        if (nBucketWidth < 1 || cBuckets < 1)
+        {
+            throw new IllegalArgumentException("bucket width and count must be positive");
+        }
+        m_extractor    = extractor;
+        m_nBucketWidth = nBucketWidth;
+        m_cBuckets     = cBuckets;
+    }
+
+    // ----- StreamingAggregator interface ----------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public InvocableMap.StreamingAggregator<K, V, Statistics, Statistics> supply()
+    {
+        return new StatisticsAggregator<>(m_extractor, m_nBucketWidth, m_cBuckets);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean accumulate(InvocableMap.Entry<? extends K, ? extends V> entry)
+    {
+        Number n = entry.extract(m_extractor);
+        if (n != null)
+        {
+            ensureStatistics().add(n.doubleValue());
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean combine(Statistics stats)
+    {
+        ensureStatistics().merge(stats);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Statistics getPartialResult()
+    {
+        return ensureStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Statistics finalizeResult()
+    {
+        return ensureStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int characteristics()
+    {
+        return PARALLEL | PRESENT_ONLY;
+    }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public void readExternal(PofReader reader)
+            throws IOException
+    {
+        m_extractor    = reader.readObject(EXTRACTOR);
+        m_nBucketWidth = reader.readInt(BUCKET_WIDTH);
+        m_cBuckets     = reader.readInt(BUCKETS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void writeExternal(PofWriter writer)
+            throws IOException
+    {
+        writer.writeObject(EXTRACTOR, m_extractor);
+        writer.writeInt(BUCKET_WIDTH, m_nBucketWidth);
+        writer.writeInt(BUCKETS, m_cBuckets);
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the statistics accumulated by this aggregator, creating them if
+     * necessary.
+     *
+     * @return the statistics
+     */
+    private Statistics ensureStatistics()
+    {
+        Statistics stats = m_stats;
+        if (stats == null)
+        {
+            m_stats = stats = new Statistics(m_nBucketWidth, m_cBuckets);
+        }
+        return stats;
+    }
+
+    // ----- inner class: Statistics ----------------------------------------
+
+    /**
+     * Statistics is the mergeable partial and final result of a
+     * StatisticsAggregator.
+     */
+    public static class Statistics
+            implements PortableObject
+    {
+        /**
+         * Default constructor (necessary for PortableObject implementation).
+         */
+        public Statistics()
+        {
+        }
+
+        /**
+         * Construct an empty Statistics.
+         *
+         * @param nBucketWidth  the width of a histogram bucket
+         * @param cBuckets      the number of histogram buckets
+         */
+        public Statistics(int nBucketWidth, int cBuckets)
+        {
+            m_nBucketWidth = nBucketWidth;
+            m_alBucket     = new long[cBuckets];
+        }
+
+        // ----- Statistics methods -----------------------------------------
+
+        /**
+         * Add a value.
+         *
+         * @param dflValue  the value
+         */
+        public void add(double dflValue)
+        {
+            long   cCount  = ++m_cCount;
+            double dflDiff = dflValue - m_dflMean;
+
+            m_dflMean += dflDiff / cCount;
+            m_dflM2   += dflDiff * (dflValue - m_dflMean);
+            m_dflMin   = cCount == 1 ? dflValue : Math.min(m_dflMin, dflValue);
+            m_dflMax   = cCount == 1 ? dflValue : Math.max(m_dflMax, dflValue);
+
+            long[] alBucket = m_alBucket;
+            int    iBucket  = (int) Math.max(0.0, Math.min(alBucket.length - 1, Math.floor(dflValue / m_nBucketWidth)));
+            ++alBucket[iBucket];
+        }
+
+        /**
+         * Merge other statistics, collected with the same histogram buckets,
+         * into these.
+         *
+         * @param that  the statistics to merge
+         */
+        public void merge(Statistics that)
+        {
+            long cThat = that.m_cCount;
+            if (cThat == 0)
+            {
+                return;
+            }
+
+            long cThis = m_cCount;
+            if (cThis == 0)
+            {
+                m_dflMin = that.m_dflMin;
+                m_dflMax = that.m_dflMax;
+            }
+            else
+            {
+                m_dflMin = Math.min(m_dflMin, that.m_dflMin);
+                m_dflMax = Math.max(m_dflMax, that.m_dflMax);
+            }
+
+            long   cCount  = cThis + cThat;
+            double dflDiff = that.m_dflMean - m_dflMean;
+
+            m_dflMean += dflDiff * cThat / cCount;
+            m_dflM2   += that.m_dflM2 + dflDiff * dflDiff * ((double) cThis * cThat / cCount);
+            m_cCount   = cCount;
+
+            long[] alBucket = m_alBucket;
+            for (int i = 0; i < alBucket.length; ++i)
+            {
+                alBucket[i] += that.m_alBucket[i];
+            }
+        }
+
+        /**
+         * Return the number of values.
+         *
+         * @return the number of values
+         */
+        public long getCount()
+        {
+            return m_cCount;
+        }
+
+        /**
+         * Return the smallest value.
+         *
+         * @return the smallest value, or zero if there are no values
+         */
+        public double getMin()
+        {
+            return m_dflMin;
+        }
+
+        /**
+         * Return the largest value.
+         *
+         * @return the largest value, or zero if there are no values
+         */
+        public double getMax()
+        {
+            return m_dflMax;
+        }
+
+        /**
+         * Return the mean of the values.
+         *
+         * @return the mean, or zero if there are no values
+         */
+        public double getMean()
+        {
+            return m_dflMean;
+        }
+
+        /**
+         * Return the population variance of the values.
+         *
+         * @return the variance, or zero if there are no values
+         */
+        public double getVariance()
+        {
+            return m_cCount == 0 ? 0.0 : m_dflM2 / m_cCount;
+        }
+
+        /**
+         * Return the population standard deviation of the values.
+         *
+         * @return the standard deviation, or zero if there are no values
+         */
+        public double getStandardDeviation()
+        {
+            return Math.sqrt(getVariance());
+        }
+
+        /**
+         * Return the width of a histogram bucket.
+         *
+         * @return the bucket width
+         */
+        public int getBucketWidth()
+        {
+            return m_nBucketWidth;
+        }
+
+        /**
+         * Return the histogram; bucket i counts the values in
+         * [i * width, (i + 1) * width), except that the first bucket also
+         * counts smaller values and the last bucket also counts larger ones.
+         *
+         * @return a copy of the bucket counts
+         */
+        public long[] getHistogram()
+        {
+            return m_alBucket.clone();
+        }
+
+        // ----- PortableObject interface -----------------------------------
+
+        /**
+         * {@inheritDoc}
+         */
+        public void readExternal(PofReader reader)
+                throws IOException
+        {
+            m_cCount       = reader.readLong(COUNT);
+            m_dflMin       = reader.readDouble(MIN);
+            m_dflMax       = reader.readDouble(MAX);
+            m_dflMean      = reader.readDouble(MEAN);
+            m_dflM2        = reader.readDouble(M2);
+            m_nBucketWidth = reader.readInt(WIDTH);
+            m_alBucket     = reader.readLongArray(HISTOGRAM);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void writeExternal(PofWriter writer)
+                throws IOException
+        {
+            writer.writeLong(COUNT, m_cCount);
+            writer.writeDouble(MIN, m_dflMin);
+            writer.writeDouble(MAX, m_dflMax);
+            writer.writeDouble(MEAN, m_dflMean);
+            writer.writeDouble(M2, m_dflM2);
+            writer.writeInt(WIDTH, m_nBucketWidth);
+            writer.writeLongArray(HISTOGRAM, m_alBucket);
+        }
+
+        // ----- Object methods ---------------------------------------------
+
+        /**
+         * {@inheritDoc}
+         */
+        public String toString()
+        {
+            return "count=" + m_cCount
+                   + String.format(", min=%.2f, max=%.2f, mean=%.2f, stddev=%.2f",
+                           m_dflMin, m_dflMax, getMean(), getStandardDeviation())
+                   + ", histogram(width=" + m_nBucketWidth + ")=" + Arrays.toString(m_alBucket);
+        }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+         * The POF index for the count.
+         */
+        public static final int COUNT = 0;
+
+        /**
+         * The POF index for the minimum.
+         */
+        public static final int MIN = 1;
+
+        /**
+         * The POF index for the maximum.
+         */
+        public static final int MAX = 2;
+
+        /**
+         * The POF index for the mean.
+         */
+        public static final int MEAN = 3;
+
+        /**
+         * The POF index for the sum of squared differences from the mean.
+         */
+        public static final int M2 = 4;
+
+        /**
+         * The POF index for the bucket width.
+         */
+        public static final int WIDTH = 5;
+
+        /**
+         * The POF index for the histogram.
+         */
+        public static final int HISTOGRAM = 6;
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The number of values.
+         */
+        private long m_cCount;
+
+        /**
+         * The smallest value.
+         */
+        private double m_dflMin;
+
+        /**
+         * The largest value.
+         */
+        private double m_dflMax;
+
+        /**
+         * The running mean.
+         */
+        private double m_dflMean;
+
+        /**
+         * The sum of squared differences from the running mean.
+         */
+        private double m_dflM2;
+
+        /**
+         * The width of a histogram bucket.
+         */
+        private int m_nBucketWidth;
+
+        /**
+         * The histogram bucket counts.
+         */
+        private long[] m_alBucket;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF index for the extractor.
+     */
+    public static final int EXTRACTOR = 0;
+
+    /**
+     * The POF index for the bucket width.
+     */
+    public static final int BUCKET_WIDTH = 1;
+
+    /**
+     * The POF index for the number of buckets.
+     */
+    public static final int BUCKETS = 2;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The extractor of the numeric attribute.
+     */
+    private ValueExtractor<? super V, ? extends Number> m_extractor;
+
+    /**
+     * The width of a histogram bucket.
+     */
+    private int m_nBucketWidth;
+
+    /**
+     * The number of histogram buckets.
+     */
+    private int m_cBuckets;
+
+    /**
+     * The statistics accumulated by this aggregator.
+     */
+    private transient Statistics m_stats;
+}
@@ -0,0 +1,581 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 19:50
+ * @Version 1.0
+ * @Description
+ */
+import java.time.LocalDate;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Workload describes the seed and the value distributions used by the
+ * {@link ParallelDataGenerator}, so that generated data is repeatable and can
+ * reproduce the hot keys and skewed index selectivity of production data.
+ * <p/>
+ * The supported distributions are:
+ * <ul>
+ *   <li>last names and cities drawn either as fresh random names (the
+ *       default) or from a fixed vocabulary following a Zipf distribution;
+ *   </li>
+ *   <li>states drawn uniformly (the default) or with explicit weights;</li>
+ *   <li>birth dates drawn uniformly over 40 years around the epoch (the
+ *       default) or clustered normally around a center date;</li>
+ *   <li>a duplicate-key rate, the probability that a row repeats the key of
+ *       an earlier row in the same chunk.</li>
+ * </ul>
+ * A Workload is immutable once {@link #prepare() prepared} and may be shared
+ * by any number of threads; every random value is drawn from the caller's
+ * SplittableRandom.
+ *
+ * @author tom  2026.10.17
+ */
+public class Workload
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a Workload using the default uniform distributions and a
+     * random seed.
+     */
+    public Workload()
+    {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Construct a Workload using the default uniform distributions.
+     *
+     * @param lSeed  the seed of all random values
+     */
+    public Workload(long lSeed)
+    {
+        m_lSeed = lSeed;
+    }
+
+    /**
+     * Parse a workload specification. The specification is a comma separated
+     * list of any of the following settings:
+     * <pre>
+     *   last=zipf:[exponent]:[vocabulary size]
+     *   city=zipf:[exponent]:[vocabulary size]
+     *   state=[code]:[weight];[code]:[weight];...
+     *   birth=[yyyy-MM-dd]:[standard deviation in days]
+     *   dup=[duplicate-key rate]
+     * </pre>
+     * States not listed in a state setting have a weight of zero.
+     *
+     * @param lSeed  the seed of all random values
+     * @param sSpec  the specification, may be null or empty
+     *
+     * @return the prepared Workload
+     */
+    public static Workload parse(long lSeed, String sSpec)
+    {
+        Workload workload = new Workload(lSeed);
+        if (sSpec != null && !sSpec.isEmpty())
+        {
+            for (String sSetting : sSpec.split(","))
+            {
+                int ofEq = sSetting.indexOf('=');
+                if (ofEq < 0)
+                {
+                    throw new IllegalArgumentException("malformed workload setting: " + sSetting);
+                }
+
+                String   sName  = sSetting.substring(0, ofEq).trim();
+                String   sValue = sSetting.substring(ofEq + 1).trim();
+                String[] asPart = sValue.split(":");
+
+                switch (sName)
+                {
+                    case "last":
+                    case "city":
+                        if (asPart.length != 3 || !asPart[0].equals("zipf"))
+                        {
+                            throw new IllegalArgumentException("malformed workload setting: " + sSetting);
+                        }
+                        double dflExp = Double.parseDouble(asPart[1]);
+                        int    cVocab = Integer.parseInt(asPart[2]);
+                        if (sName.equals("last"))
+                        {
+                            workload.setLastNameZipf(dflExp, cVocab);
+                        }
+                        else
+                        {
+                            workload.setCityZipf(dflExp, cVocab);
+                        }
+                        break;
+
+                    case "state":
+                        double[] adflWeight = new double[DataGenerator.STATE_CODES.length];
+                        for (String sWeight : sValue.split(";"))
+                        {
+                            String[] as     = sWeight.split(":");
+                            int      nState = Arrays.asList(DataGenerator.STATE_CODES).indexOf(as[0].trim());
+                            if (as.length != 2 || nState < 0)
+                            {
+                                throw new IllegalArgumentException("malformed state weight: " + sWeight);
+                            }
+                            adflWeight[nState] = Double.parseDouble(as[1]);
+                        }
+                        workload.setStateWeights(adflWeight);
+                        break;
+
+                    case "birth":
+                        if (asPart.length != 2)
+                        {
+                            throw new IllegalArgumentException("malformed workload setting: " + sSetting);
+                        }
+                        workload.setBirthCluster(LocalDate.parse(asPart[0]), Double.parseDouble(asPart[1]));
+                        break;
+
+                    case "dup":
+                        workload.setDuplicateRate(Double.parseDouble(sValue));
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException("unknown workload setting: " + sName);
+                }
+            }
+        }
+        return workload.prepare();
+    }
+
+    // ----- Workload methods -----------------------------------------------
+
+    /**
+     * Build the vocabularies and cumulative distributions. Must be called
+     * once the distributions have been configured and before the Workload is
+     * used.
+     *
+     * @return this Workload
+     */
+    public Workload prepare()
+    {
+        // the vocabularies are derived from the seed, independently of the
+        // row stream
+        SplittableRandom rand = new SplittableRandom(m_lSeed ^ VOCABULARY_SALT);
+
+        m_vocabLast    = m_cLastVocab == 0 ? null : new Vocabulary(rand, m_cLastVocab, m_dflLastExp);
+        m_vocabCity    = m_cCityVocab == 0 ? null : new Vocabulary(rand, m_cCityVocab, m_dflCityExp);
+        m_adflStateCdf = m_adflStateWeight == null ? null : cumulative(m_adflStateWeight);
+        return this;
+    }
+
+    /**
+     * Return the ASCII bytes of the next last name.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the last name
+     */
+    public byte[] nextLastName(SplittableRandom rand)
+    {
+        return m_vocabLast == null ? randomName(rand) : m_vocabLast.next(rand);
+    }
+
+    /**
+     * Return the ASCII bytes of the last name of a row of a chunk, repeating
+     * the last name, and so the key, of one of the recent rows of the chunk
+     * at the {@link #getDuplicateRate duplicate-key rate}.
+     *
+     * @param rand       the random number generator of the chunk
+     * @param aabRecent  the last names of the most recent rows of the chunk,
+     *                   {@link #DUPLICATE_WINDOW} long
+     * @param iRow       the index of the row within the chunk
+     *
+     * @return the last name
+     */
+    public byte[] nextLastName(SplittableRandom rand, byte[][] aabRecent, int iRow)
+    {
+        byte[] abLast = iRow > 0 && rand.nextDouble() < m_dflDuplicateRate
+                        ? aabRecent[rand.nextInt(Math.min(iRow, aabRecent.length))]
+                        : nextLastName(rand);
+        aabRecent[iRow % aabRecent.length] = abLast;
+        return abLast;
+    }
+
+    /**
+     * Return the ASCII bytes of the next city.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the city
+     */
+    public byte[] nextCity(SplittableRandom rand)
+    {
+        return m_vocabCity == null ? randomName(rand) : m_vocabCity.next(rand);
+    }
+
+    /**
+     * Return the next state code.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the state code
+     */
+    public String nextState(SplittableRandom rand)
+    {
+        String[] asState = DataGenerator.STATE_CODES;
+        double[] adflCdf = m_adflStateCdf;
+
+        return adflCdf == null
+               ? asState[rand.nextInt(asState.length)]
+               : asState[search(adflCdf, rand.nextDouble())];
+    }
+
+    /**
+     * Return the next birth date as a day relative to the epoch.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the epoch day of the birth date
+     */
+    public long nextBirthDay(SplittableRandom rand)
+    {
+        if (m_dtBirthCenter == null)
+        {
+            return rand.nextInt(365 * 40) - (365 * 20);
+        }
+
+        // Box-Muller transform; SplittableRandom has no nextGaussian()
+        double dflGauss = Math.sqrt(-2.0 * Math.log(1.0 - rand.nextDouble()))
+                          * Math.cos(2.0 * Math.PI * rand.nextDouble());
+        long   lDay     = m_dtBirthCenter.toEpochDay() + Math.round(dflGauss * m_dflBirthStdDev);
+
+        return Math.max(MIN_BIRTH_DAY, Math.min(MAX_BIRTH_DAY, lDay));
+    }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the seed of all random values.
+     *
+     * @return the seed
+     */
+    public long getSeed()
+    {
+        return m_lSeed;
+    }
+
+    /**
+     * Draw last names from a vocabulary following a Zipf distribution.
+     *
+     * @param dflExp  the Zipf exponent; zero draws uniformly
+     * @param cVocab  the number of distinct last names
+     */
+    public void setLastNameZipf(double dflExp, int cVocab)
+    {
+        checkZipf(dflExp, cVocab);
+        m_dflLastExp = dflExp;
+        m_cLastVocab = cVocab;
+    }
+
+    /**
+     * Draw cities from a vocabulary following a Zipf distribution.
+     *
+     * @param dflExp  the Zipf exponent; zero draws uniformly
+     * @param cVocab  the number of distinct cities
+     */
+    public void setCityZipf(double dflExp, int cVocab)
+    {
+        checkZipf(dflExp, cVocab);
+        m_dflCityExp = dflExp;
+        m_cCityVocab = cVocab;
+    }
+
+    /**
+     * Draw states with the specified relative weights.
+     *
+     * @param adflWeight  the weights, indexed like the DataGenerator state
+     *                    codes
+     */
+    public void setStateWeights(double[] adflWeight)
+    {
+        if (adflWeight.length != DataGenerator.STATE_CODES.length)
+        {
+            throw new IllegalArgumentException("expected " + DataGenerator.STATE_CODES.length
+                    + " state weights: " + adflWeight.length);
+        }
+        m_adflStateWeight = adflWeight.clone();
+    }
+
+    /**
+     * Cluster birth dates normally around the specified date.
+     *
+     * @param dtCenter      the center of the distribution
+     * @param dflStdDevDays the standard deviation in days
+     */
+    public void setBirthCluster(LocalDate dtCenter, double dflStdDevDays)
+    {
+        if (dflStdDevDays < 0)
+        {
+            throw new IllegalArgumentException("negative standard deviation: " + dflStdDevDays);
+        }
+        m_dtBirthCenter  = dtCenter;
+        m_dflBirthStdDev = dflStdDevDays;
+    }
+
+    /**
+     * Return the probability that a row repeats the key of an earlier row.
+     *
+     * @return the duplicate-key rate
+     */
+    public double getDuplicateRate()
+    {
+        return m_dflDuplicateRate;
+    }
+
+    /**
+     * Set the probability that a row repeats the key of an earlier row in
+     * the same chunk, producing updates of hot keys during a load.
+     *
+     * @param dflRate  the duplicate-key rate, between 0 and 1
+     */
+    public void setDuplicateRate(double dflRate)
+    {
+        if (dflRate < 0.0 || dflRate > 1.0)
+        {
+            throw new IllegalArgumentException("invalid duplicate rate: " + dflRate);
+        }
+        m_dflDuplicateRate = dflRate;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return a fresh random name of 4 to 10 letters.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the name
+     */
+    static byte[] randomName(SplittableRandom rand)
+    {
+        byte[] ab = new byte[4 + rand.nextInt(7)];
+
+        ab[0] = (byte) ('A' + rand.nextInt(26));
+        for (int i = 1; i < ab.length; ++i)
+        {
+            ab[i] = (byte) ('a' + rand.nextInt(26));
+        }
+        return ab;
+    }
+
+    /**
+     * Validate Zipf parameters.
+     *
+     * @param dflExp  the exponent
+     * @param cVocab  the vocabulary size
+     */
+    private static void checkZipf(double dflExp, int cVocab)
+    {
+        if (dflExp < 0.0 || cVocab < 1)
+        {
+            throw new IllegalArgumentException("invalid zipf parameters: exponent="
+                    + dflExp + ", vocabulary=" + cVocab);
+        }
+    }
+
+    /**
+     * Return the normalized cumulative distribution of the weights.
+     *
+     * @param adflWeight  the weights
+     *
+     * @return the cumulative distribution, ending with 1.0
+     */
+    private static double[] cumulative(double[] adflWeight)
+    {
+        double[] adflCdf = new double[adflWeight.length];
+        double   dflSum  = 0.0;
+
+        for (int i = 0; i < adflWeight.length; ++i)
+        {
+            if (adflWeight[i] < 0.0)
+            {
+                throw new IllegalArgumentException("negative weight: " + adflWeight[i]);
+            }
+            adflCdf[i] = dflSum += adflWeight[i];
+        }
+        if (dflSum <= 0.0)
+        {
+            throw new IllegalArgumentException("weights must not all be zero");
+        }
+        for (int i = 0; i < adflCdf.length; ++i)
+        {
+            adflCdf[i] /= dflSum;
+        }
+        adflCdf[adflCdf.length - 1] = 1.0;
+        return adflCdf;
+    }
+
+    /**
+     * Return the index of the first cumulative probability exceeding the
+     * specified value.
+     *
+     * @param adflCdf  the cumulative distribution
+     * @param dfl      a value in [0, 1)
+     *
+     * @return the selected index
+     */
+    private static int search(double[] adflCdf, double dfl)
+    {
+        int nLow  = 0;
+        int nHigh = adflCdf.length - 1;
+
+        while (nLow < nHigh)
+        {
+            int nMid = (nLow + nHigh) >>> 1;
+            if (adflCdf[nMid] > dfl)
+            {
+                nHigh = nMid;
+            }
+            else
+            {
+                nLow = nMid + 1;
+            }
+        }
+        return nLow;
+    }
+
+    // ----- inner class: Vocabulary ----------------------------------------
+
+    /**
+     * A fixed set of names drawn following a Zipf distribution, the name at
+     * rank k having a probability proportional to 1 / k^s.
+     */
+    protected static class Vocabulary
+    {
+        /**
+         * Construct a Vocabulary.
+         *
+         * @param rand    the random number generator used to create names
+         * @param cNames  the number of names
+         * @param dflExp  the Zipf exponent
+         */
+        protected Vocabulary(SplittableRandom rand, int cNames, double dflExp)
+        {
+            byte[][] aab        = new byte[cNames][];
+            double[] adflWeight = new double[cNames];
+
+            for (int i = 0; i < cNames; ++i)
+            {
+                aab[i]        = randomName(rand);
+                adflWeight[i] = 1.0 / Math.pow(i + 1, dflExp);
+            }
+
+            m_aabName = aab;
+            m_adflCdf = cumulative(adflWeight);
+        }
+
+        /**
+         * Return the next name.
+         *
+         * @param rand  the random number generator
+         *
+         * @return the name
+         */
+        protected byte[] next(SplittableRandom rand)
+        {
+            return m_aabName[search(m_adflCdf, rand.nextDouble())];
+        }
+
+        /**
+         * The names, most frequent first.
+         */
+        private final byte[][] m_aabName;
+
+        /**
+         * The cumulative distribution of the names.
+         */
+        private final double[] m_adflCdf;
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of recent rows a duplicate key is drawn from.
+     */
+    public static final int DUPLICATE_WINDOW = 1024;
+
+    /**
+     * The earliest clustered birth date, 1900-01-01.
+     */
+    private static final long MIN_BIRTH_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+
+    /**
+     * The latest clustered birth date, 2099-12-31.
+     */
+    private static final long MAX_BIRTH_DAY = LocalDate.of(2099, 12, 31).toEpochDay();
+
+    /**
+     * Mixed into the seed to derive the vocabularies.
+     */
+    private static final long VOCABULARY_SALT = 0x9E3779B97F4A7C15L;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The seed of all random values.
+     */
+    private final long m_lSeed;
+
+    /**
+     * The Zipf exponent of last names.
+     */
+    private double m_dflLastExp;
+
+    /**
+     * The number of distinct last names, or zero for fresh random names.
+     */
+    private int m_cLastVocab;
+
+    /**
+     * The Zipf exponent of cities.
+     */
+    private double m_dflCityExp;
+
+    /**
+     * The number of distinct cities, or zero for fresh random names.
+     */
+    private int m_cCityVocab;
+
+    /**
+     * The state weights, or null for uniform states.
+     */
+    private double[] m_adflStateWeight;
+
+    /**
+     * The center of the birth dates, or null for uniform birth dates.
+     */
+    private LocalDate m_dtBirthCenter;
+
+    /**
+     * The standard deviation of the birth dates in days.
+     */
+    private double m_dflBirthStdDev;
+
+    /**
+     * The probability that a row repeats the key of an earlier row.
+     */
+    private double m_dflDuplicateRate;
+
+    /**
+     * The last name vocabulary, or null.
+     */
+    private Vocabulary m_vocabLast;
+
+    /**
+     * The city vocabulary, or null.
+     */
+    private Vocabulary m_vocabCity;
+
+    /**
+     * The cumulative state distribution, or null.
+     */
+    private double[] m_adflStateCdf;
+}
@@ -185,12 +185,17 @@ public class Address
     public void readExternal(PofReader reader)
             throws IOException
     {
-        m_sStreet1 = reader.readString(STREET_1);
-        m_sStreet2 = reader.readString(STREET_2);
-        m_sCity    = reader.readString(CITY);
-        m_sState   = reader.readString(STATE);
+        StringTable table = StringTable.SHARED;
+
+        // the street and city lines of a work address are fixed while those
+        // of a home address are near unique; the table only admits the
+        // latter when they do not displace a frequent value
+        m_sStreet1 = table.canonicalize(reader.readString(STREET_1));
+        m_sStreet2 = table.canonicalize(reader.readString(STREET_2));
+        m_sCity    = table.canonicalize(reader.readString(CITY));
+        m_sState   = table.canonicalize(reader.readString(STATE));
         m_sZip     = reader.readString(ZIP);
-        m_sCountry = reader.readString(COUNTRY);
+        m_sCountry = table.canonicalize(reader.readString(COUNTRY));
     }
 
     /**
@@ -217,11 +217,11 @@ public class Contact
     public void readExternal(PofReader reader)
             throws IOException
     {
-        m_sFirstName     = reader.readString(FIRSTNAME);
+        m_sFirstName     = StringTable.SHARED.canonicalize(reader.readString(FIRSTNAME));
         m_sLastName      = reader.readString(LASTNAME);
         m_addrHome       = reader.readObject(HOME_ADDRESS);
         m_addrWork       = reader.readObject(WORK_ADDRESS);
-        m_mapPhoneNumber = reader.readMap(PHONE_NUMBERS, new HashMap<>());
+        m_mapPhoneNumber = reader.readMap(PHONE_NUMBERS, new PhoneNumberMap());
         m_dtBirth        = reader.readLocalDate(BIRTH_DATE);
         m_nAge           = reader.readInt(AGE);
     }
@@ -284,6 +284,31 @@ public class Contact
         m_nAge = Period.between(m_dtBirth, LocalDate.now()).getYears();
     }
 
+    // ----- inner class: PhoneNumberMap ------------------------------------
+
+    /**
+     * HashMap of phone numbers that resolves the phone number types through
+     * the {@link StringTable#SHARED shared StringTable} as they are put, so
+     * that the map read from POF holds the canonical keys without being
+     * copied.
+     */
+    private static class PhoneNumberMap
+            extends HashMap<String, PhoneNumber>
+    {
+        /**
+         * {@inheritDoc}
+         */
+        public PhoneNumber put(String sType, PhoneNumber phone)
+        {
+            return super.put(StringTable.SHARED.canonicalize(sType), phone);
+        }
+
+        /**
+         * The serialization version, as HashMap is Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+    }
+
     // ----- constants -------------------------------------------------------
 
     /**
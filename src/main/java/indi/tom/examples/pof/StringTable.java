@@ -0,0 +1,273 @@
+package indi.tom.examples.pof;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/17 18:50
+ * @Version 1.0
+ * @Description
+ */
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * StringTable canonicalizes highly repetitive String values, such as state
+ * and country codes, so that all resident objects holding an equal value
+ * share a single instance.
+ * <p/>
+ * The table is a fixed size, direct-mapped cache: each value hashes to a
+ * single slot, which also holds a small saturating count of the hits on its
+ * occupant. A hit increments the count and a miss decrements it; a value
+ * missing from its slot only replaces the occupant once the count drops to
+ * zero. A frequent value therefore stays resident even when the slot is
+ * shared with a stream of high-cardinality values, such as city names,
+ * which are returned uncanonicalized, and the table never grows. Slots are
+ * read and written without locking; a lost update merely costs a duplicate
+ * instance or a miscounted hit, and the immutability of String makes the
+ * unsynchronized publication safe.
+ * <p/>
+ * Values longer than {@link #MAX_LENGTH} characters are never canonicalized.
+ *
+ * @author tom  2026.10.17
+ */
+public class StringTable
+{
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a StringTable.
+     *
+     * @param cSlots  the number of slots, rounded up to a power of two
+     */
+    public StringTable(int cSlots)
+    {
+        if (cSlots < 1 || cSlots > 1 << 30)
+        {
+            throw new IllegalArgumentException("invalid slot count: " + cSlots);
+        }
+
+        int c = Integer.highestOneBit(cSlots);
+        if (c < cSlots)
+        {
+            c <<= 1;
+        }
+        m_asSlot  = new String[c];
+        m_abCount = new byte[c];
+        m_nMask   = c - 1;
+    }
+
+    // ----- StringTable methods --------------------------------------------
+
+    /**
+     * Return the canonical instance of the specified String.
+     *
+     * @param s  the String, may be null
+     *
+     * @return an equal String, possibly the one passed in
+     */
+    public String canonicalize(String s)
+    {
+        if (s == null || s.length() > MAX_LENGTH)
+        {
+            return s;
+        }
+
+        String[] as    = m_asSlot;
+        int      nSlot = spread(s.hashCode()) & m_nMask;
+        String   sOld  = as[nSlot];
+
+        if (s.equals(sOld))
+        {
+            hit(nSlot);
+            return sOld;
+        }
+        if (admit(nSlot, sOld))
+        {
+            as[nSlot] = s;
+        }
+        return s;
+    }
+
+    /**
+     * Return the canonical String for the specified range of UTF-8 bytes.
+     * A String is only created if the value is not already in the table.
+     *
+     * @param buf  the buffer holding the bytes
+     * @param of   the index of the first byte
+     * @param cb   the number of bytes
+     *
+     * @return the decoded String
+     */
+    public String canonicalize(ByteBuffer buf, int of, int cb)
+    {
+        if (cb == 0)
+        {
+            return "";
+        }
+        if (cb > MAX_LENGTH)
+        {
+            return decode(buf, of, cb);
+        }
+
+        // the hash matches String.hashCode() for ASCII values
+        int nHash = 0;
+        for (int i = 0; i < cb; ++i)
+        {
+            int b = buf.get(of + i);
+            if (b < 0)
+            {
+                return canonicalize(decode(buf, of, cb));
+            }
+            nHash = 31 * nHash + b;
+        }
+
+        String[] as    = m_asSlot;
+        int      nSlot = spread(nHash) & m_nMask;
+        String   sOld  = as[nSlot];
+
+        if (sOld != null && equals(sOld, buf, of, cb))
+        {
+            hit(nSlot);
+            return sOld;
+        }
+
+        String s = decode(buf, of, cb);
+        if (admit(nSlot, sOld))
+        {
+            as[nSlot] = s;
+        }
+        return s;
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Record a hit on the occupant of a slot.
+     *
+     * @param nSlot  the slot
+     */
+    private void hit(int nSlot)
+    {
+        byte[] ab = m_abCount;
+        if (ab[nSlot] < MAX_COUNT)
+        {
+            ++ab[nSlot];
+        }
+    }
+
+    /**
+     * Record a miss on a slot and return whether the missing value should
+     * replace its occupant.
+     *
+     * @param nSlot  the slot
+     * @param sOld   the occupant of the slot, or null
+     *
+     * @return true if the missing value replaces the occupant
+     */
+    private boolean admit(int nSlot, String sOld)
+    {
+        byte[] ab = m_abCount;
+        if (sOld == null || ab[nSlot] <= 1)
+        {
+            ab[nSlot] = 1;
+            return true;
+        }
+        --ab[nSlot];
+        return false;
+    }
+
+    /**
+     * Return true if the String consists of exactly the specified ASCII
+     * bytes.
+     *
+     * @param s    the String
+     * @param buf  the buffer holding the bytes
+     * @param of   the index of the first byte
+     * @param cb   the number of bytes
+     *
+     * @return true if equal
+     */
+    private static boolean equals(String s, ByteBuffer buf, int of, int cb)
+    {
+        if (s.length() != cb)
+        {
+            return false;
+        }
+        for (int i = 0; i < cb; ++i)
+        {
+            if (s.charAt(i) != buf.get(of + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode a range of UTF-8 bytes.
+     *
+     * @param buf  the buffer holding the bytes
+     * @param of   the index of the first byte
+     * @param cb   the number of bytes
+     *
+     * @return the decoded String
+     */
+    private static String decode(ByteBuffer buf, int of, int cb)
+    {
+        byte[] ab = new byte[cb];
+        for (int i = 0; i < cb; ++i)
+        {
+            ab[i] = buf.get(of + i);
+        }
+        return new String(ab, 0, cb, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Spread the high bits of a hash code into the low bits used to select a
+     * slot.
+     *
+     * @param nHash  the hash code
+     *
+     * @return the spread hash code
+     */
+    private static int spread(int nHash)
+    {
+        return nHash ^ (nHash >>> 16);
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum length of a canonicalized value.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    /**
+     * The maximum count of the hits on the occupant of a slot, i.e. the
+     * number of consecutive misses needed to evict a frequent value.
+     */
+    private static final byte MAX_COUNT = 16;
+
+    /**
+     * The table shared by the contact parsers and the POF deserialization of
+     * the contact types.
+     */
+    public static final StringTable SHARED = new StringTable(16 * 1024);
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The slots, each holding the most recent value hashed to it.
+     */
+    private final String[] m_asSlot;
+
+    /**
+     * The count of the hits on the occupant of each slot, less its misses.
+     */
+    private final byte[] m_abCount;
+
+    /**
+     * The mask selecting a slot from a hash code.
+     */
+    private final int m_nMask;
+}
@@ -0,0 +1,195 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 10:00
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import com.tangosol.util.Filter;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.AbstractExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+import com.tangosol.util.filter.BetweenFilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static com.tangosol.util.Filters.equal;
+import static com.tangosol.util.Filters.greater;
+import static com.tangosol.util.Filters.greaterEqual;
+import static com.tangosol.util.Filters.less;
+import static com.tangosol.util.Filters.lessEqual;
+import static com.tangosol.util.Filters.not;
+import static com.tangosol.util.Filters.notEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AgeFilters}.
+ *
+ * @author tom  2026.10.18
+ */
+public class AgeFiltersTest
+{
+    /**
+     * A contact born on February 29th comes of age on March 1st in a common
+     * year, and on February 29th in a leap year.
+     */
+    @Test
+    public void testLeapDayBirthday()
+    {
+        Contact contact = contact(LocalDate.of(2000, 2, 29));
+
+        Filter<Contact> filter = greaterEqual(AGE, 18);
+        assertFalse(AgeFilters.rewrite(filter, LocalDate.of(2018, 2, 28)).evaluate(contact));
+        assertTrue(AgeFilters.rewrite(filter, LocalDate.of(2018, 3, 1)).evaluate(contact));
+
+        filter = equal(AGE, 20);
+        assertFalse(AgeFilters.rewrite(filter, LocalDate.of(2020, 2, 28)).evaluate(contact));
+        assertTrue(AgeFilters.rewrite(filter, LocalDate.of(2020, 2, 29)).evaluate(contact));
+        assertTrue(AgeFilters.rewrite(filter, LocalDate.of(2021, 2, 28)).evaluate(contact));
+        assertFalse(AgeFilters.rewrite(filter, LocalDate.of(2021, 3, 1)).evaluate(contact));
+    }
+
+    /**
+     * The exclusive bounds of a between filter exclude the bound itself.
+     */
+    @Test
+    public void testExclusiveBounds()
+    {
+        LocalDate dtToday = LocalDate.of(2026, 10, 18);
+        Contact   contact = contact(dtToday.minusYears(30));
+
+        assertTrue(evaluate(new BetweenFilter<>(AGE, 30, 40, true, true), dtToday, contact));
+        assertFalse(evaluate(new BetweenFilter<>(AGE, 30, 40, false, true), dtToday, contact));
+        assertTrue(evaluate(new BetweenFilter<>(AGE, 20, 30, true, true), dtToday, contact));
+        assertFalse(evaluate(new BetweenFilter<>(AGE, 20, 30, true, false), dtToday, contact));
+        assertFalse(evaluate(new BetweenFilter<>(AGE, 29, 31, false, false), dtToday.minusDays(1), contact));
+        assertTrue(evaluate(new BetweenFilter<>(AGE, 29, 31, false, false), dtToday, contact));
+    }
+
+    /**
+     * Filters that do not compare the age of the value are returned
+     * unchanged.
+     */
+    @Test
+    public void testUnchanged()
+    {
+        Filter<Contact> filter = greater(new ReflectionExtractor<Contact, Integer>("getAge", null, AbstractExtractor.KEY), 30);
+        assertSame(filter, AgeFilters.rewrite(filter));
+
+        filter = equal(ValueExtractor.of(Contact::getFirstName), "Tom");
+        assertSame(filter, AgeFilters.rewrite(filter));
+    }
+
+    /**
+     * The rewritten filters select the same contacts as the age calculated
+     * by Period.between, for random birth dates and days.
+     */
+    @Test
+    public void testRandomAgainstPeriod()
+    {
+        Random    rand   = new Random(42L);
+        LocalDate dtBase = LocalDate.of(1920, 1, 1);
+
+        for (int i = 0; i < 100_000; ++i)
+        {
+            LocalDate dtBirth = dtBase.plusDays(rand.nextInt(365 * 90));
+            LocalDate dtToday = dtBirth.plusDays(rand.nextInt(365 * 100));
+            int       nActual = Period.between(dtBirth, dtToday).getYears();
+            int       nAge    = nActual - 2 + rand.nextInt(5);
+            int       nUpper  = nAge + rand.nextInt(3);
+            boolean   fLower  = rand.nextBoolean();
+            boolean   fUpper  = rand.nextBoolean();
+
+            Filter<Contact> filter;
+            boolean         fExpected;
+            switch (rand.nextInt(8))
+            {
+                case 0:
+                    filter    = equal(AGE, nAge);
+                    fExpected = nActual == nAge;
+                    break;
+                case 1:
+                    filter    = notEqual(AGE, nAge);
+                    fExpected = nActual != nAge;
+                    break;
+                case 2:
+                    filter    = greater(AGE, nAge);
+                    fExpected = nActual > nAge;
+                    break;
+                case 3:
+                    filter    = greaterEqual(AGE, nAge);
+                    fExpected = nActual >= nAge;
+                    break;
+                case 4:
+                    filter    = less(AGE, nAge);
+                    fExpected = nActual < nAge;
+                    break;
+                case 5:
+                    filter    = lessEqual(AGE, nAge);
+                    fExpected = nActual <= nAge;
+                    break;
+                case 6:
+                    filter    = not(greater(AGE, nAge));
+                    fExpected = nActual <= nAge;
+                    break;
+                default:
+                    filter    = new BetweenFilter<>(AGE, nAge, nUpper, fLower, fUpper);
+                    fExpected = (fLower ? nActual >= nAge : nActual > nAge)
+                                && (fUpper ? nActual <= nUpper : nActual < nUpper);
+                    break;
+            }
+
+            Filter<Contact> filterNew = AgeFilters.rewrite(filter, dtToday);
+            assertNotSame(filter, filterNew);
+            assertEquals(fExpected, filterNew.evaluate(contact(dtBirth)),
+                    () -> filter + " born " + dtBirth + " on " + dtToday);
+        }
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Rewrite a filter and evaluate it against a contact.
+     *
+     * @param filter   the filter
+     * @param dtToday  the day the ages are calculated on
+     * @param contact  the contact
+     *
+     * @return the result of the rewritten filter
+     */
+    private static boolean evaluate(Filter<Contact> filter, LocalDate dtToday, Contact contact)
+    {
+        return AgeFilters.rewrite(filter, dtToday).evaluate(contact);
+    }
+
+    /**
+     * Create a contact born on the specified day.
+     *
+     * @param dtBirth  the birth date
+     *
+     * @return the contact
+     */
+    private static Contact contact(LocalDate dtBirth)
+    {
+        return new Contact("Tom", "Smith", null, null, Collections.emptyMap(), dtBirth);
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The extractor of the stored age.
+     */
+    private static final ValueExtractor<Contact, Integer> AGE = ValueExtractor.of(Contact::getAge);
+}
@@ -0,0 +1,152 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 11:30
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.KeyExtractor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link BitmapIndex} and its {@link BitmapIndex.SlotTable}.
+ *
+ * @author tom  2026.10.18
+ */
+public class BitmapIndexTest
+{
+    /**
+     * A slot is held until every index that acquired it releases it, and is
+     * then reused.
+     */
+    @Test
+    public void testSlotTableReferenceCount()
+    {
+        BitmapIndex.SlotTable slots = new BitmapIndex.SlotTable();
+
+        int nSlotA = slots.acquire("a");
+        int nSlotB = slots.acquire("b");
+        assertEquals(nSlotA, slots.acquire("a"));
+        assertEquals("a", slots.getKey(nSlotA));
+        assertTrue(slots.getAll().get(nSlotA));
+
+        slots.release(nSlotA);
+        assertEquals(nSlotA, slots.find("a"));
+        assertTrue(slots.getAll().get(nSlotA));
+
+        slots.release(nSlotA);
+        assertEquals(-1, slots.find("a"));
+        assertNull(slots.getKey(nSlotA));
+        assertFalse(slots.getAll().get(nSlotA));
+        assertEquals(nSlotB, slots.find("b"));
+
+        // the released slot is reused before a new one is assigned
+        assertEquals(nSlotA, slots.acquire("c"));
+        assertEquals(2, slots.getAll().cardinality());
+    }
+
+    /**
+     * Indexes sharing a slot table hold a key's slot until both have removed
+     * the entry, and destroying one releases only its own references.
+     */
+    @Test
+    public void testSharedSlots()
+    {
+        BitmapIndex.SlotTable slots = new BitmapIndex.SlotTable();
+        BitmapIndex indexValue = new BitmapIndex(new BitmapIndexExtractor<>(ValueExtractor.identity()), slots);
+        BitmapIndex indexKey   = new BitmapIndex(new BitmapIndexExtractor<>(new KeyExtractor<>()), slots);
+
+        for (int i = 0; i < 10; ++i)
+        {
+            indexValue.insert(new SimpleMapEntry<>(i, i % 2 == 0 ? "even" : "odd"));
+            indexKey.insert(new SimpleMapEntry<>(i, i % 2 == 0 ? "even" : "odd"));
+        }
+        assertEquals(10, slots.getAll().cardinality());
+        assertEquals(5, indexValue.getSlots("even").cardinality());
+
+        indexValue.delete(new SimpleMapEntry<>(4, "even"));
+        assertEquals(10, slots.getAll().cardinality());
+        assertSame(MapIndex.NO_VALUE, indexValue.get(4));
+        assertEquals(4, indexKey.get(4));
+
+        indexKey.delete(new SimpleMapEntry<>(4, "even"));
+        assertEquals(9, slots.getAll().cardinality());
+        assertEquals(-1, slots.find(4));
+
+        indexValue.update(new SimpleMapEntry<>(3, "even"));
+        assertEquals("even", indexValue.get(3));
+        assertEquals(5, indexValue.getSlots("even").cardinality());
+        assertEquals(4, indexValue.getSlots("odd").cardinality());
+
+        indexValue.clear();
+        assertEquals(9, slots.getAll().cardinality());
+        assertTrue(indexValue.getSlots("even").isEmpty());
+
+        indexKey.clear();
+        assertTrue(slots.getAll().isEmpty());
+    }
+
+    /**
+     * The bitmaps of an index match its contents after random updates.
+     */
+    @Test
+    public void testIndexContents()
+    {
+        BitmapIndex.SlotTable slots   = new BitmapIndex.SlotTable();
+        BitmapIndex           index   = new BitmapIndex(new BitmapIndexExtractor<>(ValueExtractor.identity()), slots);
+        String[]              asValue = {"MA", "NY", null};
+        String[]              asByKey = new String[100];
+        boolean[]             afByKey = new boolean[asByKey.length];
+        Random                rand    = new Random(42L);
+
+        for (int i = 0; i < 5_000; ++i)
+        {
+            int    nKey = rand.nextInt(asByKey.length);
+            String sNew = asValue[rand.nextInt(asValue.length)];
+            if (!afByKey[nKey])
+            {
+                index.insert(new SimpleMapEntry<>(nKey, sNew));
+                asByKey[nKey] = sNew;
+                afByKey[nKey] = true;
+            }
+            else if (rand.nextBoolean())
+            {
+                index.update(new SimpleMapEntry<>(nKey, sNew));
+                asByKey[nKey] = sNew;
+            }
+            else
+            {
+                index.delete(new SimpleMapEntry<>(nKey, asByKey[nKey]));
+                asByKey[nKey] = null;
+                afByKey[nKey] = false;
+            }
+        }
+
+        for (String sValue : asValue)
+        {
+            BitSet bitSet = new BitSet();
+            index.getSlots(sValue).forEach(bitSet::set);
+            for (int nKey = 0; nKey < asByKey.length; ++nKey)
+            {
+                int nSlot = slots.find(nKey);
+                assertEquals(afByKey[nKey] && Objects.equals(sValue, asByKey[nKey]),
+                        nSlot >= 0 && bitSet.get(nSlot), sValue + " " + nKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 13:30
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Address;
+import indi.tom.examples.pof.Contact;
+import com.tangosol.util.Filter;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.NotFilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static indi.tom.examples.contacts.QueryExample.HOME_AND_WORK_STATE;
+import static indi.tom.examples.contacts.QueryExample.HOME_STATE;
+import static indi.tom.examples.contacts.QueryExample.WORK_STATE;
+
+import static com.tangosol.util.Filters.any;
+import static com.tangosol.util.Filters.between;
+import static com.tangosol.util.Filters.equal;
+import static com.tangosol.util.Filters.greater;
+import static com.tangosol.util.Filters.in;
+import static com.tangosol.util.Filters.less;
+import static com.tangosol.util.Filters.not;
+import static com.tangosol.util.Filters.notEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CompositeFilter}.
+ *
+ * @author tom  2026.10.18
+ */
+public class CompositeFilterTest
+{
+    /**
+     * An and of conditions on both attributes of the tuple becomes a single
+     * CompositeFilter.
+     */
+    @Test
+    public void testPreferAnd()
+    {
+        Filter<?> filter = equal(HOME_STATE, "MA").and(notEqual(WORK_STATE, "MA"));
+
+        assertTrue(CompositeFilter.prefer(filter, HOME_AND_WORK_STATE) instanceof CompositeFilter);
+    }
+
+    /**
+     * The conditions on other attributes stay residual conditions of an and
+     * filter, after the CompositeFilter.
+     */
+    @Test
+    public void testPreferResidual()
+    {
+        Filter<?> filter = equal(HOME_STATE, "MA").and(greater(AGE, 30)).and(notEqual(WORK_STATE, "MA"));
+
+        Filter<?>[] aFilter = ((AllFilter) CompositeFilter.prefer(filter, HOME_AND_WORK_STATE)).getFilters();
+        assertEquals(2, aFilter.length);
+        assertTrue(aFilter[0] instanceof CompositeFilter);
+        assertEquals(greater(AGE, 30), aFilter[1]);
+    }
+
+    /**
+     * The conjunctions nested in or and not filters are rewritten, and the
+     * other branches are kept.
+     */
+    @Test
+    public void testPreferNested()
+    {
+        Filter<Contact> filterOther = less(AGE, 20);
+        Filter<?>       filterAnd   = equal(HOME_STATE, "MA").and(notEqual(WORK_STATE, "MA"));
+
+        Filter<?>   filter      = filterOther.or(not(filterAnd));
+
+        Filter<?>[] aFilter = ((AnyFilter) CompositeFilter.prefer(filter, HOME_AND_WORK_STATE)).getFilters();
+        assertSame(filterOther, aFilter[0]);
+        assertTrue(((NotFilter<?>) aFilter[1]).getFilter() instanceof CompositeFilter);
+    }
+
+    /**
+     * A filter with conditions on a single attribute of the tuple is returned
+     * unchanged.
+     */
+    @Test
+    public void testPreferUnchanged()
+    {
+        List<Filter<?>> listFilters = Arrays.asList(
+                equal(HOME_STATE, "MA"),
+                equal(HOME_STATE, "MA").and(greater(AGE, 30)),
+                equal(WORK_STATE, "MA").and(notEqual(WORK_STATE, "NY")),
+                any(equal(HOME_STATE, "MA"), notEqual(WORK_STATE, "MA")),
+                not(equal(HOME_STATE, "MA")));
+
+        for (Filter<?> filter : listFilters)
+        {
+            assertSame(filter, CompositeFilter.prefer(filter, HOME_AND_WORK_STATE), filter::toString);
+        }
+    }
+
+    /**
+     * A rewritten filter selects the same contacts as the original, both when
+     * evaluated and when the CompositeFilter is resolved by the index.
+     */
+    @Test
+    public void testEvaluate()
+    {
+        List<Filter<?>> listFilters = Arrays.asList(
+                equal(HOME_STATE, "MA").and(notEqual(WORK_STATE, "MA")),
+                equal(HOME_STATE, "MA").and(equal(WORK_STATE, "NY")),
+                equal(HOME_STATE, "MA").and(greater(WORK_STATE, "MA")).and(less(WORK_STATE, "NY")),
+                notEqual(HOME_STATE, "MA").and(in(WORK_STATE, new HashSet<>(Arrays.asList("MA", "NY")))),
+                between(HOME_STATE, "CT", "MA").and(notEqual(WORK_STATE, "CT")).and(greater(AGE, 40)),
+                not(equal(HOME_STATE, "NY").and(equal(WORK_STATE, "NY"))),
+                any(less(AGE, 20), equal(HOME_STATE, "CT").and(notEqual(WORK_STATE, null))));
+
+        Random                rand       = new Random(42L);
+        Map<Integer, Contact> mapContact = new HashMap<>();
+        CompositeIndex        index      = new CompositeIndex(HOME_AND_WORK_STATE);
+        for (int i = 0; i < 1_000; ++i)
+        {
+            Contact contact = contact(randomState(rand), randomState(rand),
+                    LocalDate.now().minusDays(rand.nextInt(80 * 365)));
+            mapContact.put(i, contact);
+            index.insert(new SimpleMapEntry<>(i, contact));
+        }
+        Map<ValueExtractor<?, ?>, MapIndex<?, ?, ?>> mapIndexes =
+                Collections.singletonMap(HOME_AND_WORK_STATE, index);
+
+        for (Filter<?> filter : listFilters)
+        {
+            Filter<?>   filterPrefer = CompositeFilter.prefer(filter, HOME_AND_WORK_STATE);
+            Set<Object> setExpected  = new HashSet<>();
+            for (Map.Entry<Integer, Contact> entry : mapContact.entrySet())
+            {
+                boolean fMatch = evaluate(filter, entry.getValue());
+                assertEquals(fMatch, evaluate(filterPrefer, entry.getValue()), filter::toString);
+                if (fMatch)
+                {
+                    setExpected.add(entry.getKey());
+                }
+            }
+
+            if (filterPrefer instanceof CompositeFilter)
+            {
+                Set<Object> setKeys = new HashSet<>(mapContact.keySet());
+                assertNull(((CompositeFilter<?, ?>) filterPrefer).applyIndex(mapIndexes, setKeys));
+                assertEquals(setExpected, setKeys, filter::toString);
+            }
+        }
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Evaluate a filter against a contact.
+     *
+     * @param filter   the filter
+     * @param contact  the contact
+     *
+     * @return true if the contact matches
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean evaluate(Filter<?> filter, Contact contact)
+    {
+        return ((Filter<Contact>) filter).evaluate(contact);
+    }
+
+    /**
+     * Return a random state, or null.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the state
+     */
+    private static String randomState(Random rand)
+    {
+        return STATES[rand.nextInt(STATES.length)];
+    }
+
+    /**
+     * Create a contact.
+     *
+     * @param sHomeState  the state of the home address
+     * @param sWorkState  the state of the work address
+     * @param dtBirth     the birth date
+     *
+     * @return the contact
+     */
+    private static Contact contact(String sHomeState, String sWorkState, LocalDate dtBirth)
+    {
+        return new Contact("John", "Doe", new Address("1 Main St", null, "Springfield", sHomeState, "01101", "US"),
+                new Address("2 Main St", null, "Springfield", sWorkState, "01101", "US"),
+                Collections.emptyMap(), dtBirth);
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The extractor of the age.
+     */
+    private static final ValueExtractor<Contact, Integer> AGE = Contact::getAge;
+
+    /**
+     * The states of the random contacts.
+     */
+    private static final String[] STATES = {"CT", "MA", "ME", "NY", null};
+}
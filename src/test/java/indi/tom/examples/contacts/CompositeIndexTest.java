@@ -0,0 +1,174 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 13:30
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Address;
+import indi.tom.examples.pof.Contact;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for {@link CompositeIndex}.
+ *
+ * @author tom  2026.10.18
+ */
+public class CompositeIndexTest
+{
+    /**
+     * A prefix as long as the tuple is an exact lookup, a shorter prefix reads
+     * only the tuples starting with it and an empty prefix reads every tuple.
+     */
+    @Test
+    public void testGetKeys()
+    {
+        CompositeIndex index = createIndex();
+
+        assertEquals(keys(1, 2), index.getKeys(tuple("MA", "NY"), null));
+        assertEquals(keys(3), index.getKeys(tuple("MA", "MA"), null));
+        assertEquals(keys(), index.getKeys(tuple("MA", "CT"), null));
+        assertEquals(keys(6), index.getKeys(tuple("MA", null), null));
+
+        // the prefix does not leak into the tuples before or after it
+        assertEquals(keys(1, 2, 3, 6), index.getKeys(tuple("MA"), null));
+        assertEquals(keys(4), index.getKeys(tuple("ME"), null));
+        assertEquals(keys(5), index.getKeys(tuple("CT"), null));
+        assertEquals(keys(), index.getKeys(tuple("M"), null));
+        assertEquals(keys(7), index.getKeys(tuple((Object) null), null));
+
+        assertEquals(keys(1, 2, 3, 4, 5, 6, 7), index.getKeys(tuple(), null));
+        assertFalse(index.isPartial());
+    }
+
+    /**
+     * The predicate is evaluated against the distinct tuples read by the
+     * probe, including an exact lookup.
+     */
+    @Test
+    public void testGetKeysPredicate()
+    {
+        CompositeIndex index = createIndex();
+
+        assertEquals(keys(1, 2, 6), index.getKeys(tuple("MA"), list -> !"MA".equals(list.get(1))));
+        assertEquals(keys(4, 5, 7), index.getKeys(tuple(), list -> "NY".equals(list.get(1))
+                                                               && !"MA".equals(list.get(0))));
+        assertEquals(keys(), index.getKeys(tuple("MA", "NY"), list -> false));
+    }
+
+    /**
+     * Null attributes are ordered first, and a tuple that is a prefix of
+     * another is ordered before it.
+     */
+    @Test
+    public void testOrder()
+    {
+        List<List<Object>> listTuples = Arrays.asList(
+                tuple("MA", "NY"), tuple("MA"), tuple(null, "MA"), tuple("MA", null), tuple("CT", "NY"));
+        Collections.sort(listTuples, CompositeIndex.COMPARATOR);
+
+        assertEquals(Arrays.asList(tuple(null, "MA"), tuple("CT", "NY"), tuple("MA"), tuple("MA", null),
+                tuple("MA", "NY")), listTuples);
+        assertEquals(tuple(null, "NY"), createIndex().getIndexContents().keySet().iterator().next());
+    }
+
+    /**
+     * Updates and deletes move the keys between tuples and drop the tuples
+     * left without keys.
+     */
+    @Test
+    public void testUpdate()
+    {
+        CompositeIndex index = createIndex();
+
+        index.update(new SimpleMapEntry<>(1, contact("ME", "NY")));
+        assertEquals(tuple("ME", "NY"), index.get(1));
+        assertEquals(keys(2), index.getKeys(tuple("MA", "NY"), null));
+        assertEquals(keys(1, 4), index.getKeys(tuple("ME", "NY"), null));
+
+        index.delete(new SimpleMapEntry<>(3, contact("MA", "MA")));
+        assertSame(MapIndex.NO_VALUE, index.get(3));
+        assertFalse(index.getIndexContents().containsKey(tuple("MA", "MA")));
+        assertEquals(keys(2, 6), index.getKeys(tuple("MA"), null));
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Create an index over the home and work states of a few contacts.
+     *
+     * @return the index
+     */
+    private static CompositeIndex createIndex()
+    {
+        CompositeIndex index = new CompositeIndex(QueryExample.HOME_AND_WORK_STATE);
+        index.insert(new SimpleMapEntry<>(1, contact("MA", "NY")));
+        index.insert(new SimpleMapEntry<>(2, contact("MA", "NY")));
+        index.insert(new SimpleMapEntry<>(3, contact("MA", "MA")));
+        index.insert(new SimpleMapEntry<>(4, contact("ME", "NY")));
+        index.insert(new SimpleMapEntry<>(5, contact("CT", "NY")));
+        index.insert(new SimpleMapEntry<>(6, contact("MA", null)));
+        index.insert(new SimpleMapEntry<>(7, contact(null, "NY")));
+        return index;
+    }
+
+    /**
+     * Create a contact.
+     *
+     * @param sHomeState  the state of the home address
+     * @param sWorkState  the state of the work address
+     *
+     * @return the contact
+     */
+    private static Contact contact(String sHomeState, String sWorkState)
+    {
+        return new Contact("John", "Doe", new Address("1 Main St", null, "Springfield", sHomeState, "01101", "US"),
+                new Address("2 Main St", null, "Springfield", sWorkState, "01101", "US"),
+                Collections.emptyMap(), LocalDate.of(1980, 1, 1));
+    }
+
+    /**
+     * Return a tuple or a prefix of one.
+     *
+     * @param ao  the attributes
+     *
+     * @return the tuple
+     */
+    private static List<Object> tuple(Object... ao)
+    {
+        return Arrays.asList(ao);
+    }
+
+    /**
+     * Return a set of keys.
+     *
+     * @param anKey  the keys
+     *
+     * @return the set
+     */
+    private static Set<Object> keys(int... anKey)
+    {
+        Set<Object> setKeys = new HashSet<>();
+        for (int nKey : anKey)
+        {
+            setKeys.add(nKey);
+        }
+        return setKeys;
+    }
+}
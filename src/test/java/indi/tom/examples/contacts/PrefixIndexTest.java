@@ -0,0 +1,196 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 10:30
+ * @Version 1.0
+ * @Description
+ */
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.ValueExtractor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link PrefixIndex}.
+ *
+ * @author tom  2026.10.18
+ */
+public class PrefixIndexTest
+{
+    /**
+     * The keys of a prefix include the value equal to the prefix and exclude
+     * the values that only share a shorter prefix.
+     */
+    @Test
+    public void testGetKeys()
+    {
+        PrefixIndex index = new PrefixIndex(new PrefixIndexExtractor<>(ValueExtractor.<String>identity()));
+        index.insert(new SimpleMapEntry<>(1, "Salem"));
+        index.insert(new SimpleMapEntry<>(2, "Sal"));
+        index.insert(new SimpleMapEntry<>(3, "Springfield"));
+        index.insert(new SimpleMapEntry<>(4, "Boston"));
+        index.insert(new SimpleMapEntry<>(5, null));
+
+        assertEquals(keys(1, 2, 3), index.getKeys("S"));
+        assertEquals(keys(1, 2), index.getKeys("Sal"));
+        assertEquals(keys(1), index.getKeys("Salem"));
+        assertEquals(keys(), index.getKeys("Salems"));
+        assertEquals(keys(1, 2, 3, 4), index.getKeys(""));
+        assertSame(MapIndex.NO_VALUE, index.get(5));
+        assertFalse(index.isPartial());
+
+        index.delete(new SimpleMapEntry<>(2, "Sal"));
+        assertEquals(keys(1), index.getKeys("Sal"));
+        assertFalse(index.getIndexContents().containsKey("Sal"));
+    }
+
+    /**
+     * Entries whose value cannot be extracted are excluded and mark the index
+     * as partial.
+     */
+    @Test
+    public void testPartial()
+    {
+        PrefixIndex index = new PrefixIndex(new PrefixIndexExtractor<>(ValueExtractor.<String>identity()));
+        index.insert(new SimpleMapEntry<>(1, 42));
+
+        assertTrue(index.isPartial());
+        assertSame(MapIndex.NO_VALUE, index.get(1));
+        assertEquals(keys(), index.getKeys(""));
+    }
+
+    /**
+     * Random inserts, updates and deletes leave the index consistent with a
+     * reference map of the same entries.
+     */
+    @Test
+    public void testRandomAgainstMap()
+    {
+        Random               rand   = new Random(42L);
+        PrefixIndex          index  = new PrefixIndex(new PrefixIndexExtractor<>(ValueExtractor.<String>identity()));
+        Map<Integer, String> mapRef = new HashMap<>();
+
+        for (int i = 0; i < 20_000; ++i)
+        {
+            Integer nKey   = rand.nextInt(200);
+            String  sValue = randomValue(rand);
+            if (mapRef.containsKey(nKey))
+            {
+                if (rand.nextBoolean())
+                {
+                    index.update(new SimpleMapEntry<>(nKey, sValue));
+                    mapRef.put(nKey, sValue);
+                }
+                else
+                {
+                    index.delete(new SimpleMapEntry<>(nKey, mapRef.remove(nKey)));
+                }
+            }
+            else
+            {
+                index.insert(new SimpleMapEntry<>(nKey, sValue));
+                mapRef.put(nKey, sValue);
+            }
+
+            String sPrefix = randomValue(rand);
+            if (sPrefix != null)
+            {
+                assertEquals(expectedKeys(mapRef, sPrefix), index.getKeys(sPrefix), sPrefix);
+            }
+        }
+
+        for (Map.Entry<Integer, String> entry : mapRef.entrySet())
+        {
+            Object oValue = entry.getValue() == null ? MapIndex.NO_VALUE : entry.getValue();
+            assertEquals(oValue, index.get(entry.getKey()));
+        }
+
+        Map<String, Set<Object>> mapInverse = new HashMap<>();
+        for (Map.Entry<Integer, String> entry : mapRef.entrySet())
+        {
+            if (entry.getValue() != null)
+            {
+                mapInverse.computeIfAbsent(entry.getValue(), s -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        assertEquals(mapInverse, index.getIndexContents());
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return a random value of up to four characters from a small alphabet,
+     * so that values share prefixes, or null.
+     *
+     * @param rand  the random number generator
+     *
+     * @return the value
+     */
+    private static String randomValue(Random rand)
+    {
+        int cch = rand.nextInt(6) - 1;
+        if (cch < 0)
+        {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder(cch);
+        for (int i = 0; i < cch; ++i)
+        {
+            sb.append((char) ('a' + rand.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Return the keys of the reference entries whose value starts with a
+     * prefix.
+     *
+     * @param mapRef   the reference entries
+     * @param sPrefix  the prefix
+     *
+     * @return the keys
+     */
+    private static Set<Object> expectedKeys(Map<Integer, String> mapRef, String sPrefix)
+    {
+        Set<Object> setKeys = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : mapRef.entrySet())
+        {
+            if (entry.getValue() != null && entry.getValue().startsWith(sPrefix))
+            {
+                setKeys.add(entry.getKey());
+            }
+        }
+        return setKeys;
+    }
+
+    /**
+     * Return a set of keys.
+     *
+     * @param anKey  the keys
+     *
+     * @return the set
+     */
+    private static Set<Object> keys(int... anKey)
+    {
+        Set<Object> setKeys = new HashSet<>();
+        for (int nKey : anKey)
+        {
+            setKeys.add(nKey);
+        }
+        return setKeys;
+    }
+}
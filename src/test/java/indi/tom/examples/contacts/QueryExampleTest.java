@@ -0,0 +1,100 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 11:00
+ * @Version 1.0
+ * @Description
+ */
+import indi.tom.examples.pof.Contact;
+import indi.tom.examples.pof.ContactId;
+import com.tangosol.net.NamedCache;
+import com.tangosol.net.Session;
+import com.tangosol.util.aggregator.QueryRecorder;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.tangosol.net.cache.TypeAssertion.withoutTypeChecking;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests that the queries of the {@link QueryExample} are resolved by its
+ * indexes, against a storage-enabled cluster member running in the test JVM.
+ * The member is configured by the system properties set by surefire.
+ *
+ * @author tom  2026.10.18
+ */
+public class QueryExampleTest
+{
+    // ----- lifecycle ------------------------------------------------------
+
+    /**
+     * Start the cluster member and load the contacts.
+     *
+     * @throws IOException if the contacts cannot be loaded
+     */
+    @BeforeAll
+    public static void setUp()
+            throws IOException
+    {
+        s_session = Session.create();
+        s_cache   = s_session.getCache(LoaderExample.CACHENAME, withoutTypeChecking());
+
+        new LoaderExample().load(new ContactSpliterator(CONTACTS, new Workload(42L).prepare()), s_cache, 2);
+    }
+
+    /**
+     * Destroy the cache and stop the cluster member.
+     *
+     * @throws Exception if the session cannot be closed
+     */
+    @AfterAll
+    public static void tearDown()
+            throws Exception
+    {
+        s_cache.destroy();
+        s_session.close();
+    }
+
+    // ----- tests ----------------------------------------------------------
+
+    /**
+     * Every query of the example uses an index for every step.
+     */
+    @Test
+    public void testNoFullScan()
+    {
+        QueryExample example = new QueryExample();
+        example.setQueryRecordType(QueryRecorder.RecordType.TRACE);
+        example.query(s_cache);
+
+        assertFalse(example.getReports().isEmpty());
+        for (QueryExplainer.Report report : example.getReports())
+        {
+            assertFalse(report.isFullScan(), report::toString);
+        }
+    }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of contacts loaded.
+     */
+    private static final long CONTACTS = 1000L;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The session of the cluster member.
+     */
+    private static Session s_session;
+
+    /**
+     * The contacts cache.
+     */
+    private static NamedCache<ContactId, Contact> s_cache;
+}
@@ -0,0 +1,184 @@
+package indi.tom.examples.contacts;
+
+/**
+ * @Author Tom
+ * @Date 2026/10/18 11:30
+ * @Version 1.0
+ * @Description
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link SlotBitmap}.
+ *
+ * @author tom  2026.10.18
+ */
+public class SlotBitmapTest
+{
+    /**
+     * A chunk keeps its slots while it grows past {@link SlotBitmap#ARRAY_MAX}
+     * into a bitmap and shrinks back into an array.
+     */
+    @Test
+    public void testArrayBitmapSwitch()
+    {
+        SlotBitmap bm     = new SlotBitmap();
+        BitSet     bitSet = new BitSet();
+
+        // every other slot of the first chunk, so the bitmap stays sparse
+        for (int i = 0; i <= SlotBitmap.ARRAY_MAX; ++i)
+        {
+            bm.set(i * 2);
+            bitSet.set(i * 2);
+            if (i >= SlotBitmap.ARRAY_MAX - 1)
+            {
+                assertSlots(bitSet, bm);
+            }
+        }
+        assertEquals(SlotBitmap.ARRAY_MAX + 1, bm.cardinality());
+
+        // setting a slot again does not change the count of either form
+        bm.set(0);
+        assertEquals(SlotBitmap.ARRAY_MAX + 1, bm.cardinality());
+
+        // shrink through the switch back to an array, which happens at half
+        // of ARRAY_MAX, and on to empty
+        for (int i = SlotBitmap.ARRAY_MAX; i >= 0; --i)
+        {
+            bm.clear(i * 2);
+            bitSet.clear(i * 2);
+            if (i % 512 == 0 || Math.abs(i - SlotBitmap.ARRAY_MAX / 2) <= 1)
+            {
+                assertSlots(bitSet, bm);
+            }
+        }
+        assertTrue(bm.isEmpty());
+
+        // clearing an absent slot is a no-op
+        bm.clear(7);
+        bm.clear(1 << 20);
+        assertTrue(bm.isEmpty());
+    }
+
+    /**
+     * Slots of different chunks are independent.
+     */
+    @Test
+    public void testChunks()
+    {
+        SlotBitmap bm = new SlotBitmap();
+        bm.set(5);
+        bm.set((1 << 16) + 5);
+        bm.set((3 << 16) + 65_535);
+
+        assertTrue(bm.get(5));
+        assertTrue(bm.get((1 << 16) + 5));
+        assertFalse(bm.get((2 << 16) + 5));
+        assertTrue(bm.get((3 << 16) + 65_535));
+        assertEquals(3, bm.cardinality());
+
+        bm.clear((1 << 16) + 5);
+        assertFalse(bm.get((1 << 16) + 5));
+        assertTrue(bm.get(5));
+        assertEquals(2, bm.cardinality());
+    }
+
+    /**
+     * and, or and andNot match BitSet for random bitmaps mixing sparse and
+     * dense chunks.
+     */
+    @Test
+    public void testCombine()
+    {
+        Random rand = new Random(42L);
+        for (int nTest = 0; nTest < 50; ++nTest)
+        {
+            BitSet     bitSet1 = new BitSet();
+            BitSet     bitSet2 = new BitSet();
+            SlotBitmap bm1     = randomBitmap(rand, bitSet1);
+            SlotBitmap bm2     = randomBitmap(rand, bitSet2);
+
+            BitSet bitSetAnd = (BitSet) bitSet1.clone();
+            bitSetAnd.and(bitSet2);
+            assertSlots(bitSetAnd, SlotBitmap.and(bm1, bm2));
+
+            BitSet bitSetOr = (BitSet) bitSet1.clone();
+            bitSetOr.or(bitSet2);
+            assertSlots(bitSetOr, SlotBitmap.or(bm1, bm2));
+
+            BitSet bitSetAndNot = (BitSet) bitSet1.clone();
+            bitSetAndNot.andNot(bitSet2);
+            assertSlots(bitSetAndNot, SlotBitmap.andNot(bm1, bm2));
+
+            // the operands are not modified
+            assertSlots(bitSet1, bm1);
+            assertSlots(bitSet2, bm2);
+        }
+    }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Create a random bitmap over up to four chunks, each empty, sparse or
+     * dense, and set the same slots in a BitSet.
+     *
+     * @param rand    the random number generator
+     * @param bitSet  the BitSet
+     *
+     * @return the bitmap
+     */
+    private static SlotBitmap randomBitmap(Random rand, BitSet bitSet)
+    {
+        SlotBitmap bm      = new SlotBitmap();
+        int        cChunks = 1 + rand.nextInt(4);
+        for (int iChunk = 0; iChunk < cChunks; ++iChunk)
+        {
+            int cSlots;
+            switch (rand.nextInt(3))
+            {
+                case 0:
+                    cSlots = 0;
+                    break;
+                case 1:
+                    cSlots = rand.nextInt(SlotBitmap.ARRAY_MAX);
+                    break;
+                default:
+                    cSlots = SlotBitmap.ARRAY_MAX + rand.nextInt(3 * SlotBitmap.ARRAY_MAX);
+                    break;
+            }
+            for (int i = 0; i < cSlots; ++i)
+            {
+                int nSlot = iChunk << 16 | rand.nextInt(1 << 16);
+                bm.set(nSlot);
+                bitSet.set(nSlot);
+            }
+        }
+        return bm;
+    }
+
+    /**
+     * Assert that a bitmap holds the same slots as a BitSet.
+     *
+     * @param bitSet  the expected slots
+     * @param bm      the bitmap
+     */
+    private static void assertSlots(BitSet bitSet, SlotBitmap bm)
+    {
+        BitSet bitSetActual = new BitSet();
+        bm.forEach(bitSetActual::set);
+        assertEquals(bitSet, bitSetActual);
+        assertEquals(bitSet.cardinality(), bm.cardinality());
+        assertEquals(bitSet.isEmpty(), bm.isEmpty());
+        for (int nSlot = bitSet.nextSetBit(0); nSlot >= 0; nSlot = bitSet.nextSetBit(nSlot + 1))
+        {
+            assertTrue(bm.get(nSlot));
+        }
+    }
+}